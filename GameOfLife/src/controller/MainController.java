@@ -171,9 +171,14 @@ public class MainController implements Initializable {
 					long startProcess = System.currentTimeMillis();
 					
 					board.nextGeneration();
-					viewer.render();
+					
+					// A board which has stopped changing looks the same, so it is not drawn again.
+					if(board.getCyclePeriod() != 1) {
+						viewer.render();
+					}
 					
 					labelGen.setText(Long.toString(board.getGenerationNo()));
+					updateCellCounts();
 					labelDelay.setText(Long.toString(System.currentTimeMillis() - startProcess));
 					
 					
@@ -183,6 +188,21 @@ public class MainController implements Initializable {
 		};
 	}
 	
+	/**
+	 * <blockquote>
+	 * <b><i>updateCellCounts</i></b>
+	 * <pre>{@code private void updateCellCounts()}</pre>
+	 * <p>Shows the number of living cells, and the cells that died in the last generation. The numbers are
+	 * kept by the board while it steps, so they are not counted here.</p>
+	 * </blockquote>
+	 */
+	private void updateCellCounts() {
+		cellsAliveCnt.setText("Alive: " + board.getPopulation());
+		
+		long deaths = board.getDeaths();
+		cellsDeadCnt.setText((deaths < 0) ? "" : "Died: " + deaths);
+	}
+	
 	/**
 	 * <blockquote>
 	 * <b><i>loadRuleMenu</i></b>
@@ -306,6 +326,8 @@ public class MainController implements Initializable {
 		startPauseButton.setText("Start");
 		labelDelay.setText("0");
 		labelGen.setText("0");
+		cellsAliveCnt.setText("");
+		cellsDeadCnt.setText("");
 		
 		
 		if(userDrawActivity == true) {
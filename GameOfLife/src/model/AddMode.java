@@ -0,0 +1,15 @@
+package model;
+
+/**
+ * The direction a board is expanded in, by {@link BoardDynamic#expandBoard(AddMode, int, long)} and
+ * {@link BoardExpand}. ADD_ROWS adds rows, and ADD_COLUMNS adds elements to every row.
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public enum AddMode {
+	ADD_ROWS,
+	ADD_COLUMNS
+}
@@ -123,6 +123,21 @@ public abstract class Board {
 	public abstract long getElement(int column, int row);
 	
 	
+	/**
+	 * 
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code}public abstract void setElement(int column, int row, long data)</pre>
+	 * <p> Sets the 64 cells of the element on the given position. Positions outside the board are ignored.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row. 
+	 * @param data - long value with the new cells of the element.
+	 * </blockquote>
+	 * 
+	 */
+	public abstract void setElement(int column, int row, long data);
+	
+	
 	/**
 	 * <blockquote>
 	 * <b><i>getBoardHeight</i></b>
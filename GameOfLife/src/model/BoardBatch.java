@@ -0,0 +1,425 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A batch of 64 independent boards of the same size, which are stepped at the same time. Bit i of every
+ * {@code long} belongs to board i, the lane, so one {@code long} holds the same cell of all the boards. The
+ * neighbours are summed into bit planes by carry-save adders, and the rule in {@link GameRules} is applied
+ * by {@link KernelSwar#applyRule(long, long, long, long, long, int, int)}, so a pass over the cells advances
+ * all the lanes one generation.
+ *
+ * <p>The cells outside the boards are dead. The last generations are kept, so the batch can tell when a lane
+ * has become stable, which is when it repeats itself with a period up to the max period.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardBatch {
+
+	/**
+	 * The number of boards in a batch.
+	 */
+	public static final int LANES = Long.SIZE;
+
+	private static final int DEFAULT_MAX_PERIOD = 2;
+
+	private final int width;
+	private final int height;
+	private final int maxPeriod;
+
+	// history[0] is the current generation, history[p] is the generation p generations earlier.
+	private long[][] history;
+	private int generations;
+	private long generationNo;
+
+	private long stableLanes;
+	private int[] period = new int[LANES];
+	private long[] stableSince = new long[LANES];
+
+	private GameRules gr = GameRules.getInstance();
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardBatch</i></b>
+	 * <pre>{@code public BoardBatch(int width, int height)}</pre>
+	 * <p>Creates a batch of empty boards, where lanes with a period up to 2 are stable.</p>
+	 * @param width - The width of every board.
+	 * @param height - The height of every board.
+	 * @throws IllegalArgumentException - If the width or height is less than 1.
+	 * </blockquote>
+	 */
+	public BoardBatch(int width, int height) throws IllegalArgumentException {
+		this(width, height, DEFAULT_MAX_PERIOD);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardBatch</i></b>
+	 * <pre>{@code public BoardBatch(int width, int height, int maxPeriod)}</pre>
+	 * <p>Creates a batch of empty boards.</p>
+	 * @param width - The width of every board.
+	 * @param height - The height of every board.
+	 * @param maxPeriod - The longest period of a stable lane.
+	 * @throws IllegalArgumentException - If the width, height or max period is less than 1.
+	 * </blockquote>
+	 */
+	public BoardBatch(int width, int height, int maxPeriod) throws IllegalArgumentException {
+		if(width < 1 || height < 1 || maxPeriod < 1) {
+			throw new IllegalArgumentException("Input parameters must be grater than 0.");
+		}
+
+		this.width = width;
+		this.height = height;
+		this.maxPeriod = maxPeriod;
+
+		history = new long[maxPeriod + 1][width * height];
+		clear();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>clear</i></b>
+	 * <pre>{@code public void clear()}</pre>
+	 * <p>Sets all the cells of all the lanes to dead, and forgets the earlier generations.</p>
+	 * </blockquote>
+	 */
+	public void clear() {
+		for(long[] cells : history) {
+			Arrays.fill(cells, 0L);
+		}
+
+		generations = 0;
+		generationNo = 0;
+		resetStable(-1L);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>seedLane</i></b>
+	 * <pre>{@code public void seedLane(int lane, long seed, double density)}</pre>
+	 * <p>Fills the board of the lane with a random soup, where the same seed gives the same soup.</p>
+	 * @param lane - The lane to seed.
+	 * @param seed - The seed of the random soup.
+	 * @param density - The probability of a cell being alive.
+	 * @throws IllegalArgumentException - If the lane is outside 0 to 63.
+	 * </blockquote>
+	 */
+	public void seedLane(int lane, long seed, double density) throws IllegalArgumentException {
+		checkLane(lane);
+
+		Random random = new Random(seed);
+		long[] cells = history[0];
+		long bit = 1L << lane;
+
+		for(int i = 0; i < cells.length; i++) {
+			if(random.nextDouble() < density) {
+				cells[i] |= bit;
+			} else {
+				cells[i] &= ~bit;
+			}
+		}
+
+		resetStable(bit);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int lane, int x, int y, boolean cellState)}</pre>
+	 * @param lane - The lane of the board.
+	 * @param x - The horizontal coordinate of the cell.
+	 * @param y - The vertical coordinate of the cell.
+	 * @param cellState - True if the cell is alive, else its dead.
+	 * @throws IllegalArgumentException - If the lane or the position is outside the batch.
+	 * </blockquote>
+	 */
+	public void setCellState(int lane, int x, int y, boolean cellState) throws IllegalArgumentException {
+		checkLane(lane);
+		checkPosition(x, y);
+
+		long bit = 1L << lane;
+
+		if(cellState) {
+			history[0][y * width + x] |= bit;
+		} else {
+			history[0][y * width + x] &= ~bit;
+		}
+
+		resetStable(bit);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public boolean getCellState(int lane, int x, int y)}</pre>
+	 * @param lane - The lane of the board.
+	 * @param x - The horizontal coordinate of the cell.
+	 * @param y - The vertical coordinate of the cell.
+	 * @return cellState - True if the cell is alive.
+	 * @throws IllegalArgumentException - If the lane or the position is outside the batch.
+	 * </blockquote>
+	 */
+	public boolean getCellState(int lane, int x, int y) throws IllegalArgumentException {
+		checkLane(lane);
+		checkPosition(x, y);
+
+		return ((history[0][y * width + x] >>> lane) & 1L) == 1L;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public void nextGeneration()}</pre>
+	 * <p>Advances all the lanes one generation, and updates which lanes are stable.</p>
+	 * </blockquote>
+	 */
+	public void nextGeneration() {
+		int birthMask = gr.getBirthMask();
+		int surviveMask = gr.getSurviveMask();
+
+		// The oldest generation is reused for the next generation.
+		long[] next = history[maxPeriod];
+		System.arraycopy(history, 0, history, 1, maxPeriod);
+		history[0] = next;
+
+		long[] cur = history[1];
+
+		for(int y = 0; y < height; y++) {
+			int row = y * width;
+			boolean hasUp = y > 0;
+			boolean hasDown = y < height - 1;
+
+			for(int x = 0; x < width; x++) {
+				int i = row + x;
+				boolean hasLeft = x > 0;
+				boolean hasRight = x < width - 1;
+
+				long a0 = (hasUp && hasLeft) ? cur[i - width - 1] : 0;
+				long a1 = hasUp ? cur[i - width] : 0;
+				long a2 = (hasUp && hasRight) ? cur[i - width + 1] : 0;
+				long a3 = hasLeft ? cur[i - 1] : 0;
+				long a4 = hasRight ? cur[i + 1] : 0;
+				long a5 = (hasDown && hasLeft) ? cur[i + width - 1] : 0;
+				long a6 = hasDown ? cur[i + width] : 0;
+				long a7 = (hasDown && hasRight) ? cur[i + width + 1] : 0;
+
+				long x0 = a0 ^ a1;
+				long sumA = x0 ^ a2;
+				long carryA = (a0 & a1) | (x0 & a2);
+
+				long x1 = a3 ^ a4;
+				long sumB = x1 ^ a5;
+				long carryB = (a3 & a4) | (x1 & a5);
+
+				long sumC = a6 ^ a7;
+				long carryC = a6 & a7;
+
+				long x2 = sumA ^ sumB;
+				long ones = x2 ^ sumC;
+				long carryD = (sumA & sumB) | (x2 & sumC);
+
+				long x3 = carryA ^ carryB;
+				long sumE = x3 ^ carryC;
+				long carryE = (carryA & carryB) | (x3 & carryC);
+
+				long twos = sumE ^ carryD;
+				long carryF = sumE & carryD;
+
+				long fours = carryE ^ carryF;
+				long eights = carryE & carryF;
+
+				next[i] = KernelSwar.applyRule(ones, twos, fours, eights, cur[i], birthMask, surviveMask);
+			}
+		}
+
+		generationNo++;
+		generations = Math.min(generations + 1, maxPeriod);
+
+		updateStable();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation(int lane)}</pre>
+	 * @param lane - The lane of the board.
+	 * @return population - The number of living cells on the board of the lane.
+	 * @throws IllegalArgumentException - If the lane is outside 0 to 63.
+	 * </blockquote>
+	 */
+	public long getPopulation(int lane) throws IllegalArgumentException {
+		checkLane(lane);
+
+		long population = 0;
+
+		for(long cell : history[0]) {
+			population += (cell >>> lane) & 1L;
+		}
+
+		return population;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulations</i></b>
+	 * <pre>{@code public long[] getPopulations()}</pre>
+	 * @return populations - The number of living cells of every lane, in one pass over the cells.
+	 * </blockquote>
+	 */
+	public long[] getPopulations() {
+		long[] populations = new long[LANES];
+
+		for(long cell : history[0]) {
+			while(cell != 0) {
+				populations[Long.numberOfTrailingZeros(cell)]++;
+				cell &= cell - 1;
+			}
+		}
+
+		return populations;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getStableLanes</i></b>
+	 * <pre>{@code public long getStableLanes()}</pre>
+	 * @return stableLanes - The lanes which repeated themselves in the last generation, bit i is lane i.
+	 * </blockquote>
+	 */
+	public long getStableLanes() {
+		return stableLanes;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPeriod</i></b>
+	 * <pre>{@code public int getPeriod(int lane)}</pre>
+	 * @param lane - The lane of the board.
+	 * @return period - The shortest period of the lane, or 0 if the lane is not stable.
+	 * @throws IllegalArgumentException - If the lane is outside 0 to 63.
+	 * </blockquote>
+	 */
+	public int getPeriod(int lane) throws IllegalArgumentException {
+		checkLane(lane);
+
+		return period[lane];
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getStableGeneration</i></b>
+	 * <pre>{@code public long getStableGeneration(int lane)}</pre>
+	 * @param lane - The lane of the board.
+	 * @return generation - The first generation of the lane's cycle, or -1 if the lane is not stable.
+	 * @throws IllegalArgumentException - If the lane is outside 0 to 63.
+	 * </blockquote>
+	 */
+	public long getStableGeneration(int lane) throws IllegalArgumentException {
+		checkLane(lane);
+
+		return stableSince[lane];
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getGenerationNo</i></b>
+	 * <pre>{@code public long getGenerationNo()}</pre>
+	 * @return generationNo - The number of generations since the batch was cleared.
+	 * </blockquote>
+	 */
+	public long getGenerationNo() {
+		return generationNo;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getWidth</i></b>
+	 * <pre>{@code public int getWidth()}</pre>
+	 * @return width - The width of every board.
+	 * </blockquote>
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getHeight</i></b>
+	 * <pre>{@code public int getHeight()}</pre>
+	 * @return height - The height of every board.
+	 * </blockquote>
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+
+	// Compares the new generation with the earlier generations, the shortest repeating period is kept.
+	private void updateStable() {
+		long[] cur = history[0];
+		long found = 0;
+		long[] periodLanes = new long[maxPeriod + 1];
+
+		for(int p = 1; p <= generations; p++) {
+			long[] earlier = history[p];
+			long changed = 0;
+
+			for(int i = 0; i < cur.length; i++) {
+				changed |= cur[i] ^ earlier[i];
+			}
+
+			periodLanes[p] = ~changed & ~found;
+			found |= ~changed;
+		}
+
+		for(int lane = 0; lane < LANES; lane++) {
+			long bit = 1L << lane;
+
+			if((found & bit) == 0) {
+				period[lane] = 0;
+				stableSince[lane] = -1;
+				continue;
+			}
+
+			if((stableLanes & bit) == 0) {
+				for(int p = 1; p <= generations; p++) {
+					if((periodLanes[p] & bit) != 0) {
+						period[lane] = p;
+						stableSince[lane] = generationNo - p;
+						break;
+					}
+				}
+			}
+		}
+
+		stableLanes = found;
+	}
+
+	private void resetStable(long lanes) {
+		stableLanes &= ~lanes;
+
+		for(int lane = 0; lane < LANES; lane++) {
+			if(((lanes >>> lane) & 1L) == 1L) {
+				period[lane] = 0;
+				stableSince[lane] = -1;
+			}
+		}
+	}
+
+	private void checkLane(int lane) throws IllegalArgumentException {
+		if(lane < 0 || lane >= LANES) {
+			throw new IllegalArgumentException("lane must be between 0 and 63.");
+		}
+	}
+
+	private void checkPosition(int x, int y) throws IllegalArgumentException {
+		if(x < 0 || x >= width || y < 0 || y >= height) {
+			throw new IllegalArgumentException("The position is outside the board.");
+		}
+	}
+}
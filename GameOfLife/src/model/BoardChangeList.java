@@ -0,0 +1,586 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sparse, unbounded board which keeps the neighbour count of every cell, and only visits the cells that
+ * changed in the last generation and their neighbours. It extends {@link Board} and implements
+ * {@link GenerationEngine}.
+ *
+ * <p>The universe is split into tiles of 64x64 cells like {@link BoardTiled}, where a tile also holds the
+ * neighbour counts of its cells, packed as 4 bit nibbles in 4 {@code long}s for every row. When a cell is
+ * born or dies, the counts of its eight neighbours are updated, and the cell is put on the change list.
+ * The cells which can change in the next generation are the changed cells and their neighbours, so the
+ * next generation is found from the change list, the counts are never counted again. The time of a
+ * generation depends on the number of cells that change, not on the living or active area, which suits
+ * sparse and slowly changing patterns.</p>
+ *
+ * <p>A rule where cells are born with 0 neighbours would fill the unbounded universe, so such rules are
+ * stepped as if the empty cells far away from the living cells stays dead.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardChangeList extends Board implements GenerationEngine {
+
+	private static final int TILE_SIZE = 64;
+	private static final int TILE_SHIFT = 6;
+	private static final int TILE_MASK = TILE_SIZE - 1;
+
+	// The number of count longs in every row of a tile, with 16 nibbles in a long.
+	private static final int COUNTS_PR_ROW = TILE_SIZE / 16;
+
+	/*
+	 * A tile of 64x64 cells, where bit x of rows[y] is the cell (x, y) of the tile, and the neighbour count
+	 * of the cell is the nibble x & 15 of counts[y * COUNTS_PR_ROW + (x >> 4)]. The marked bits are the cells
+	 * already on the candidate list. A tile is removed when it has no living cells and no counts.
+	 */
+	private static final class Tile {
+		final int tileX, tileY;
+		final long[] rows = new long[TILE_SIZE];
+		final long[] counts = new long[TILE_SIZE * COUNTS_PR_ROW];
+		final long[] marked = new long[TILE_SIZE];
+		int population;
+		int countSum;
+		int index;
+
+		Tile(int tileX, int tileY) {
+			this.tileX = tileX;
+			this.tileY = tileY;
+		}
+	}
+
+	private LongHashMap<Tile> tileMap = new LongHashMap<Tile>();
+	private List<Tile> tiles = new ArrayList<Tile>();
+	private long population;
+
+	// The cells that changed since the last generation, and the cells to compute in the next generation,
+	// as packed coordinates.
+	private long[] changes = new long[64];
+	private int changeCount;
+	private long[] candidates = new long[64];
+	private int candidateCount;
+
+	private int birthMask;
+	private int surviveMask;
+
+	private GameRules gr = GameRules.getInstance();
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardChangeList</i></b>
+	 * <pre>{@code public BoardChangeList()}</pre>
+	 * <p>Creates a new, empty board.</p>
+	 * </blockquote>
+	 */
+	public BoardChangeList() {
+		birthMask = gr.getBirthMask();
+		surviveMask = gr.getSurviveMask();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation()}</pre>
+	 * @return population - the number of living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public long getPopulation() {
+		return population;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getChangeCount</i></b>
+	 * <pre>{@code public int getChangeCount()}</pre>
+	 * @return changes - The number of cells that changed in the last generation, or were set since it.
+	 * </blockquote>
+	 */
+	public int getChangeCount() {
+		return changeCount;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getTileCount</i></b>
+	 * <pre>{@code public int getTileCount()}</pre>
+	 * @return tiles - The number of tiles in memory.
+	 * </blockquote>
+	 */
+	public int getTileCount() {
+		return tiles.size();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()}</pre>
+	 * <p>Returns the smallest rectangle containing all the living cells, as the array
+	 * {minX, minY, maxX, maxY}.</p>
+	 * @return boundingBox - the bounding box, or null if there are no living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public int[] getBoundingBox() {
+		if(population == 0) {
+			return null;
+		}
+
+		int[] box = { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE };
+
+		for(Tile tile : tiles) {
+			if(tile.population == 0) {
+				continue;
+			}
+
+			int x = tile.tileX << TILE_SHIFT;
+			int y = tile.tileY << TILE_SHIFT;
+			long columns = 0;
+
+			for(int row = 0; row < TILE_SIZE; row++) {
+				if(tile.rows[row] != 0) {
+					box[1] = Math.min(box[1], y + row);
+					box[3] = Math.max(box[3], y + row);
+					columns |= tile.rows[row];
+				}
+			}
+
+			box[0] = Math.min(box[0], x + Long.numberOfTrailingZeros(columns));
+			box[2] = Math.max(box[2], x + TILE_MASK - Long.numberOfLeadingZeros(columns));
+		}
+
+		return box;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position. The counts of
+	 * the neighbours are updated, and the cell is put on the change list.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		if((getCellState(x, y) == 1) != cellState) {
+			flip(x, y);
+			changes = add(changes, changeCount++, key(x, y));
+		}
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		Tile tile = getTile(x >> TILE_SHIFT, y >> TILE_SHIFT);
+
+		return (tile == null) ? 0 : getBit(tile.rows[y & TILE_MASK], x & TILE_MASK);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNeighbourCount</i></b>
+	 * <pre>{@code public int getNeighbourCount(int x, int y)}</pre>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return count - The number of living neighbours the cell has, as it is stored.
+	 * </blockquote>
+	 */
+	public int getNeighbourCount(int x, int y) {
+		Tile tile = getTile(x >> TILE_SHIFT, y >> TILE_SHIFT);
+
+		return (tile == null) ? 0 : count(tile, x & TILE_MASK, y & TILE_MASK);
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int columnx , int row)}</pre>
+	 * <p> Gets the 64 cells of the given element, which is one row of a tile.</p>
+	 * @param column - The position of the cell on the column.
+	 * @param row - The position of  the cell on which row.
+	 * @return returns the element at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) {
+		Tile tile = getTile(column, row >> TILE_SHIFT);
+
+		return (tile == null) ? 0 : tile.rows[row & TILE_MASK];
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the 64 cells of the given element, every cell that changes is set like by
+	 * {@link #setCellState(int, int, boolean)}.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row.
+	 * @param data - The new cells of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		long changed = getElement(column, row) ^ data;
+
+		while(changed != 0) {
+			int bit = Long.numberOfTrailingZeros(changed);
+			setCellState((column << TILE_SHIFT) + bit, row, ((data >>> bit) & 1) == 1);
+			changed &= changed - 1;
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board, all the tiles are removed. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void clearBoard() {
+		tileMap.clear();
+		tiles.clear();
+		population = 0;
+		changeCount = 0;
+		candidateCount = 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> The board has no size of its own, so this clears the board. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		clearBoard();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * <p>Gets the height of the tiles, counted from y = 0.</p>
+	 * @return boardHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		int maxTileY = 0;
+
+		for(Tile tile : tiles) {
+			maxTileY = Math.max(maxTileY, tile.tileY);
+		}
+
+		return (long) (maxTileY + 1) << TILE_SHIFT;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * <p>Gets the width of the tiles, counted from x = 0.</p>
+	 * @return Long value with the number of cell-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		int maxTileX = 0;
+
+		for(Tile tile : tiles) {
+			maxTileX = Math.max(maxTileX, tile.tileX);
+		}
+
+		return (long) (maxTileX + 1) << TILE_SHIFT;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows -Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return getBoardHeight();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns- Long value with the number of column-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return getBoardWidth() >> TILE_SHIFT;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code public boolean hasPosition(int x, int y); }</pre>
+	 * <p>The universe is unbounded, so every position is accepted.</p>
+	 * @param x - horizontal coordinate
+	 * @param y - vertical coordinate
+	 * @return true
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return true;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the living part of the board in a String format.</p>
+	 * @return toString
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+		int[] box = getBoundingBox();
+
+		if(box != null) {
+			for(int j = box[1]; j <= box[3]; j++) {
+				buffer.append("[Row:" + j + "]    ");
+				for(int i = box[0]; i <= box[2]; i++) {
+					buffer.append(getCellState(i, j) == 1 ? "[x]" : "[ ]");
+				}
+				buffer.append("\n");
+			}
+		}
+
+		return buffer.toString();
+	}
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>step</i></b>
+	 * <pre>{@code public void step()}</pre>
+	 * <p>Computes one generation from the change list. All the candidates are computed from the counts of
+	 * the current generation before any cell is changed.</p>
+	 * </blockquote>
+	 */
+	@Override
+	public void step() {
+		if(birthMask != gr.getBirthMask() || surviveMask != gr.getSurviveMask()) {
+			birthMask = gr.getBirthMask();
+			surviveMask = gr.getSurviveMask();
+
+			// Any cell near a living cell can change by the new rule, so all the living cells are changes.
+			for(Tile tile : tiles) {
+				for(int row = 0; row < TILE_SIZE; row++) {
+					long data = tile.rows[row];
+
+					while(data != 0) {
+						int x = (tile.tileX << TILE_SHIFT) + Long.numberOfTrailingZeros(data);
+						changes = add(changes, changeCount++, key(x, (tile.tileY << TILE_SHIFT) + row));
+						data &= data - 1;
+					}
+				}
+			}
+		}
+
+		candidateCount = 0;
+
+		for(int i = 0; i < changeCount; i++) {
+			markAround(x(changes[i]), y(changes[i]));
+		}
+
+		// The changes of this generation are written over the old change list.
+		changeCount = 0;
+
+		for(int i = 0; i < candidateCount; i++) {
+			int x = x(candidates[i]);
+			int y = y(candidates[i]);
+			Tile tile = getTile(x >> TILE_SHIFT, y >> TILE_SHIFT);
+			int cx = x & TILE_MASK;
+			int cy = y & TILE_MASK;
+
+			tile.marked[cy] &= ~(1L << cx);
+
+			boolean alive = getBit(tile.rows[cy], cx) == 1;
+			int mask = alive ? surviveMask : birthMask;
+
+			if(((mask >> count(tile, cx, cy)) & 1) != (alive ? 1 : 0)) {
+				changes = add(changes, changeCount++, candidates[i]);
+			}
+		}
+
+		for(int i = 0; i < changeCount; i++) {
+			flip(x(changes[i]), y(changes[i]));
+		}
+	}
+
+	// Puts the cell and its neighbours on the candidate list, the cells in tiles which don't exist are dead
+	// with no living neighbours, so they can't change.
+	private void markAround(int x, int y) {
+		int cx = x & TILE_MASK;
+		int cy = y & TILE_MASK;
+
+		if(cx > 0 && cx < TILE_MASK && cy > 0 && cy < TILE_MASK) {
+			Tile tile = getTile(x >> TILE_SHIFT, y >> TILE_SHIFT);
+
+			if(tile != null) {
+				for(int j = -1; j <= 1; j++) {
+					for(int i = -1; i <= 1; i++) {
+						mark(tile, x + i, y + j);
+					}
+				}
+			}
+
+			return;
+		}
+
+		for(int j = -1; j <= 1; j++) {
+			for(int i = -1; i <= 1; i++) {
+				Tile tile = getTile((x + i) >> TILE_SHIFT, (y + j) >> TILE_SHIFT);
+
+				if(tile != null) {
+					mark(tile, x + i, y + j);
+				}
+			}
+		}
+	}
+
+	private void mark(Tile tile, int x, int y) {
+		long bit = 1L << (x & TILE_MASK);
+
+		if((tile.marked[y & TILE_MASK] & bit) == 0) {
+			tile.marked[y & TILE_MASK] |= bit;
+			candidates = add(candidates, candidateCount++, key(x, y));
+		}
+	}
+
+	// Changes the cell, and adds or subtracts it from the counts of its neighbours.
+	private void flip(int x, int y) {
+		Tile tile = getOrCreateTile(x >> TILE_SHIFT, y >> TILE_SHIFT);
+		int cx = x & TILE_MASK;
+		int cy = y & TILE_MASK;
+
+		tile.rows[cy] ^= 1L << cx;
+		int delta = (getBit(tile.rows[cy], cx) == 1) ? 1 : -1;
+
+		tile.population += delta;
+		population += delta;
+
+		if(cx > 0 && cx < TILE_MASK && cy > 0 && cy < TILE_MASK) {
+			for(int j = -1; j <= 1; j++) {
+				for(int i = -1; i <= 1; i++) {
+					if(i != 0 || j != 0) {
+						addCount(tile, cx + i, cy + j, delta);
+					}
+				}
+			}
+		} else {
+			for(int j = -1; j <= 1; j++) {
+				for(int i = -1; i <= 1; i++) {
+					if(i != 0 || j != 0) {
+						Tile neighbour = getOrCreateTile((x + i) >> TILE_SHIFT, (y + j) >> TILE_SHIFT);
+						addCount(neighbour, (x + i) & TILE_MASK, (y + j) & TILE_MASK, delta);
+						removeIfEmpty(neighbour);
+					}
+				}
+			}
+		}
+
+		removeIfEmpty(tile);
+	}
+
+	private static int count(Tile tile, int cx, int cy) {
+		return (int) (tile.counts[cy * COUNTS_PR_ROW + (cx >> 4)] >>> ((cx & 15) << 2)) & 15;
+	}
+
+	private static void addCount(Tile tile, int cx, int cy, int delta) {
+		tile.counts[cy * COUNTS_PR_ROW + (cx >> 4)] += (long) delta << ((cx & 15) << 2);
+		tile.countSum += delta;
+	}
+
+	private Tile getTile(int tileX, int tileY) {
+		return tileMap.get(key(tileX, tileY));
+	}
+
+	private Tile getOrCreateTile(int tileX, int tileY) {
+		Tile tile = tileMap.get(key(tileX, tileY));
+
+		if(tile == null) {
+			tile = new Tile(tileX, tileY);
+			tile.index = tiles.size();
+			tileMap.put(key(tileX, tileY), tile);
+			tiles.add(tile);
+		}
+
+		return tile;
+	}
+
+	// Removes a tile with no living cells and no counts, the last tile is moved into its place.
+	private void removeIfEmpty(Tile tile) {
+		if(tile.population != 0 || tile.countSum != 0 || tileMap.get(key(tile.tileX, tile.tileY)) != tile) {
+			return;
+		}
+
+		Tile last = tiles.remove(tiles.size() - 1);
+
+		if(tile.index < tiles.size()) {
+			tiles.set(tile.index, last);
+			last.index = tile.index;
+		}
+
+		tileMap.remove(key(tile.tileX, tile.tileY));
+	}
+
+	// Adds the value to the list, and returns the list, which is grown if it is full.
+	private static long[] add(long[] list, int index, long value) {
+		if(index == list.length) {
+			list = Arrays.copyOf(list, list.length * 2);
+		}
+
+		list[index] = value;
+		return list;
+	}
+
+	private static long key(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private static int x(long key) {
+		return (int) (key >> 32);
+	}
+
+	private static int y(long key) {
+		return (int) key;
+	}
+}
@@ -9,12 +9,10 @@ import java.util.List;
  * @author Ali Arfan
  * @author Kent Erlend Knudsen
  * @author  Stian Tornholm Grimsgaard
+ * @deprecated Replaced by {@link BoardFlat}, which grows without moving the rows and boxing the elements.
  */
+@Deprecated
 public class BoardDynamic extends Board {
-	public static enum AddMode {
-		ADD_ROWS,
-		ADD_COLUMNS
-	}
 
 	private final int defaultColumns;
 	private final int defaultRows;
@@ -246,6 +244,25 @@ public class BoardDynamic extends Board {
 		return data;
 	}
 
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the element on the given position, positions outside the board are ignored.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row. 
+	 * @param data - The new value of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		if( row > -1 && row < board.size() && 
+			column > -1 && column < board.get(0).size()) {
+		
+			board.get(row).set(column, data);
+		}
+	}
+
 	/**
 	 *<blockquote>
 	 * <b><i>resetSize</i></b>
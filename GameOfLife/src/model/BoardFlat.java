@@ -0,0 +1,432 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Dynamic board stored in one flat {@code long[]}, the board extends itself if the board is too small. It
+ * replaces {@link BoardDynamic}, and grows in the same way, but without boxed elements or lists of rows.
+ *
+ * <p>The array has free space around the board, and the first element of the board is found at an origin
+ * offset in the array. When the board grows into the free space, only the origin is moved. When there is no
+ * space left, the array is reallocated with twice the capacity in the direction it grows, so growing in any
+ * of the four directions takes amortized constant time for each new element.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardFlat extends Board {
+
+	private final int defaultColumns;
+	private final int defaultRows;
+
+	private long[] board;
+
+	// The number of elements in one row of the array, and the number of rows in the array.
+	private int stride;
+	private int capacityRows;
+
+	// The position in the array of element column 0 on row 0.
+	private int originColumn;
+	private int originRow;
+
+	private int numColumns;
+	private int numRows;
+
+	private long boardWidth;
+	private int boardHeight;
+
+
+	/**
+	 *
+	 * <blockquote>
+	 * <b><i>BoardFlat</i></b>
+	 * <pre>{@code public BoardFlat(int columns, int rows)}</pre>
+	 * <p> Sets the columns and rows according to the parameters, if they are greater than 1. Also creates a new gameboard.</p>
+	 * @param columns - the columns to be set.
+	 * @param rows - the rows to be set.
+	 * @throws IllegalArgumentException - If the columns and rows are negative.
+	 * </blockquote>
+	 *
+	 */
+	public BoardFlat(int columns, int rows) throws IllegalArgumentException {
+		if(columns < 1 || rows < 1) {
+			throw new IllegalArgumentException("Input parameters must be grater than 0.");
+		}
+
+		defaultColumns = columns;
+		defaultRows = rows;
+
+		createNewBoard();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>createNewBoard</i></b>
+	 * <pre>{@code private void createNewBoard()}</pre>
+	 * <p>Creates a new board of the default size, without any free space around it.</p>
+	 * </blockquote>
+	 */
+	private void createNewBoard() {
+		numColumns = (int) Math.ceil(defaultColumns / 64d);
+		numRows = defaultRows;
+
+		stride = numColumns;
+		capacityRows = numRows;
+		originColumn = 0;
+		originRow = 0;
+
+		board = new long[stride * capacityRows];
+
+		boardWidth = defaultColumns;
+		boardHeight = defaultRows;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>expandBoard</i></b>
+	 * <pre>{@code public void expandBoard(int left, int top, int right, int bottom)}</pre>
+	 * <p>Extends the board with new, empty elements. The array is only reallocated if there is not enough
+	 * free space around the board.</p>
+	 * @param left - The number of element columns to add to the left.
+	 * @param top - The number of rows to add on top.
+	 * @param right - The number of element columns to add to the right.
+	 * @param bottom - The number of rows to add below.
+	 * @throws IllegalArgumentException - If any of the parameters are negative.
+	 * </blockquote>
+	 */
+	public void expandBoard(int left, int top, int right, int bottom) throws IllegalArgumentException {
+		if(left < 0 || top < 0 || right < 0 || bottom < 0) {
+			throw new IllegalArgumentException("Input parameters can not be negative.");
+		}
+
+		int freeLeft = originColumn;
+		int freeRight = stride - originColumn - numColumns;
+		int freeTop = originRow;
+		int freeBottom = capacityRows - originRow - numRows;
+
+		if(left > freeLeft || right > freeRight || top > freeTop || bottom > freeBottom) {
+			int newColumns = numColumns + left + right;
+			int newRows = numRows + top + bottom;
+
+			// The capacity is doubled in the directions that are out of space, and the free space is
+			// shared between the two sides, so a board growing in one direction doesn't reallocate again.
+			int newStride = (left > freeLeft || right > freeRight) ? Math.max(newColumns, stride * 2) : stride;
+			int newCapacityRows = (top > freeTop || bottom > freeBottom) ? Math.max(newRows, capacityRows * 2) : capacityRows;
+
+			int newOriginColumn = (newStride - newColumns) / 2 + left;
+			int newOriginRow = (newCapacityRows - newRows) / 2 + top;
+
+			long[] newBoard = new long[newStride * newCapacityRows];
+
+			for(int j = 0; j < numRows; j++) {
+				System.arraycopy(board, (originRow + j) * stride + originColumn,
+								 newBoard, (newOriginRow + j) * newStride + newOriginColumn, numColumns);
+			}
+
+			board = newBoard;
+			stride = newStride;
+			capacityRows = newCapacityRows;
+			originColumn = newOriginColumn;
+			originRow = newOriginRow;
+		}
+
+		// The free space is always empty, so the new elements doesn't need to be cleared.
+		originColumn -= left;
+		originRow -= top;
+		numColumns += left + right;
+		numRows += top + bottom;
+
+		if(left > 0 || right > 0) {
+			boardWidth = (long) numColumns * Long.SIZE;
+		}
+		boardHeight = numRows;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>trimBoard</i></b>
+	 * <pre>{@code public void trimBoard(int left, int top, int right, int bottom)}</pre>
+	 * <p>Removes elements from the edges of the board, the cells in them are lost. The removed elements
+	 * become free space, and the array is reallocated at twice the size of the board when more than three
+	 * quarters of it is free space in a direction.</p>
+	 * @param left - The number of element columns to remove from the left.
+	 * @param top - The number of rows to remove from the top.
+	 * @param right - The number of element columns to remove from the right.
+	 * @param bottom - The number of rows to remove from the bottom.
+	 * @throws IllegalArgumentException - If any of the parameters are negative, or the whole board would
+	 * be removed.
+	 * </blockquote>
+	 */
+	public void trimBoard(int left, int top, int right, int bottom) throws IllegalArgumentException {
+		if(left < 0 || top < 0 || right < 0 || bottom < 0) {
+			throw new IllegalArgumentException("Input parameters can not be negative.");
+		}
+
+		if(left + right >= numColumns || top + bottom >= numRows) {
+			throw new IllegalArgumentException("The whole board can not be removed.");
+		}
+
+		// The free space must be empty, so the board can grow into it without clearing it.
+		for(int j = 0; j < numRows; j++) {
+			int start = (originRow + j) * stride + originColumn;
+
+			if(j < top || j >= numRows - bottom) {
+				Arrays.fill(board, start, start + numColumns, 0L);
+			} else {
+				Arrays.fill(board, start, start + left, 0L);
+				Arrays.fill(board, start + numColumns - right, start + numColumns, 0L);
+			}
+		}
+
+		originColumn += left;
+		originRow += top;
+		numColumns -= left + right;
+		numRows -= top + bottom;
+
+		if(left > 0 || right > 0) {
+			boardWidth = (long) numColumns * Long.SIZE;
+		}
+		boardHeight = numRows;
+
+		if(stride > numColumns * 4 || capacityRows > numRows * 4) {
+			int newStride = Math.min(stride, numColumns * 2);
+			int newCapacityRows = Math.min(capacityRows, numRows * 2);
+			int newOriginColumn = (newStride - numColumns) / 2;
+			int newOriginRow = (newCapacityRows - numRows) / 2;
+
+			long[] newBoard = new long[newStride * newCapacityRows];
+
+			for(int j = 0; j < numRows; j++) {
+				System.arraycopy(board, (originRow + j) * stride + originColumn,
+								 newBoard, (newOriginRow + j) * newStride + newOriginColumn, numColumns);
+			}
+
+			board = newBoard;
+			stride = newStride;
+			capacityRows = newCapacityRows;
+			originColumn = newOriginColumn;
+			originRow = newOriginRow;
+		}
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position. If the position is
+	 * outside the board, the board is extended. When extended to the left or up, the cells of the board
+	 * are moved, so the given position becomes the first element or row.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		if(x < 0 || x >= boardWidth || y < 0 || y >= boardHeight) {
+			int left = 0, top = 0, right = 0, bottom = 0;
+
+			if(y < 0) {
+				top = -y;
+			} else if(y >= boardHeight) {
+				bottom = y + 1 - numRows;
+			}
+
+			if(x < 0) {
+				left = (int) Math.ceil(x / -64d);
+			} else if(x >= boardWidth) {
+				right = Math.max((x >> 6) + 1 - numColumns, 0);
+			}
+
+			// Expanding right inside the last element only changes the width.
+			if(right == 0 && x >= boardWidth) {
+				boardWidth = (long) numColumns * Long.SIZE;
+			}
+
+			expandBoard(left, top, right, bottom);
+
+			x += left * Long.SIZE;
+			y += top;
+		}
+
+		int index = index(x >> 6, y);
+		board[index] = setBit(board[index], x & 63, cellState);
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		if(x > -1 && x < boardWidth && y > -1 && y < boardHeight) {
+			return getBit(board[index(x >> 6, y)], x & 63);
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board where all the cell states are set to dead. </p>
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public void clearBoard() {
+		Arrays.fill(board, 0L);
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int columnx , int row)}</pre>
+	 * <p> Gets the  element on the given position</p>
+	 * @param column - The position of the cell on the column.
+	 * @param row - The position of  the cell on which row.
+	 * @return returns the element at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) {
+		if(row > -1 && row < numRows && column > -1 && column < numColumns) {
+			return board[index(column, row)];
+		}
+
+		return 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the element on the given position, positions outside the board are ignored.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row.
+	 * @param data - The new value of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		if(row > -1 && row < numRows && column > -1 && column < numColumns) {
+			board[index(column, row)] = data;
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> Sets the board back to the size it was created with, all the cells are dead. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		createNewBoard();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * @return bordHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		return boardHeight;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * @return Long value with the number of cell-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		return boardWidth;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows -Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return numRows;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns- Long value with the number of column-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return numColumns;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code 	public boolean hasPosition(int x, int y)}</pre>
+	 * <p> Haspostion checks if the cordinate is inside its area.</p>
+	 * @param x - The vertical cordinate of the cell.
+	 * @param y - The horizontal cordinate of the cell.
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return x > -1 && x < boardWidth && y > -1 && y < boardHeight;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the board in a String format.</p>
+	 * @return toString
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+
+		for(int j = 0; j < boardHeight; j++) {
+			buffer.append("[Row:" + j + "]    ");
+			for(int i = 0; i < boardWidth; i++) {
+				buffer.append(getCellState(i, j) == 1 ? "[x]" : "[ ]");
+			}
+			buffer.append("\n");
+		}
+
+		return buffer.toString();
+	}
+
+	private int index(int column, int row) {
+		return (originRow + row) * stride + originColumn + column;
+	}
+}
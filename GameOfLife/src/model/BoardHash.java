@@ -0,0 +1,161 @@
+package model;
+
+/**
+ * A 64 bit hash of the living cells, which is updated when a cell changes instead of being computed from
+ * the whole board. Every position has a key, and the hash is the sum of the keys of the living cells, so
+ * a cell which is born adds its key and a cell which dies subtracts it, in any order. The kernels hash the
+ * cells that changed in an element together, see {@link GenerationStats}.
+ *
+ * <p>The plane is split in tiles of 64 x 64 cells, where a tile is one element wide. Every cell of a tile
+ * has a random key, and the sum of the keys of an element is multiplied by a random odd key of the tile, so
+ * the key of a cell is different from the keys of the cells in the same place in the other tiles. The keys
+ * have no structure, so two different boards only have the same hash by chance, but the hash can not be
+ * moved with the cells. The coordinates must be relative to a fixed cell, like the cell (0, 0) of the board
+ * when it was created, and a hash which is the same for a pattern in any position is found by hashing the
+ * cells relative to the corner of the bounding box, see {@link #of(Board, int[])}.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardHash {
+
+	private static final int TILE_SHIFT = 6;
+	private static final int TILE_MASK = (1 << TILE_SHIFT) - 1;
+
+	private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+	// The keys of the cells of a tile, row by row, made by the same sequence as SplittableRandom.
+	private static final long[] CELL_KEYS = new long[Long.SIZE << TILE_SHIFT];
+
+	static {
+		for(int i = 0; i < CELL_KEYS.length; i++) {
+			CELL_KEYS[i] = mix((i + 1) * GOLDEN);
+		}
+	}
+
+	private BoardHash() {
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>key</i></b>
+	 * <pre>{@code public static long key(int x, int y)}</pre>
+	 * @param x - The horizontal coordinate of the cell.
+	 * @param y - The vertical coordinate of the cell.
+	 * @return key - The key of the position, which is added to the hash when the cell is alive.
+	 * </blockquote>
+	 */
+	public static long key(int x, int y) {
+		return element(x >> 6, y, 1L << (x & 63));
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>element</i></b>
+	 * <pre>{@code public static long element(int column, int row, long cells)}</pre>
+	 * @param column - The column of the element.
+	 * @param row - The row of the element.
+	 * @param cells - The cells of the element to hash.
+	 * @return hash - The sum of the keys of the cells.
+	 * </blockquote>
+	 */
+	public static long element(int column, int row, long cells) {
+		if(cells == 0) {
+			return 0;
+		}
+
+		int first = (row & TILE_MASK) << 6;
+		long sum = 0;
+
+		while(cells != 0) {
+			sum += CELL_KEYS[first + Long.numberOfTrailingZeros(cells)];
+			cells &= cells - 1;
+		}
+
+		return sum * tileKey(column, row >> TILE_SHIFT);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>change</i></b>
+	 * <pre>{@code public static long change(int column, int row, long oldElement, long newElement)}</pre>
+	 * @param column - The column of the element.
+	 * @param row - The row of the element.
+	 * @param oldElement - The element before it changed.
+	 * @param newElement - The element after it changed.
+	 * @return change - The number to add to the hash, for the cells born and the cells died.
+	 * </blockquote>
+	 */
+	public static long change(int column, int row, long oldElement, long newElement) {
+		return element(column, row, newElement & ~oldElement) - element(column, row, oldElement & ~newElement);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>of</i></b>
+	 * <pre>{@code public static long of(Board board)}</pre>
+	 * <p>Computes the hash of a whole board, element by element.</p>
+	 * @param board - The board to hash.
+	 * @return hash - The hash of the living cells.
+	 * </blockquote>
+	 */
+	public static long of(Board board) {
+		long hash = 0;
+
+		for(int j = 0; j < board.getNumRows(); j++) {
+			for(int i = 0; i < board.getNumColumns(); i++) {
+				hash += element(i, j, board.getElement(i, j));
+			}
+		}
+
+		return hash;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>of</i></b>
+	 * <pre>{@code public static long of(Board board, int[] box)}</pre>
+	 * <p>Computes the hash of the cells inside the box, relative to the top left corner of the box. The
+	 * elements are shifted so the left edge of the box is the first cell of an element, and the cells
+	 * outside the box must be dead.</p>
+	 * @param board - The board to hash.
+	 * @param box - The bounding box of the living cells, as {minX, minY, maxX, maxY}.
+	 * @return hash - The hash of the living cells, relative to the box.
+	 * </blockquote>
+	 */
+	public static long of(Board board, int[] box) {
+		int first = box[0] >> 6;
+		int shift = box[0] & 63;
+		int columns = ((box[2] - box[0]) >> 6) + 1;
+		long hash = 0;
+
+		for(int j = box[1]; j <= box[3]; j++) {
+			for(int i = 0; i < columns; i++) {
+				long cells = board.getElement(first + i, j) >>> shift;
+
+				if(shift != 0) {
+					cells |= board.getElement(first + i + 1, j) << (Long.SIZE - shift);
+				}
+
+				hash += element(i, j - box[1], cells);
+			}
+		}
+
+		return hash;
+	}
+
+	// The key of the tile, which is odd so a sum of cell keys that isn't 0 doesn't become 0.
+	private static long tileKey(int column, int tileRow) {
+		return mix((((long) column << 32) | (tileRow & 0xFFFFFFFFL)) + GOLDEN) | 1L;
+	}
+
+	// The finalizer of SplittableRandom, which mixes every bit of the value into every bit of the result.
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+
+		return value ^ (value >>> 31);
+	}
+}
@@ -0,0 +1,789 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * HashLife board, the universe is stored as a quadtree where equal sub-squares are shared, and the
+ * generations of every sub-square is memoized. This makes it possible to advance regular patterns, like
+ * breeders and guns, 2^k generations in one step. It extends {@link Board} and implements {@link GenerationEngine}.
+ *
+ * <p>The nodes are canonicalized in a hash table, which is emptied for unreachable nodes when it grows
+ * bigger than the node limit given by {@link BoardHashLife#setMaxNodes(int)}.</p>
+ *
+ * <p>The coordinates of the board are centered around origin, so negative coordinates are accepted.</p>
+ *
+ * <p>The empty space around the pattern is assumed to stay empty, so rules where cells are born with 0
+ * neighbours can not be stepped.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardHashLife extends Board implements GenerationEngine {
+
+	// The smallest root we use, a level 3 node is 8x8 cells. The root must be at least
+	// level 3 for the check of the pattern being centered in the root.
+	private static final int MIN_LEVEL = 3;
+	
+	/**
+	 * The largest exponent of one step, larger steps must be split in several steps.
+	 */
+	public static final int MAX_EXPONENT = 58;
+	private static final int DEFAULT_MAX_NODES = 1 << 21;
+
+	/*
+	 * A node of the quadtree. A node on level k is a square of 2^k x 2^k cells, where level 0 is one cell.
+	 * The nodes are never changed after they are created, except for the memoized results. The result is
+	 * the center of the node advanced 2^(k-2) generations, which is the same for every exponent of k-2 or
+	 * more. The step result is the center advanced 2^stepExponent generations, for a smaller exponent.
+	 */
+	private static final class Node {
+		final Node nw, ne, sw, se;
+		final int level;
+		final long population;
+		final long id;
+
+		Node result;
+		Node stepResult;
+		int stepExponent;
+		Node next;
+
+		Node(long population, long id) {
+			this.nw = null;
+			this.ne = null;
+			this.sw = null;
+			this.se = null;
+			this.level = 0;
+			this.population = population;
+			this.id = id;
+		}
+
+		Node(Node nw, Node ne, Node sw, Node se, long id) {
+			this.nw = nw;
+			this.ne = ne;
+			this.sw = sw;
+			this.se = se;
+			this.level = nw.level + 1;
+			this.population = nw.population + ne.population + sw.population + se.population;
+			this.id = id;
+		}
+	}
+
+	private final Node deadLeaf = new Node(0, 0);
+	private final Node aliveLeaf = new Node(1, 1);
+
+	private Node[] table;
+	private Node[] emptyNodes;
+	private int tableSize;
+	private long nextId;
+	private int maxNodes = DEFAULT_MAX_NODES;
+
+	private Node root;
+
+	// The rules the memoized results are computed for.
+	private int birthMask;
+	private int surviveMask;
+
+	private GameRules gr = GameRules.getInstance();
+
+	// Neighbour masks for the four center cells of a 4x4 block, where bit y*4+x is the cell (x, y).
+	private static final int[] CENTER_MASKS = {
+		centerMask(1, 1), centerMask(2, 1), centerMask(1, 2), centerMask(2, 2)
+	};
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardHashLife</i></b>
+	 * <pre>{@code public BoardHashLife()}</pre>
+	 * <p>Creates a new, empty HashLife board.</p>
+	 * </blockquote>
+	 */
+	public BoardHashLife() {
+		createNewTable();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>setMaxNodes</i></b>
+	 * <pre>{@code public void setMaxNodes(int maxNodes)}</pre>
+	 * <p>Sets the memory cap of the node table. When the table holds more nodes than this after a step,
+	 * every node which is not part of the current universe is evicted, together with all memoized results.</p>
+	 * @param maxNodes - the maximum number of nodes kept between the steps.
+	 * @throws IllegalArgumentException - If maxNodes is less than 1.
+	 * </blockquote>
+	 */
+	public void setMaxNodes(int maxNodes) throws IllegalArgumentException {
+		if(maxNodes < 1) {
+			throw new IllegalArgumentException("maxNodes must be greater than 0.");
+		}
+
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getMaxNodes</i></b>
+	 * <pre>{@code public int getMaxNodes()}</pre>
+	 * @return maxNodes - the memory cap of the node table.
+	 * </blockquote>
+	 */
+	public int getMaxNodes() {
+		return maxNodes;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNodeCount</i></b>
+	 * <pre>{@code public int getNodeCount()}</pre>
+	 * @return tableSize - the number of nodes currently in the node table.
+	 * </blockquote>
+	 */
+	public int getNodeCount() {
+		return tableSize;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public void nextGeneration(int exponent)}</pre>
+	 * <p>Advances the universe 2^exponent generations. The root is expanded until the pattern is centered
+	 * with enough empty space around it, before the memoized successor of the root replaces it.</p>
+	 * @param exponent - the number of generations to advance, as a power of two.
+	 * @throws IllegalArgumentException - If the exponent is negative or more than {@link #MAX_EXPONENT}.
+	 * @throws IllegalStateException - If the rule gives birth to cells with 0 neighbours.
+	 * </blockquote>
+	 */
+	@Override
+	public void nextGeneration(int exponent) throws IllegalArgumentException, IllegalStateException {
+		if(exponent < 0 || exponent > MAX_EXPONENT) {
+			throw new IllegalArgumentException("Exponent must be between 0 and " + MAX_EXPONENT + ".");
+		}
+
+		if((gr.getBirthMask() & 1) != 0) {
+			throw new IllegalStateException("HashLife can not step rules where cells are born with 0 neighbours.");
+		}
+
+		// The memoized results are only valid for the rule they were computed with, the results of
+		// different exponents are kept apart in the nodes.
+		if(birthMask != gr.getBirthMask() || surviveMask != gr.getSurviveMask()) {
+			clearResults();
+			birthMask = gr.getBirthMask();
+			surviveMask = gr.getSurviveMask();
+		}
+
+		// A pattern within the center quarter of a level k node, can not grow out of the
+		// center half in 2^(k-3) generations.
+		while(root.level < exponent + 3 || !isCentered(root)) {
+			root = expand(root);
+		}
+
+		root = successor(root, exponent);
+
+		if(root.level < MIN_LEVEL) {
+			root = expand(root);
+		}
+
+		if(tableSize > maxNodes) {
+			collectGarbage();
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>step</i></b>
+	 * <pre>{@code public void step()}</pre>
+	 * <p>Advances the universe one generation, see {@link #nextGeneration(int)}.</p>
+	 * @throws IllegalStateException - If the rule gives birth to cells with 0 neighbours.
+	 * </blockquote>
+	 */
+	@Override
+	public void step() throws IllegalStateException {
+		nextGeneration(0);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation()}</pre>
+	 * @return population - the number of living cells, read from the root node.
+	 * </blockquote>
+	 */
+	@Override
+	public long getPopulation() {
+		return root.population;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()}</pre>
+	 * <p>Returns the smallest rectangle containing all the living cells, as the array
+	 * {minX, minY, maxX, maxY}. Only the non-empty nodes are visited.</p>
+	 * @return boundingBox - the bounding box, or null if there are no living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public int[] getBoundingBox() {
+		if(root.population == 0) {
+			return null;
+		}
+
+		long half = 1L << (root.level - 1);
+
+		return new int[] {
+			(int) (edge(root, 0, false, false) - half),
+			(int) (edge(root, 0, true,  false) - half),
+			(int) (edge(root, 0, false, true)  - half),
+			(int) (edge(root, 0, true,  true)  - half)
+		};
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position. The root
+	 * is expanded if the position is outside it.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		while(!contains(root, x, y)) {
+			if(!cellState) {
+				return;
+			}
+
+			root = expand(root);
+		}
+
+		long half = 1L << (root.level - 1);
+		root = setCell(root, x + half, y + half, cellState);
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		if(!contains(root, x, y)) {
+			return 0;
+		}
+
+		long half = 1L << (root.level - 1);
+		long px = x + half;
+		long py = y + half;
+		Node n = root;
+
+		while(n.level > 0 && n.population != 0) {
+			long size = 1L << (n.level - 1);
+			boolean east = px >= size;
+			boolean south = py >= size;
+
+			if(east) px -= size;
+			if(south) py -= size;
+
+			n = south ? (east ? n.se : n.sw) : (east ? n.ne : n.nw);
+		}
+
+		return (n.level == 0) ? n.population : 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int columnx , int row)}</pre>
+	 * <p> Gets the 64 cells of the given element, where the element column 0 starts at x = 0.</p>
+	 * @param column - The position of the cell on the column.
+	 * @param row - The position of  the cell on which row.
+	 * @return returns the element at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) {
+		long data = 0;
+		int x = column << 6;
+
+		for(int i = 0; i < Long.SIZE; i++) {
+			data |= getCellState(x + i, row) << i;
+		}
+
+		return data;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the 64 cells of the given element, where the element column 0 starts at x = 0.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row.
+	 * @param data - The new cells of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		int x = column << 6;
+
+		for(int i = 0; i < Long.SIZE; i++) {
+			setCellState(x + i, row, ((data >>> i) & 1L) == 1L);
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board where all the cell states are set to dead. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void clearBoard() {
+		root = empty(root.level);
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> Empties the node table, and sets the root back to its smallest size. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		createNewTable();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * <p>Gets the height of the universe covered by the root, counted from y = 0.</p>
+	 * @return boardHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		return Math.min(1L << (root.level - 1), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * <p>Gets the width of the universe covered by the root, counted from x = 0.</p>
+	 * @return Long value with the number of cell-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		return Math.min(1L << (root.level - 1), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows -Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return getBoardHeight();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns- Long value with the number of column-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return (getBoardWidth() + 63) >> 6;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code public boolean hasPosition(int x, int y); }</pre>
+	 * <p>The universe is unbounded, so every position is accepted.</p>
+	 * @param x - horizontal coordinate
+	 * @param y - vertical coordinate
+	 * @return true
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return true;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the living part of the board in a String format.</p>
+	 * @return toString
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+		int[] box = getBoundingBox();
+
+		if(box != null) {
+			for(int j = box[1]; j <= box[3]; j++) {
+				buffer.append("[Row:" + j + "]    ");
+				for(int i = box[0]; i <= box[2]; i++) {
+					buffer.append(getCellState(i, j) == 1 ? "[x]" : "[ ]");
+				}
+				buffer.append("\n");
+			}
+		}
+
+		return buffer.toString();
+	}
+
+
+	private void createNewTable() {
+		table = new Node[1 << 10];
+		emptyNodes = new Node[MAX_EXPONENT + 8];
+		tableSize = 0;
+		nextId = 2;
+
+		root = empty(MIN_LEVEL);
+	}
+
+	// Returns the canonical node with the given children, the node is created if it doesn't exist.
+	private Node join(Node nw, Node ne, Node sw, Node se) {
+		int index = hash(nw, ne, sw, se) & (table.length - 1);
+
+		for(Node n = table[index]; n != null; n = n.next) {
+			if(n.nw == nw && n.ne == ne && n.sw == sw && n.se == se) {
+				return n;
+			}
+		}
+
+		Node n = new Node(nw, ne, sw, se, nextId++);
+		n.next = table[index];
+		table[index] = n;
+
+		if(++tableSize > (table.length >> 1) + (table.length >> 2)) {
+			resizeTable(table.length << 1);
+		}
+
+		return n;
+	}
+
+	private static int hash(Node nw, Node ne, Node sw, Node se) {
+		long h = nw.id * 0x9E3779B97F4A7C15L
+			   + ne.id * 0xC2B2AE3D27D4EB4FL
+			   + sw.id * 0x165667B19E3779F9L
+			   + se.id * 0x27D4EB2F165667C5L;
+
+		return (int) (h ^ (h >>> 29) ^ (h >>> 43));
+	}
+
+	private void resizeTable(int length) {
+		Node[] oldTable = table;
+		table = new Node[length];
+
+		for(int i = 0; i < oldTable.length; i++) {
+			Node n = oldTable[i];
+
+			while(n != null) {
+				Node next = n.next;
+				int index = hash(n.nw, n.ne, n.sw, n.se) & (length - 1);
+
+				n.next = table[index];
+				table[index] = n;
+				n = next;
+			}
+		}
+	}
+
+	// Evicts all nodes which are not reachable from the root, and all the memoized results.
+	private void collectGarbage() {
+		table = new Node[table.length];
+		tableSize = 0;
+		Arrays.fill(emptyNodes, null);
+
+		reinsert(root);
+
+		while(tableSize < (table.length >> 3) && table.length > (1 << 10)) {
+			resizeTable(table.length >> 1);
+		}
+	}
+
+	private void reinsert(Node n) {
+		if(n.level == 0) {
+			return;
+		}
+
+		int index = hash(n.nw, n.ne, n.sw, n.se) & (table.length - 1);
+
+		for(Node o = table[index]; o != null; o = o.next) {
+			if(o == n) {
+				return;
+			}
+		}
+
+		reinsert(n.nw);
+		reinsert(n.ne);
+		reinsert(n.sw);
+		reinsert(n.se);
+
+		// The table may have been resized by the children.
+		index = hash(n.nw, n.ne, n.sw, n.se) & (table.length - 1);
+		n.result = null;
+		n.stepResult = null;
+		n.next = table[index];
+		table[index] = n;
+
+		if(++tableSize > (table.length >> 1) + (table.length >> 2)) {
+			resizeTable(table.length << 1);
+		}
+	}
+
+	private void clearResults() {
+		for(int i = 0; i < table.length; i++) {
+			for(Node n = table[i]; n != null; n = n.next) {
+				n.result = null;
+				n.stepResult = null;
+			}
+		}
+	}
+
+	private Node empty(int level) {
+		if(level == 0) {
+			return deadLeaf;
+		}
+
+		if(emptyNodes[level] == null) {
+			Node e = empty(level - 1);
+			emptyNodes[level] = join(e, e, e, e);
+		}
+
+		return emptyNodes[level];
+	}
+
+	// Returns a node one level up, where the given node is placed in the center.
+	private Node expand(Node n) {
+		Node border = empty(n.level - 1);
+
+		return join(
+				join(border, border, border, n.nw),
+				join(border, border, n.ne, border),
+				join(border, n.sw, border, border),
+				join(n.se, border, border, border));
+	}
+
+	// Checks if all the living cells are inside the center quarter of the node.
+	private boolean isCentered(Node n) {
+		return n.nw.population == n.nw.se.se.population &&
+			   n.ne.population == n.ne.sw.sw.population &&
+			   n.sw.population == n.sw.ne.ne.population &&
+			   n.se.population == n.se.nw.nw.population;
+	}
+
+	private boolean contains(Node n, long x, long y) {
+		long half = 1L << (n.level - 1);
+
+		return x >= -half && x < half && y >= -half && y < half;
+	}
+
+	private Node setCell(Node n, long px, long py, boolean cellState) {
+		if(n.level == 0) {
+			return cellState ? aliveLeaf : deadLeaf;
+		}
+
+		long size = 1L << (n.level - 1);
+
+		if(py < size) {
+			if(px < size) {
+				return join(setCell(n.nw, px, py, cellState), n.ne, n.sw, n.se);
+			} else {
+				return join(n.nw, setCell(n.ne, px - size, py, cellState), n.sw, n.se);
+			}
+		} else {
+			if(px < size) {
+				return join(n.nw, n.ne, setCell(n.sw, px, py - size, cellState), n.se);
+			} else {
+				return join(n.nw, n.ne, n.sw, setCell(n.se, px - size, py - size, cellState));
+			}
+		}
+	}
+
+	// Returns the outermost coordinate of a living cell in the given direction, relative to the node.
+	private long edge(Node n, long origin, boolean vertical, boolean max) {
+		if(n.level == 0) {
+			return origin;
+		}
+
+		long size = 1L << (n.level - 1);
+		Node near1 = n.nw;
+		Node near2 = vertical ? n.ne : n.sw;
+		Node far1  = vertical ? n.sw : n.ne;
+		Node far2  = n.se;
+
+		if(max) {
+			if(far1.population + far2.population > 0) {
+				return edgeOf(far1, far2, origin + size, vertical, true);
+			}
+			return edgeOf(near1, near2, origin, vertical, true);
+		} else {
+			if(near1.population + near2.population > 0) {
+				return edgeOf(near1, near2, origin, vertical, false);
+			}
+			return edgeOf(far1, far2, origin + size, vertical, false);
+		}
+	}
+
+	// The two nodes share the same origin along the measured axis.
+	private long edgeOf(Node a, Node b, long origin, boolean vertical, boolean max) {
+		if(a.population == 0) {
+			return edge(b, origin, vertical, max);
+		} else if(b.population == 0) {
+			return edge(a, origin, vertical, max);
+		}
+
+		long edgeA = edge(a, origin, vertical, max);
+		long edgeB = edge(b, origin, vertical, max);
+
+		return max ? Math.max(edgeA, edgeB) : Math.min(edgeA, edgeB);
+	}
+
+	// Returns the center of the node advanced 2^(level-2) generations, or 2^exponent if it is less.
+	private Node successor(Node n, int exponent) {
+		boolean fullStep = exponent >= n.level - 2;
+
+		if(fullStep && n.result != null) {
+			return n.result;
+		}
+
+		if(!fullStep && n.stepResult != null && n.stepExponent == exponent) {
+			return n.stepResult;
+		}
+
+		Node result;
+
+		if(n.population == 0) {
+			result = empty(n.level - 1);
+		} else if(n.level == 2) {
+			result = successorBase(n);
+		} else if(fullStep) {
+			// Two half steps through the nine overlapping sub-squares.
+			Node n00 = successor(n.nw, exponent);
+			Node n01 = successor(horizontal(n.nw, n.ne), exponent);
+			Node n02 = successor(n.ne, exponent);
+			Node n10 = successor(vertical(n.nw, n.sw), exponent);
+			Node n11 = successor(center(n), exponent);
+			Node n12 = successor(vertical(n.ne, n.se), exponent);
+			Node n20 = successor(n.sw, exponent);
+			Node n21 = successor(horizontal(n.sw, n.se), exponent);
+			Node n22 = successor(n.se, exponent);
+
+			result = join(
+					successor(join(n00, n01, n10, n11), exponent),
+					successor(join(n01, n02, n11, n12), exponent),
+					successor(join(n10, n11, n20, n21), exponent),
+					successor(join(n11, n12, n21, n22), exponent));
+		} else {
+			// Only one step of 2^exponent generations, so we take the centers without advancing them.
+			Node n00 = center(n.nw);
+			Node n01 = centerHorizontal(n.nw, n.ne);
+			Node n02 = center(n.ne);
+			Node n10 = centerVertical(n.nw, n.sw);
+			Node n11 = center(center(n));
+			Node n12 = centerVertical(n.ne, n.se);
+			Node n20 = center(n.sw);
+			Node n21 = centerHorizontal(n.sw, n.se);
+			Node n22 = center(n.se);
+
+			result = join(
+					successor(join(n00, n01, n10, n11), exponent),
+					successor(join(n01, n02, n11, n12), exponent),
+					successor(join(n10, n11, n20, n21), exponent),
+					successor(join(n11, n12, n21, n22), exponent));
+		}
+
+		if(fullStep) {
+			n.result = result;
+		} else {
+			n.stepResult = result;
+			n.stepExponent = exponent;
+		}
+
+		return result;
+	}
+
+	// Computes one generation of the 2x2 center of a 4x4 node, by the rule.
+	private Node successorBase(Node n) {
+		int bits = quadrantBits(n.nw, 0, 0) | quadrantBits(n.ne, 2, 0) |
+				   quadrantBits(n.sw, 0, 2) | quadrantBits(n.se, 2, 2);
+
+		return join(
+				nextLeaf(bits, 1, 1, CENTER_MASKS[0]),
+				nextLeaf(bits, 2, 1, CENTER_MASKS[1]),
+				nextLeaf(bits, 1, 2, CENTER_MASKS[2]),
+				nextLeaf(bits, 2, 2, CENTER_MASKS[3]));
+	}
+
+	private static int quadrantBits(Node q, int x, int y) {
+		return (int) ((q.nw.population << (y * 4 + x)) |
+					  (q.ne.population << (y * 4 + x + 1)) |
+					  (q.sw.population << ((y + 1) * 4 + x)) |
+					  (q.se.population << ((y + 1) * 4 + x + 1)));
+	}
+
+	private Node nextLeaf(int bits, int x, int y, int neighbourMask) {
+		int neighbours = Integer.bitCount(bits & neighbourMask);
+		int rule = (((bits >> (y * 4 + x)) & 1) == 1) ? surviveMask : birthMask;
+
+		return (((rule >> neighbours) & 1) == 1) ? aliveLeaf : deadLeaf;
+	}
+
+	private static int centerMask(int x, int y) {
+		return (0b111 << ((y - 1) * 4 + x - 1)) |
+			   (0b101 << (y * 4 + x - 1)) |
+			   (0b111 << ((y + 1) * 4 + x - 1));
+	}
+
+	private Node center(Node n) {
+		return join(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw);
+	}
+
+	private Node horizontal(Node w, Node e) {
+		return join(w.ne, e.nw, w.se, e.sw);
+	}
+
+	private Node vertical(Node n, Node s) {
+		return join(n.sw, n.se, s.nw, s.ne);
+	}
+
+	private Node centerHorizontal(Node w, Node e) {
+		return join(w.ne.se, e.nw.sw, w.se.ne, e.sw.nw);
+	}
+
+	private Node centerVertical(Node n, Node s) {
+		return join(n.sw.se, n.se.sw, s.nw.ne, s.ne.nw);
+	}
+}
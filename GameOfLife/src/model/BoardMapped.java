@@ -0,0 +1,685 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A static board stored in a memory-mapped file, for boards larger than the memory. The file holds a
+ * header and two planes, the current generation and the next generation. Each plane is laid out row after
+ * row, so the three rows needed to compute a row are next to each other in the file. The board steps itself
+ * in bands of rows: a band is read from the current plane together with the row above and below it,
+ * computed, and written to the next plane. The bands are visited from the top of the file to the bottom,
+ * so the operating system only needs to keep the pages around the current band in memory.
+ *
+ * <p>The header records which plane is the current generation, the generation number, the population and
+ * the rule, so the file is also a checkpoint. Opening an existing file resumes from it at once, without
+ * reading the cells. The file is a consistent checkpoint after {@link #checkpoint()} or {@link #close()}.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardMapped extends Board implements GenerationEngine, AutoCloseable {
+
+	// The number of rows in a band.
+	private static final int BAND_ROWS = 64;
+
+	// The largest mapping, in bytes. A row is never split between two mappings.
+	private static final int CHUNK_SIZE = 1 << 30;
+
+	private static final long MAGIC = 0x474F4C4D41505031L;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 4096;
+
+	private static final int HEADER_MAGIC = 0;
+	private static final int HEADER_VERSION = 8;
+	private static final int HEADER_WIDTH = 12;
+	private static final int HEADER_HEIGHT = 16;
+	private static final int HEADER_PLANE = 20;
+	private static final int HEADER_BIRTH = 24;
+	private static final int HEADER_SURVIVE = 28;
+	private static final int HEADER_GENERATION = 32;
+	private static final int HEADER_POPULATION = 40;
+
+	private RandomAccessFile file;
+	private MappedByteBuffer header;
+	private MappedByteBuffer[][] chunks;
+	private LongBuffer[][] views;
+	private final int rowsPrChunk;
+
+	private final int boardWidth;
+	private final int boardHeight;
+	private final int columns;
+
+	private int plane;
+	private long generationNo;
+	private long population;
+
+	private GameRules gr = GameRules.getInstance();
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardMapped</i></b>
+	 * <pre>{@code public BoardMapped(File file, int columns, int rows)}</pre>
+	 * <p>Creates an empty board in the file. An existing file is overwritten.</p>
+	 * @param file - The file of the board.
+	 * @param columns - The width of the board in cells.
+	 * @param rows - The height of the board in cells.
+	 * @throws NullPointerException - If the file is null.
+	 * @throws IllegalArgumentException - If the columns or rows are less than 1.
+	 * @throws IOException - If the file can not be created or mapped.
+	 * </blockquote>
+	 */
+	public BoardMapped(File file, int columns, int rows) throws NullPointerException, IllegalArgumentException,
+			IOException {
+		if(file == null) {
+			throw new NullPointerException("file can not be null.");
+		}
+
+		if(columns < 1 || rows < 1) {
+			throw new IllegalArgumentException("Input parameters must be grater than 0.");
+		}
+
+		boardWidth = columns;
+		boardHeight = rows;
+		this.columns = (int) Math.ceil(columns / 64d);
+		rowsPrChunk = Math.max(CHUNK_SIZE / (this.columns * Long.BYTES), 1);
+
+		this.file = new RandomAccessFile(file, "rw");
+
+		try {
+			// A file is filled with zeros when it grows, so both planes starts out empty.
+			this.file.setLength(0);
+			this.file.setLength(HEADER_SIZE + 2 * getPlaneSize());
+
+			map();
+
+			header.putLong(HEADER_MAGIC, MAGIC);
+			header.putInt(HEADER_VERSION, VERSION);
+			header.putInt(HEADER_WIDTH, boardWidth);
+			header.putInt(HEADER_HEIGHT, boardHeight);
+			writeHeader();
+		} catch(IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardMapped</i></b>
+	 * <pre>{@code public BoardMapped(File file)}</pre>
+	 * <p>Opens a board created earlier, and resumes from the last checkpoint in the file.</p>
+	 * @param file - The file of the board.
+	 * @throws NullPointerException - If the file is null.
+	 * @throws IOException - If the file can not be opened, or is not a board.
+	 * </blockquote>
+	 */
+	public BoardMapped(File file) throws NullPointerException, IOException {
+		if(file == null) {
+			throw new NullPointerException("file can not be null.");
+		}
+
+		this.file = new RandomAccessFile(file, "rw");
+
+		try {
+			if(this.file.length() < HEADER_SIZE) {
+				throw new IOException("The file is not a mapped board.");
+			}
+
+			this.file.seek(HEADER_MAGIC);
+			byte[] start = new byte[HEADER_SIZE];
+			this.file.readFully(start);
+
+			ByteBuffer read = ByteBuffer.wrap(start).order(ByteOrder.nativeOrder());
+
+			if(read.getLong(HEADER_MAGIC) != MAGIC || read.getInt(HEADER_VERSION) != VERSION) {
+				throw new IOException("The file is not a mapped board.");
+			}
+
+			boardWidth = read.getInt(HEADER_WIDTH);
+			boardHeight = read.getInt(HEADER_HEIGHT);
+
+			if(boardWidth < 1 || boardHeight < 1) {
+				throw new IOException("The file is not a mapped board.");
+			}
+
+			columns = (int) Math.ceil(boardWidth / 64d);
+			rowsPrChunk = Math.max(CHUNK_SIZE / (columns * Long.BYTES), 1);
+
+			if(this.file.length() < HEADER_SIZE + 2 * getPlaneSize()) {
+				throw new IOException("The file is shorter than the board.");
+			}
+
+			map();
+
+			plane = header.getInt(HEADER_PLANE) & 1;
+			generationNo = header.getLong(HEADER_GENERATION);
+			population = header.getLong(HEADER_POPULATION);
+		} catch(IOException | RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>checkpoint</i></b>
+	 * <pre>{@code public void checkpoint()}</pre>
+	 * <p>Writes the planes and then the header to the disk, so the file can be opened again from this
+	 * generation. The planes are written first, so the header never points to a plane which is not on
+	 * the disk.</p>
+	 * @throws IllegalStateException - If the board has been closed.
+	 * </blockquote>
+	 */
+	public void checkpoint() throws IllegalStateException {
+		checkClosed();
+
+		for(MappedByteBuffer[] planeChunks : chunks) {
+			for(MappedByteBuffer chunk : planeChunks) {
+				chunk.force();
+			}
+		}
+
+		writeHeader();
+		header.force();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>close</i></b>
+	 * <pre>{@code public void close()}</pre>
+	 * <p>Makes a checkpoint, unmaps the file and closes it. The board can not be used afterwards, and
+	 * closing it again does nothing.</p>
+	 * @throws IOException - If the file can not be closed.
+	 * </blockquote>
+	 */
+	@Override
+	public void close() throws IOException {
+		if(file == null) {
+			return;
+		}
+
+		try {
+			if(chunks != null) {
+				checkpoint();
+			}
+		} finally {
+			unmap();
+
+			RandomAccessFile closed = file;
+			file = null;
+			closed.close();
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>isClosed</i></b>
+	 * <pre>{@code public boolean isClosed()}</pre>
+	 * @return closed - True if the board has been closed.
+	 * </blockquote>
+	 */
+	public boolean isClosed() {
+		return file == null;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getGenerationNo</i></b>
+	 * <pre>{@code public long getGenerationNo()}</pre>
+	 * @return generationNo - The number of generations the board has been stepped, also before it was opened.
+	 * </blockquote>
+	 */
+	public long getGenerationNo() {
+		return generationNo;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getStoredRule</i></b>
+	 * <pre>{@code public String getStoredRule()}</pre>
+	 * <p>Returns the rule the board was last stepped with, like S23/B3, so a run can be resumed with the
+	 * same rule.</p>
+	 * @return rule - The rule string, or null if the board has not been stepped.
+	 * @throws IllegalStateException - If the board has been closed.
+	 * </blockquote>
+	 */
+	public String getStoredRule() throws IllegalStateException {
+		checkClosed();
+
+		int birthMask = header.getInt(HEADER_BIRTH);
+		int surviveMask = header.getInt(HEADER_SURVIVE);
+
+		if(birthMask == 0 && surviveMask == 0 && generationNo == 0) {
+			return null;
+		}
+
+		return RuleCompiler.ruleString(birthMask, surviveMask);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation()}</pre>
+	 * @return population - the number of living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public long getPopulation() {
+		return population;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()}</pre>
+	 * <p>Returns the smallest rectangle containing all the living cells, as the array
+	 * {minX, minY, maxX, maxY}. The whole plane is read.</p>
+	 * @return boundingBox - the bounding box, or null if there are no living cells.
+	 * @throws IllegalStateException - If the board has been closed.
+	 * </blockquote>
+	 */
+	@Override
+	public int[] getBoundingBox() throws IllegalStateException {
+		checkClosed();
+
+		if(population == 0) {
+			return null;
+		}
+
+		int[] box = { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE };
+		long[] row = new long[columns];
+
+		for(int y = 0; y < boardHeight; y++) {
+			readRows(plane, y, 1, row, 0);
+
+			for(int col = 0; col < columns; col++) {
+				if(row[col] != 0) {
+					box[0] = Math.min(box[0], (col << 6) + Long.numberOfTrailingZeros(row[col]));
+					box[1] = Math.min(box[1], y);
+					box[2] = Math.max(box[2], (col << 6) + 63 - Long.numberOfLeadingZeros(row[col]));
+					box[3] = y;
+				}
+			}
+		}
+
+		return box;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		if(x > -1 && x < boardWidth &&
+			y > -1 && y < boardHeight) {
+
+			int column = x >> 6;
+
+			setElement(column, y, setBit(getElement(column, y), x & 63, cellState));
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		if(x > -1 && x < boardWidth &&
+			y > -1 && y < boardHeight) {
+
+			return getBit(getElement(x >> 6, y), x & 63);
+		}
+
+		return 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int column, int row)}</pre>
+	 * <p> Gets the element of the current generation on the given position.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of the element on which row.
+	 * @return the element at the given position, or 0 outside the board.
+	 * @throws IllegalStateException - If the board has been closed.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) throws IllegalStateException {
+		if(row > -1 && row < boardHeight &&
+			column > -1 && column < columns) {
+
+			checkClosed();
+			return views[plane][row / rowsPrChunk].get(index(column, row));
+		}
+
+		return 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the element of the current generation on the given position, positions outside the board
+	 * are ignored.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of the element on which row.
+	 * @param data - The new value of the element.
+	 * @throws IllegalStateException - If the board has been closed.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) throws IllegalStateException {
+		if(row > -1 && row < boardHeight &&
+			column > -1 && column < columns) {
+
+			checkClosed();
+
+			if(column == columns - 1) {
+				data &= KernelSwar.widthMask(boardWidth);
+			}
+
+			LongBuffer view = views[plane][row / rowsPrChunk];
+			int index = index(column, row);
+
+			population += Long.bitCount(data) - Long.bitCount(view.get(index));
+			view.put(index, data);
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board where all the cell states are set to dead. </p>
+	 * @throws IllegalStateException - If the board has been closed.
+	 * </blockquote>
+	 */
+	@Override
+	public void clearBoard() throws IllegalStateException {
+		checkClosed();
+
+		long[] empty = new long[columns];
+
+		for(int y = 0; y < boardHeight; y++) {
+			writeRows(plane, y, 1, empty, 0);
+		}
+
+		population = 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> This method is void in this class. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		// Not used in this class
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * @return boardHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		return boardHeight;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * @return boardWidth - Long value with the number of cells in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		return boardWidth;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows - Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return boardHeight;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns - Long value with the number of column-elements in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return columns;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code public boolean hasPosition(int x, int y); }</pre>
+	 * @param x - horizontal coordinate
+	 * @param y - vertical coordinate
+	 * @return true
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return true;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the board in a String format.</p>
+	 * @return toString
+	 * </blockquote>
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+
+		for(int j = 0; j < boardHeight; j++) {
+			buffer.append("[Row:" + j + "]    ");
+			for(int i = 0; i < boardWidth; i++) {
+				buffer.append(getCellState(i, j) == 1 ? "[x]" : "[ ]");
+			}
+			buffer.append("\n");
+		}
+
+		return buffer.toString();
+	}
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>step</i></b>
+	 * <pre>{@code public void step()}</pre>
+	 * <p>Computes the next generation one band at a time, from the current plane to the other plane.</p>
+	 * @throws IllegalStateException - If the board has been closed.
+	 * </blockquote>
+	 */
+	@Override
+	public void step() throws IllegalStateException {
+		checkClosed();
+
+		int birthMask = gr.getBirthMask();
+		int surviveMask = gr.getSurviveMask();
+		long lastMask = KernelSwar.widthMask(boardWidth);
+		int next = plane ^ 1;
+
+		// The band with the row above and below, and one empty element on both sides of every row.
+		int stride = columns + 2;
+		long[] window = new long[(BAND_ROWS + 2) * stride];
+		long[] result = new long[BAND_ROWS * columns];
+		long newPopulation = 0;
+
+		for(int bandStart = 0; bandStart < boardHeight; bandStart += BAND_ROWS) {
+			int bandRows = Math.min(BAND_ROWS, boardHeight - bandStart);
+
+			for(int r = 0; r < bandRows + 2; r++) {
+				int y = bandStart - 1 + r;
+
+				if(y < 0 || y >= boardHeight) {
+					Arrays.fill(window, r * stride, (r + 1) * stride, 0L);
+				} else {
+					readRows(plane, y, 1, window, r * stride + 1);
+				}
+			}
+
+			for(int r = 0; r < bandRows; r++) {
+				int up = r * stride;
+				int mid = up + stride;
+				int down = mid + stride;
+
+				for(int col = 0; col < columns; col++) {
+					long element = KernelSwar.nextElement(
+							window[up + col], window[up + col + 1], window[up + col + 2],
+							window[mid + col], window[mid + col + 1], window[mid + col + 2],
+							window[down + col], window[down + col + 1], window[down + col + 2],
+							birthMask, surviveMask);
+
+					if(col == columns - 1) {
+						element &= lastMask;
+					}
+
+					result[r * columns + col] = element;
+					newPopulation += Long.bitCount(element);
+				}
+			}
+
+			writeRows(next, bandStart, bandRows, result, 0);
+		}
+
+		plane = next;
+		population = newPopulation;
+		generationNo++;
+
+		header.putInt(HEADER_BIRTH, birthMask);
+		header.putInt(HEADER_SURVIVE, surviveMask);
+		writeHeader();
+	}
+
+	// Copies whole rows of a plane to the array, the rows can be in more than one mapping.
+	private void readRows(int plane, int row, int rows, long[] dest, int offset) {
+		for(int r = 0; r < rows; r++) {
+			LongBuffer view = views[plane][(row + r) / rowsPrChunk].duplicate();
+			view.position(index(0, row + r));
+			view.get(dest, offset + r * columns, columns);
+		}
+	}
+
+	private void writeRows(int plane, int row, int rows, long[] src, int offset) {
+		for(int r = 0; r < rows; r++) {
+			LongBuffer view = views[plane][(row + r) / rowsPrChunk].duplicate();
+			view.position(index(0, row + r));
+			view.put(src, offset + r * columns, columns);
+		}
+	}
+
+	private void writeHeader() {
+		header.putInt(HEADER_PLANE, plane);
+		header.putLong(HEADER_GENERATION, generationNo);
+		header.putLong(HEADER_POPULATION, population);
+	}
+
+	// Maps the header and both planes, every plane in chunks of whole rows.
+	private void map() throws IOException {
+		FileChannel channel = file.getChannel();
+		int chunkCount = (boardHeight + rowsPrChunk - 1) / rowsPrChunk;
+		long rowSize = (long) columns * Long.BYTES;
+
+		header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+		header.order(ByteOrder.nativeOrder());
+
+		chunks = new MappedByteBuffer[2][chunkCount];
+		views = new LongBuffer[2][chunkCount];
+
+		for(int p = 0; p < 2; p++) {
+			long planeStart = HEADER_SIZE + p * getPlaneSize();
+
+			for(int i = 0; i < chunkCount; i++) {
+				int chunkRows = Math.min(rowsPrChunk, boardHeight - i * rowsPrChunk);
+				long start = planeStart + i * rowsPrChunk * rowSize;
+
+				chunks[p][i] = channel.map(FileChannel.MapMode.READ_WRITE, start, chunkRows * rowSize);
+				chunks[p][i].order(ByteOrder.nativeOrder());
+				views[p][i] = chunks[p][i].asLongBuffer();
+			}
+		}
+	}
+
+	private void unmap() {
+		if(chunks != null) {
+			for(MappedByteBuffer[] planeChunks : chunks) {
+				for(MappedByteBuffer chunk : planeChunks) {
+					if(chunk != null) {
+						BoardOffHeap.free(chunk);
+					}
+				}
+			}
+		}
+
+		if(header != null) {
+			BoardOffHeap.free(header);
+		}
+
+		chunks = null;
+		views = null;
+		header = null;
+	}
+
+	private long getPlaneSize() {
+		return (long) boardHeight * columns * Long.BYTES;
+	}
+
+	private int index(int column, int row) {
+		return (row % rowsPrChunk) * columns + column;
+	}
+
+	private void checkClosed() throws IllegalStateException {
+		if(chunks == null) {
+			throw new IllegalStateException("The board has been closed.");
+		}
+	}
+}
@@ -0,0 +1,320 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A static board where the elements are stored in square tiles, and the tiles are stored in Z-order (Morton
+ * order) in one array. A tile is {@code TILE_SIZE} elements wide and {@code TILE_SIZE} rows high, and its
+ * elements are stored row by row, so the rows above and below an element are a few cache lines away
+ * instead of a whole row of the board away. The tiles next to each other in both directions are mostly
+ * close in the array too, so a wide board doesn't need a page for every row that is read.
+ *
+ * <p>The board is used through {@link #getElement(int, int)} and {@link #setElement(int, int, long)} like
+ * {@link BoardStatic}, the translation from the column and row to the position in the array is done by a
+ * table with the position of every tile. The Z-order is the order of the tiles' Morton codes, where the
+ * bits of the tile's column and row are interleaved, ranked so a board which isn't square or a power of
+ * two in size doesn't need any padding tiles.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardMorton extends Board {
+
+	// A tile is 8 x 8 elements, which is 512 bytes, or 8 cache lines of 64 bytes.
+	private static final int TILE_SHIFT = 3;
+	private static final int TILE_SIZE = 1 << TILE_SHIFT;
+	private static final int TILE_MASK = TILE_SIZE - 1;
+
+	// The largest array the virtual machine can allocate.
+	private static final long MAX_ELEMENTS = Integer.MAX_VALUE - 8;
+
+	private final long[] board;
+
+	// The position in the array of the first element of every tile, for the tiles row by row.
+	private final int[] tileOffset;
+	private final int tilesAcross;
+
+	private final long boardWidth;
+	private final int boardHeight;
+	private final int columns;
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardMorton</i></b>
+	 * <pre>{@code public BoardMorton(int columns, int rows)}</pre>
+	 * <p>Creates an empty board, with the tiles in Z-order.</p>
+	 * @param columns - The width of the board in cells.
+	 * @param rows - The height of the board in cells.
+	 * @throws IllegalArgumentException - If the columns or rows are less than 1, or the board is too large
+	 * for one array.
+	 * </blockquote>
+	 */
+	public BoardMorton(int columns, int rows) throws IllegalArgumentException {
+		if(columns < 1 || rows < 1) {
+			throw new IllegalArgumentException("Input parameters must be grater than 0.");
+		}
+
+		boardWidth = columns;
+		boardHeight = rows;
+		this.columns = (int) Math.ceil(columns / 64d);
+
+		tilesAcross = (this.columns + TILE_MASK) >> TILE_SHIFT;
+		int tilesDown = (rows + TILE_MASK) >> TILE_SHIFT;
+		long tiles = (long) tilesAcross * tilesDown;
+
+		if(tiles * TILE_SIZE * TILE_SIZE > MAX_ELEMENTS) {
+			throw new IllegalArgumentException("The board is too large.");
+		}
+
+		// The tiles are ranked by their Morton codes, which are unique, so the rank is found by a search.
+		long[] codes = new long[(int) tiles];
+
+		for(int ty = 0; ty < tilesDown; ty++) {
+			for(int tx = 0; tx < tilesAcross; tx++) {
+				codes[ty * tilesAcross + tx] = morton(tx, ty);
+			}
+		}
+
+		long[] sorted = codes.clone();
+		Arrays.sort(sorted);
+
+		tileOffset = new int[(int) tiles];
+
+		for(int i = 0; i < tiles; i++) {
+			tileOffset[i] = Arrays.binarySearch(sorted, codes[i]) << (2 * TILE_SHIFT);
+		}
+
+		board = new long[(int) tiles << (2 * TILE_SHIFT)];
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		if(x > -1 && x < boardWidth &&
+			y > -1 && y < boardHeight) {
+
+			int index = index(x >> 6, y);
+
+			board[index] = setBit(board[index], x & 63, cellState);
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		if(x > -1 && x < boardWidth &&
+			y > -1 && y < boardHeight) {
+
+			return getBit(board[index(x >> 6, y)], x & 63);
+		}
+
+		return 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int column, int row)}</pre>
+	 * <p> Gets the element on the given position, from the tile it is stored in.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of the element on which row.
+	 * @return the element at the given position, or 0 outside the board.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) {
+		if(row > -1 && row < boardHeight &&
+			column > -1 && column < columns) {
+
+			return board[index(column, row)];
+		}
+
+		return 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the element on the given position, positions outside the board are ignored.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of the element on which row.
+	 * @param data - The new value of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		if(row > -1 && row < boardHeight &&
+			column > -1 && column < columns) {
+
+			board[index(column, row)] = data;
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board where all the cell states are set to dead. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void clearBoard() {
+		Arrays.fill(board, 0L);
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> This method is void in this class. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		// Not used in this class
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * @return boardHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		return boardHeight;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * @return boardWidth - Long value with the number of cells in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		return boardWidth;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows - Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return boardHeight;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns - Long value with the number of column-elements in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return columns;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getMemorySize</i></b>
+	 * <pre>{@code public long getMemorySize()}</pre>
+	 * <p>The tiles on the right and bottom edges are whole tiles, so the board can use a little more
+	 * memory than a {@link BoardStatic}.</p>
+	 * @return size - The number of bytes used by the elements.
+	 * </blockquote>
+	 */
+	public long getMemorySize() {
+		return (long) board.length * Long.BYTES;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code public boolean hasPosition(int x, int y); }</pre>
+	 * @param x - horizontal coordinate
+	 * @param y - vertical coordinate
+	 * @return true
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return true;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the board in a String format.</p>
+	 * @return toString
+	 * </blockquote>
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+
+		for(int j = 0; j < boardHeight; j++) {
+			buffer.append("[Row:" + j + "]    ");
+			for(int i = 0; i < boardWidth; i++) {
+				buffer.append(getCellState(i, j) == 1 ? "[x]" : "[ ]");
+			}
+			buffer.append("\n");
+		}
+
+		return buffer.toString();
+	}
+
+
+	// The position of the element in the array, the column and row must be on the board.
+	private int index(int column, int row) {
+		return tileOffset[(row >> TILE_SHIFT) * tilesAcross + (column >> TILE_SHIFT)] +
+				((row & TILE_MASK) << TILE_SHIFT) + (column & TILE_MASK);
+	}
+
+	// Interleaves the bits of x and y, with the bits of x on the even positions.
+	private static long morton(int x, int y) {
+		return spread(x) | (spread(y) << 1);
+	}
+
+	// Moves bit i of the value to bit 2i.
+	private static long spread(int value) {
+		long bits = value & 0xFFFFFFFFL;
+
+		bits = (bits | (bits << 16)) & 0x0000FFFF0000FFFFL;
+		bits = (bits | (bits << 8)) & 0x00FF00FF00FF00FFL;
+		bits = (bits | (bits << 4)) & 0x0F0F0F0F0F0F0F0FL;
+		bits = (bits | (bits << 2)) & 0x3333333333333333L;
+		bits = (bits | (bits << 1)) & 0x5555555555555555L;
+
+		return bits;
+	}
+}
@@ -0,0 +1,372 @@
+package model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A static board where the cells are stored outside the heap, in direct {@link ByteBuffer}s. The board is
+ * laid out like {@link BoardStatic}, one row of 64 bit elements after another, but the garbage collector
+ * never sees the cells, so a large board doesn't need a large heap or make the collections slower. The
+ * stepping kernels read and write the elements in place through {@link #getElement(int, int)} and
+ * {@link #setElement(int, int, long)}.
+ *
+ * <p>A buffer can hold at most 2 GB, so the rows are split over as many buffers as needed, a row is never
+ * split between two buffers. The memory is freed by {@link #release()}, and the board can not be used
+ * afterwards. A board which is not released is freed when it is garbage collected.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardOffHeap extends Board implements AutoCloseable {
+
+	// The largest buffer, in bytes.
+	private static final int CHUNK_SIZE = 1 << 30;
+
+	private ByteBuffer[] chunks;
+	private final int rowsPrChunk;
+
+	private final long boardWidth;
+	private final int boardHeight;
+	private final int columns;
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardOffHeap</i></b>
+	 * <pre>{@code public BoardOffHeap(int columns, int rows)}</pre>
+	 * <p>Creates an empty board, and allocates its memory outside the heap.</p>
+	 * @param columns - The width of the board in cells.
+	 * @param rows - The height of the board in cells.
+	 * @throws IllegalArgumentException - If the columns or rows are less than 1.
+	 * </blockquote>
+	 */
+	public BoardOffHeap(int columns, int rows) throws IllegalArgumentException {
+		if(columns < 1 || rows < 1) {
+			throw new IllegalArgumentException("Input parameters must be grater than 0.");
+		}
+
+		boardWidth = columns;
+		boardHeight = rows;
+		this.columns = (int) Math.ceil(columns / 64d);
+
+		int rowSize = this.columns * Long.BYTES;
+		rowsPrChunk = Math.max(CHUNK_SIZE / rowSize, 1);
+
+		chunks = new ByteBuffer[(rows + rowsPrChunk - 1) / rowsPrChunk];
+
+		for(int i = 0; i < chunks.length; i++) {
+			int chunkRows = Math.min(rowsPrChunk, rows - i * rowsPrChunk);
+
+			// A new direct buffer is filled with zeros, so the board starts out empty.
+			chunks[i] = ByteBuffer.allocateDirect(chunkRows * rowSize).order(ByteOrder.nativeOrder());
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		if(x > -1 && x < boardWidth &&
+			y > -1 && y < boardHeight) {
+
+			int column = x >> 6;
+
+			setElement(column, y, setBit(getElement(column, y), x & 63, cellState));
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		if(x > -1 && x < boardWidth &&
+			y > -1 && y < boardHeight) {
+
+			return getBit(getElement(x >> 6, y), x & 63);
+		}
+
+		return 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int column, int row)}</pre>
+	 * <p> Gets the element on the given position, directly from the memory outside the heap.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of the element on which row.
+	 * @return the element at the given position, or 0 outside the board.
+	 * @throws IllegalStateException - If the board has been released.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) throws IllegalStateException {
+		if(row > -1 && row < boardHeight &&
+			column > -1 && column < columns) {
+
+			return chunk(row).getLong(offset(column, row));
+		}
+
+		return 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the element on the given position, positions outside the board are ignored.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of the element on which row.
+	 * @param data - The new value of the element.
+	 * @throws IllegalStateException - If the board has been released.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) throws IllegalStateException {
+		if(row > -1 && row < boardHeight &&
+			column > -1 && column < columns) {
+
+			chunk(row).putLong(offset(column, row), data);
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board where all the cell states are set to dead. </p>
+	 * @throws IllegalStateException - If the board has been released.
+	 * </blockquote>
+	 */
+	@Override
+	public void clearBoard() throws IllegalStateException {
+		checkReleased();
+
+		for(ByteBuffer chunk : chunks) {
+			for(int i = 0; i < chunk.capacity(); i += Long.BYTES) {
+				chunk.putLong(i, 0L);
+			}
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>release</i></b>
+	 * <pre>{@code public void release()}</pre>
+	 * <p>Frees the memory of the board. The board can not be used afterwards, and releasing it again does
+	 * nothing. The caller must make sure no other thread is using the board.</p>
+	 * </blockquote>
+	 */
+	public void release() {
+		ByteBuffer[] released = chunks;
+
+		if(released == null) {
+			return;
+		}
+
+		chunks = null;
+
+		for(ByteBuffer chunk : released) {
+			free(chunk);
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>close</i></b>
+	 * <pre>{@code public void close()}</pre>
+	 * <p>Same as {@link #release()}, so the board can be used in a try-with-resources statement.</p>
+	 * </blockquote>
+	 */
+	@Override
+	public void close() {
+		release();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>isReleased</i></b>
+	 * <pre>{@code public boolean isReleased()}</pre>
+	 * @return released - True if the memory of the board has been freed.
+	 * </blockquote>
+	 */
+	public boolean isReleased() {
+		return chunks == null;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getMemorySize</i></b>
+	 * <pre>{@code public long getMemorySize()}</pre>
+	 * @return size - The number of bytes the board uses outside the heap.
+	 * </blockquote>
+	 */
+	public long getMemorySize() {
+		return (long) boardHeight * columns * Long.BYTES;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> This method is void in this class. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		// Not used in this class
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * @return boardHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		return boardHeight;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * @return boardWidth - Long value with the number of cells in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		return boardWidth;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows - Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return boardHeight;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns - Long value with the number of column-elements in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return columns;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code public boolean hasPosition(int x, int y); }</pre>
+	 * @param x - horizontal coordinate
+	 * @param y - vertical coordinate
+	 * @return true
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return true;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the board in a String format.</p>
+	 * @return toString
+	 * </blockquote>
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+
+		for(int j = 0; j < boardHeight; j++) {
+			buffer.append("[Row:" + j + "]    ");
+			for(int i = 0; i < boardWidth; i++) {
+				buffer.append(getCellState(i, j) == 1 ? "[x]" : "[ ]");
+			}
+			buffer.append("\n");
+		}
+
+		return buffer.toString();
+	}
+
+
+	private ByteBuffer chunk(int row) throws IllegalStateException {
+		ByteBuffer[] current = chunks;
+
+		if(current == null) {
+			throw new IllegalStateException("The board has been released.");
+		}
+
+		return current[row / rowsPrChunk];
+	}
+
+	private int offset(int column, int row) {
+		return ((row % rowsPrChunk) * columns + column) << 3;
+	}
+
+	private void checkReleased() throws IllegalStateException {
+		if(chunks == null) {
+			throw new IllegalStateException("The board has been released.");
+		}
+	}
+
+	// Frees the memory of a direct or mapped buffer at once, instead of when the buffer is garbage collected.
+	// Java 9 and later has Unsafe.invokeCleaner, Java 8 has a cleaner on the buffer. If neither can be used,
+	// the memory is freed by the garbage collector.
+	static void free(ByteBuffer buffer) {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			return;
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			// Not Java 9 or later.
+		}
+
+		try {
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+
+			if(cleaner != null) {
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			// Left to the garbage collector.
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A copy of the living cells of a board, which is compared with a later generation to see if the cells are
+ * the same. Only the elements inside the bounding box are copied, relative to a fixed cell like the cell
+ * (0, 0) of the board when it was created, so the snapshot can be compared with a board which has grown or
+ * been trimmed since.
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardSnapshot {
+
+	// The bounding box relative to the origin, and the elements in it row by row.
+	private final int box[];
+	private final long population;
+	private final long elements[][];
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardSnapshot</i></b>
+	 * <pre>{@code public BoardSnapshot(Board board, int[] box, long population, int originX, int originY)}</pre>
+	 * @param board - The board to copy.
+	 * @param box - The bounding box of the living cells on the board, or null if there are none.
+	 * @param population - The number of living cells.
+	 * @param originX - The horizontal position on the board of the fixed cell, a multiple of 64.
+	 * @param originY - The vertical position on the board of the fixed cell.
+	 * @throws NullPointerException - If the board is null.
+	 * </blockquote>
+	 */
+	public BoardSnapshot(Board board, int[] box, long population, int originX, int originY)
+			throws NullPointerException {
+		if(board == null) {
+			throw new NullPointerException("board can not be null.");
+		}
+
+		this.population = population;
+
+		if(box == null) {
+			this.box = null;
+			this.elements = new long[0][];
+			return;
+		}
+
+		this.box = new int[] { box[0] - originX, box[1] - originY, box[2] - originX, box[3] - originY };
+		this.elements = new long[box[3] - box[1] + 1][(box[2] >> 6) - (box[0] >> 6) + 1];
+
+		for(int j = 0; j < elements.length; j++) {
+			for(int i = 0; i < elements[j].length; i++) {
+				elements[j][i] = board.getElement((box[0] >> 6) + i, box[1] + j);
+			}
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>matches</i></b>
+	 * <pre>{@code public boolean matches(Board board, int[] box, long population, int originX, int originY)}</pre>
+	 * <p>Compares the snapshot with the cells of a board, element by element. The boxes and the
+	 * populations are compared first, so most boards which are different are found without reading them.</p>
+	 * @param board - The board to compare with.
+	 * @param box - The bounding box of the living cells on the board, or null if there are none.
+	 * @param population - The number of living cells.
+	 * @param originX - The horizontal position on the board of the fixed cell, a multiple of 64.
+	 * @param originY - The vertical position on the board of the fixed cell.
+	 * @return same - True if the board has the same living cells as the snapshot.
+	 * </blockquote>
+	 */
+	public boolean matches(Board board, int[] box, long population, int originX, int originY) {
+		if(population != this.population || (box == null) != (this.box == null)) {
+			return false;
+		}
+
+		if(box == null) {
+			return true;
+		}
+
+		int moved[] = { box[0] - originX, box[1] - originY, box[2] - originX, box[3] - originY };
+
+		if(!Arrays.equals(moved, this.box)) {
+			return false;
+		}
+
+		for(int j = 0; j < elements.length; j++) {
+			for(int i = 0; i < elements[j].length; i++) {
+				if(board.getElement((box[0] >> 6) + i, box[1] + j) != elements[j][i]) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+}
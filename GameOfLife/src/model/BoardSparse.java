@@ -0,0 +1,365 @@
+package model;
+
+/**
+ * Unbounded board for a few living cells spread over a huge area, where every living cell is stored as its
+ * packed coordinates in a {@link LongHashSet}. Nothing is stored for the empty space between the cells, so
+ * a handful of spaceships billions of cells apart uses as little memory as if they were close together.
+ * It extends {@link Board} and implements {@link GenerationEngine}.
+ *
+ * <p>A generation counts the living neighbours of every cell next to a living cell in a
+ * {@link LongCountMap}, and the next generation is the living cells which survive by their counts and the
+ * counted cells which are born. The time of a generation depends on the number of living cells only.</p>
+ *
+ * <p>The coordinates are the whole range of {@code int}, and the universe wraps around at the ends of the
+ * range. A rule where cells are born with 0 neighbours would fill the universe, so such rules are stepped
+ * as if the empty cells away from the living cells stays dead.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardSparse extends Board implements GenerationEngine {
+
+	private LongHashSet cells = new LongHashSet();
+	private LongHashSet nextCells = new LongHashSet();
+	private LongCountMap counts = new LongCountMap();
+
+	private GameRules gr = GameRules.getInstance();
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardSparse</i></b>
+	 * <pre>{@code public BoardSparse()}</pre>
+	 * <p>Creates a new, empty board.</p>
+	 * </blockquote>
+	 */
+	public BoardSparse() {
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation()}</pre>
+	 * @return population - the number of living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public long getPopulation() {
+		return cells.size();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()}</pre>
+	 * <p>Returns the smallest rectangle containing all the living cells, as the array
+	 * {minX, minY, maxX, maxY}. The rectangle can be very large for cells far apart.</p>
+	 * @return boundingBox - the bounding box, or null if there are no living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public int[] getBoundingBox() {
+		if(cells.size() == 0) {
+			return null;
+		}
+
+		int[] box = { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE };
+
+		for(int slot = cells.nextSlot(0); slot >= 0; slot = cells.nextSlot(slot + 1)) {
+			long key = cells.keyAt(slot);
+
+			box[0] = Math.min(box[0], x(key));
+			box[1] = Math.min(box[1], y(key));
+			box[2] = Math.max(box[2], x(key));
+			box[3] = Math.max(box[3], y(key));
+		}
+
+		return box;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getCells</i></b>
+	 * <pre>{@code public int[][] getCells()}</pre>
+	 * <p>Returns the living cells, which is faster than searching the bounding box for them when the cells
+	 * are far apart.</p>
+	 * @return cells - The positions {x, y} of the living cells, in no particular order.
+	 * </blockquote>
+	 */
+	public int[][] getCells() {
+		int[][] list = new int[cells.size()][];
+		int index = 0;
+
+		for(int slot = cells.nextSlot(0); slot >= 0; slot = cells.nextSlot(slot + 1)) {
+			long key = cells.keyAt(slot);
+			list[index++] = new int[] { x(key), y(key) };
+		}
+
+		return list;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		if(cellState) {
+			cells.add(key(x, y));
+		} else {
+			cells.remove(key(x, y));
+		}
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		return cells.contains(key(x, y)) ? 1 : 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int columnx , int row)}</pre>
+	 * <p> Gets the 64 cells of the given element, where the element column 0 starts at x = 0.</p>
+	 * @param column - The position of the cell on the column.
+	 * @param row - The position of  the cell on which row.
+	 * @return returns the element at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) {
+		long data = 0;
+
+		if(cells.size() == 0) {
+			return data;
+		}
+
+		int x = column << 6;
+
+		for(int i = 0; i < Long.SIZE; i++) {
+			data |= getCellState(x + i, row) << i;
+		}
+
+		return data;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the 64 cells of the given element, where the element column 0 starts at x = 0.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row.
+	 * @param data - The new cells of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		int x = column << 6;
+
+		for(int i = 0; i < Long.SIZE; i++) {
+			setCellState(x + i, row, ((data >>> i) & 1) == 1);
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board, all the cells are removed. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void clearBoard() {
+		cells.clear();
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> The board has no size of its own, so this clears the board. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		clearBoard();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * <p>Gets the height of the living cells, counted from y = 0.</p>
+	 * @return boardHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		int[] box = getBoundingBox();
+
+		return (box == null) ? 0 : Math.max(box[3] + 1L, 0);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * <p>Gets the width of the living cells, counted from x = 0.</p>
+	 * @return Long value with the number of cell-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		int[] box = getBoundingBox();
+
+		return (box == null) ? 0 : Math.max(box[2] + 1L, 0);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows -Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return getBoardHeight();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns- Long value with the number of column-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return (getBoardWidth() + 63) >> 6;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code public boolean hasPosition(int x, int y); }</pre>
+	 * <p>The universe is unbounded, so every position is accepted.</p>
+	 * @param x - horizontal coordinate
+	 * @param y - vertical coordinate
+	 * @return true
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return true;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the living cells in a String format, one cell on every line.</p>
+	 * @return toString
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+
+		for(int[] cell : getCells()) {
+			buffer.append("[" + cell[0] + ", " + cell[1] + "]\n");
+		}
+
+		return buffer.toString();
+	}
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>step</i></b>
+	 * <pre>{@code public void step()}</pre>
+	 * <p>Counts the neighbours of the cells next to the living cells, and keeps the cells the rule keeps alive.</p>
+	 * </blockquote>
+	 */
+	@Override
+	public void step() {
+		int birthMask = gr.getBirthMask();
+		int surviveMask = gr.getSurviveMask();
+
+		counts.clear();
+
+		for(int slot = cells.nextSlot(0); slot >= 0; slot = cells.nextSlot(slot + 1)) {
+			long key = cells.keyAt(slot);
+			int x = x(key);
+			int y = y(key);
+
+			for(int j = -1; j <= 1; j++) {
+				for(int i = -1; i <= 1; i++) {
+					if(i != 0 || j != 0) {
+						counts.increment(key(x + i, y + j));
+					}
+				}
+			}
+		}
+
+		nextCells.clear();
+
+		// A living cell with no living neighbours is not counted, so it only survives with a rule like S0.
+		for(int slot = cells.nextSlot(0); slot >= 0; slot = cells.nextSlot(slot + 1)) {
+			long key = cells.keyAt(slot);
+
+			if(((surviveMask >> counts.get(key)) & 1) == 1) {
+				nextCells.add(key);
+			}
+		}
+
+		for(int slot = counts.nextSlot(0); slot >= 0; slot = counts.nextSlot(slot + 1)) {
+			long key = counts.keyAt(slot);
+
+			if(((birthMask >> counts.countAt(slot)) & 1) == 1 && !cells.contains(key)) {
+				nextCells.add(key);
+			}
+		}
+
+		LongHashSet swap = cells;
+		cells = nextCells;
+		nextCells = swap;
+	}
+
+	private static long key(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	private static int x(long key) {
+		return (int) (key >> 32);
+	}
+
+	private static int y(long key) {
+		return (int) key;
+	}
+}
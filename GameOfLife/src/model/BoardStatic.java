@@ -181,6 +181,24 @@ public class BoardStatic extends Board {
 		return data;
 	}
 
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the element on the given position, positions outside the board are ignored.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row. 
+	 * @param data - The new value of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		if(row > -1 && row < board.length &&
+			column > -1 && column < board[0].length) {
+			board[row][column] = data;
+		}
+	}
+
 	/**
 	 *<blockquote>
 	 * <b><i>resetSize</i></b>
@@ -273,4 +291,18 @@ public class BoardStatic extends Board {
 	    this.board=board;
 	    
 	}
+	
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getBoard</i></b>
+	 * <pre>{@code public long[][] getBoard(); }</pre>
+	 * <p>Returns the internal array of the board, one row of elements for every row of cells. The array is
+	 * not copied, so the stepping kernels can read and write it in place.</p>
+	 * @return board - the internal array.
+	 * </blockquote>
+	 */
+	public long[][] getBoard() {
+		return board;
+	}
 }
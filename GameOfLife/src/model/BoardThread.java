@@ -5,14 +5,23 @@ public class BoardThread implements Runnable {
 	private int rowStart;
 	private int rowEnd;
 	
-	private Board curGen, newGen, oldGen;
-	private Board curAct, newAct, oldAct;
+	private Board curGen, newGen;
+	private Board curAct, newAct;
 	
 	private GameRules gr = GameRules.getInstance();
 	
+	private GenerationKernel kernel;
+	
+	private GenerationStats stats = new GenerationStats();
+	
 	
 	
 	public BoardThread(Board[] gameBoard) throws NullPointerException, IllegalArgumentException {
+		setBoards(gameBoard);
+	}
+	
+	
+	public void setBoards(Board[] gameBoard) throws NullPointerException {
 		if(gameBoard == null) {
 			throw new NullPointerException("gameBoard can not be nul.");
 		}
@@ -30,104 +39,88 @@ public class BoardThread implements Runnable {
 	}
 	
 	
+	public void setKernel(GenerationKernel kernel) {
+		this.kernel = kernel;
+	}
+	
+	
+	public GenerationStats getStats() {
+		return stats;
+	}
+	
+	
 	public void nextGenCell(int x, int y) {
 		boolean cellStateNew;
 		boolean cellStateOld;
 		int neighbours;
 		
+		// Cells outside a dynamic board are dead, and the board is expanded before they can be born.
+		if(!curGen.hasPosition(x, y)) {
+			return;
+		}
+		
+		// Only the rows of this job is written, the other rows can be written by other threads.
+		if(y < rowStart || y >= rowEnd) {
+			return;
+		}
+		
 		cellStateOld = (curGen.getCellState(x, y) == 1);
 		neighbours = (int)curGen.countNeighbours(x, y);
 		cellStateNew = gr.checkRules(cellStateOld, neighbours);
 			
 		newGen.setCellState(x, y, cellStateNew);
 		newAct.setCellState(x, y, (cellStateOld != cellStateNew));
+		stats.addCell(x, y, cellStateOld, cellStateNew);
 	}
 	
 	
 	@Override
 	public void run() {
-		long data;
+		stats.reset();
 		
-		for(int j = rowStart; j < rowEnd; j++) {
- 			for(int i = 0; i < curAct.getNumColumns(); i++) {
- 				data = curAct.getElement(i, j);
- 				if(data != 0) {
- 					for(int k = 0; k < 64; k++) {
- 						if(curAct.getBit(data, k) == 1) {
- 							int x = (i<<6) + k;
- 							
- 							nextGenCell(x - 1,j - 1);
- 							nextGenCell(x    ,j - 1);
- 							nextGenCell(x + 1,j - 1);
- 							
- 							nextGenCell(x - 1,j);
- 							nextGenCell(x    ,j);
- 							nextGenCell(x + 1,j);
- 							
- 							nextGenCell(x - 1,j + 1);
- 							nextGenCell(x    ,j + 1);
- 							nextGenCell(x + 1,j + 1);
- 						}
- 					}
- 				}
- 			}
+		if(kernel != null) {
+			kernel.nextGeneration(curGen, newGen, curAct, newAct, rowStart, rowEnd, stats);
+			return;
 		}
 		
-		oldGen = curGen;
-		curGen = newGen;
-		newGen = oldGen; 
-		
-		oldAct = curAct;
-		curAct = newAct;
-		newAct = oldAct;
-	}
-	
-	
-	public boolean checkMisplaceTop() {
-		boolean ret = false;
-		int i = 0;
+		int columns = (int) curAct.getNumColumns();
+		long lastMask = KernelSwar.widthMask(curGen.getBoardWidth());
 		
-		while(ret == false && i < curGen.getNumColumns()) {
-			ret = (curGen.getElement(i, 0) != 0);
-			i++;
+		// A cell is computed if it or one of its neighbours changed, every cell is only computed once so
+		// the born and dead cells are only counted once.
+		for(int j = rowStart; j < rowEnd; j++) {
+			long actW = 0;
+			long actC = changedAround(0, j);
+			
+			for(int i = 0; i < columns; i++) {
+				long actE = changedAround(i + 1, j);
+				long data = actC | (actC << 1) | (actC >>> 1) | (actW >>> 63) | (actE << 63);
+				
+				if(i == columns - 1) {
+					data &= lastMask;
+				}
+				
+				while(data != 0) {
+					nextGenCell((i << 6) + Long.numberOfTrailingZeros(data), j);
+					data &= data - 1;
+				}
+				
+				actW = actC;
+				actC = actE;
+			}
 		}
-
-		return ret;
-	}
-	
-	public boolean checkMisplaceBot() {
-		boolean ret = false;
-		int i = 0;
 		
-		while(ret == false && i < curGen.getNumColumns()) {
-			ret = (curGen.getElement(i, (int) (curGen.getBoardHeight()-1)) != 0);
-			i++;
+		// Only the computed cells are written, so the bounding box is found from the rows afterwards.
+		for(int j = rowStart; j < rowEnd; j++) {
+			for(int i = 0; i < columns; i++) {
+				stats.include(i, j, newGen.getElement(i, j));
+			}
 		}
-
-		return ret;
 	}
 	
-	public boolean checkMisplaceLeft() {
-		boolean ret = false;
-		int i = 0;
-		
-		while(ret == false && i < curGen.getNumRows()) {
-			ret = ((curGen.getElement(0, i) & 1L) != 0);
-			i++;
-		}
-
-		return ret;
-	}
-
-	public boolean checkMisplaceRight() {
-		boolean ret = false;
-		int i = 0;
-		
-		while(ret == false && i < curGen.getNumRows()) {
-			ret = (((curGen.getElement((int) (curGen.getBoardWidth()-1), i)>>64) & 1L) != 0);
-			i++;
-		}
-
-		return ret;
+	
+	// The cells that changed in the element, or in the element above or below it.
+	private long changedAround(int column, int row) {
+		return curAct.getElement(column, row - 1) | curAct.getElement(column, row) | curAct.getElement(column, row + 1);
 	}
 }
@@ -0,0 +1,728 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sparse, unbounded board where the universe is split into tiles of 64x64 cells. A tile is stored as one
+ * {@code long} for every row, and the tiles are looked up by their packed coordinates in a {@link LongHashMap}.
+ * Tiles are only created where there are living cells, or where living cells may be born in the next
+ * generation, and empty tiles are removed after every generation. The memory and the time of a generation
+ * depends on the living area, not the size of the bounding box. It extends {@link Board} and implements
+ * {@link GenerationEngine}.
+ *
+ * <p>The tiles are stepped 64 cells at a time by {@link KernelSwar#nextElement}, where the cells at the
+ * edges are read from the neighbour tiles. Negative coordinates are accepted.</p>
+ *
+ * <p>Tiles which are still lifes or period-2 oscillators are put to sleep. A tile is computed again when
+ * its own cells or the edge of a neighbour tile differs from two generations earlier, or when its cells are
+ * set. A sleeping tile only swaps its current and previous generation.</p>
+ *
+ * <p>With a {@link RegionScheduler}, the awake tiles are computed in parallel, split by the time every tile
+ * took in the previous generation.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardTiled extends Board implements GenerationEngine {
+
+	/**
+	 * The number of cells along each side of a tile.
+	 */
+	public static final int TILE_SIZE = 64;
+
+	private static final int TILE_SHIFT = 6;
+	private static final int TILE_MASK = TILE_SIZE - 1;
+	private static final long[] EMPTY_ROWS = new long[TILE_SIZE];
+
+	// The parts of a tile which differ from two generations earlier.
+	private static final int CHANGED_ANY = 1;
+	private static final int CHANGED_N = 2;
+	private static final int CHANGED_S = 4;
+	private static final int CHANGED_W = 8;
+	private static final int CHANGED_E = 16;
+	private static final int CHANGED_NW = 32;
+	private static final int CHANGED_NE = 64;
+	private static final int CHANGED_SW = 128;
+	private static final int CHANGED_SE = 256;
+
+	/*
+	 * A tile of 64x64 cells, where bit x of rows[y] is the cell (x, y) of the tile. The previous generation
+	 * is kept in prev, and the next generation is written to next. The buffers are rotated when all the
+	 * tiles are computed.
+	 */
+	private static final class Tile {
+		final int tileX, tileY;
+		long[] rows = new long[TILE_SIZE];
+		long[] prev = new long[TILE_SIZE];
+		long[] next = new long[TILE_SIZE];
+		int population;
+		int prevPopulation;
+		int index;
+
+		// Changed is the CHANGED_ flags of the last generation. A tile with a wake count is kept awake
+		// for that many more generations.
+		int changed;
+		int wake;
+		boolean asleep;
+		long borderStep;
+
+		// The time it took to compute the tile in the last generation it was awake.
+		long cost;
+
+		Tile(int tileX, int tileY) {
+			this.tileX = tileX;
+			this.tileY = tileY;
+		}
+	}
+
+	private LongHashMap<Tile> tileMap = new LongHashMap<Tile>();
+	private List<Tile> tiles = new ArrayList<Tile>();
+	private long population;
+	private long stepCount;
+
+	private int birthMask;
+	private int surviveMask;
+
+	private RegionScheduler scheduler;
+	private Tile[] awakeTiles = new Tile[0];
+	private long[] awakeCost = new long[0];
+
+	private GameRules gr = GameRules.getInstance();
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardTiled</i></b>
+	 * <pre>{@code public BoardTiled()}</pre>
+	 * <p>Creates a new, empty tiled board.</p>
+	 * </blockquote>
+	 */
+	public BoardTiled() {
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getTileCount</i></b>
+	 * <pre>{@code public int getTileCount()}</pre>
+	 * @return tiles - The number of tiles in memory.
+	 * </blockquote>
+	 */
+	public int getTileCount() {
+		return tiles.size();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>setScheduler</i></b>
+	 * <pre>{@code public void setScheduler(RegionScheduler scheduler)}</pre>
+	 * <p>Sets the scheduler computing the awake tiles in parallel, or null to compute them on the calling
+	 * thread.</p>
+	 * @param scheduler - The scheduler to use, or null.
+	 * </blockquote>
+	 */
+	public void setScheduler(RegionScheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getSleepingTileCount</i></b>
+	 * <pre>{@code public int getSleepingTileCount()}</pre>
+	 * @return tiles - The number of tiles which are not computed in the next generation.
+	 * </blockquote>
+	 */
+	public int getSleepingTileCount() {
+		int count = 0;
+
+		for(Tile tile : tiles) {
+			if(tile.asleep) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation()}</pre>
+	 * @return population - the number of living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public long getPopulation() {
+		return population;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()}</pre>
+	 * <p>Returns the smallest rectangle containing all the living cells, as the array
+	 * {minX, minY, maxX, maxY}.</p>
+	 * @return boundingBox - the bounding box, or null if there are no living cells.
+	 * </blockquote>
+	 */
+	@Override
+	public int[] getBoundingBox() {
+		if(population == 0) {
+			return null;
+		}
+
+		int[] box = { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE };
+
+		for(Tile tile : tiles) {
+			if(tile.population == 0) {
+				continue;
+			}
+
+			int x = tile.tileX << TILE_SHIFT;
+			int y = tile.tileY << TILE_SHIFT;
+			long columns = 0;
+
+			for(int row = 0; row < TILE_SIZE; row++) {
+				if(tile.rows[row] != 0) {
+					box[1] = Math.min(box[1], y + row);
+					box[3] = Math.max(box[3], y + row);
+					columns |= tile.rows[row];
+				}
+			}
+
+			box[0] = Math.min(box[0], x + Long.numberOfTrailingZeros(columns));
+			box[2] = Math.max(box[2], x + TILE_MASK - Long.numberOfLeadingZeros(columns));
+		}
+
+		return box;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>setCellState</i></b>
+	 * <pre>{@code public void setCellState(int x , int y, boolean cellState)}</pre>
+	 * <p> Sets the state of the cell, where its either alive or dead on the given position. A tile is
+	 * created for the cell if needed, and removed if the tile becomes empty.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @param cellState -  True if the cell is alive, else its dead.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public void setCellState(int x, int y, boolean cellState) {
+		Tile tile = cellState ? getOrCreateTile(x >> TILE_SHIFT, y >> TILE_SHIFT)
+							  : getTile(x >> TILE_SHIFT, y >> TILE_SHIFT);
+
+		if(tile != null) {
+			setRow(tile, y & TILE_MASK, setBit(tile.rows[y & TILE_MASK], x & TILE_MASK, cellState));
+		}
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>getCellState</i></b>
+	 * <pre>{@code public long getCellState(int x , int y)}</pre>
+	 * <p> Gets the state of the cell on the given position.</p>
+	 * @param x - The position of the cell, horizontal coordinate of the cell.
+	 * @param y - The position of  the cell, vertical coordinate of the cell.
+	 * @return the cell state at the given position.
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public long getCellState(int x, int y) {
+		Tile tile = getTile(x >> TILE_SHIFT, y >> TILE_SHIFT);
+
+		return (tile == null) ? 0 : getBit(tile.rows[y & TILE_MASK], x & TILE_MASK);
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>getElement</i></b>
+	 * <pre>{@code public long getElement(int columnx , int row)}</pre>
+	 * <p> Gets the 64 cells of the given element, which is one row of a tile.</p>
+	 * @param column - The position of the cell on the column.
+	 * @param row - The position of  the cell on which row.
+	 * @return returns the element at the given position.
+	 * </blockquote>
+	 */
+	@Override
+	public long getElement(int column, int row) {
+		Tile tile = getTile(column, row >> TILE_SHIFT);
+
+		return (tile == null) ? 0 : tile.rows[row & TILE_MASK];
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>setElement</i></b>
+	 * <pre>{@code public void setElement(int column, int row, long data)}</pre>
+	 * <p> Sets the 64 cells of the given element, which is one row of a tile.</p>
+	 * @param column - The position of the element on the column.
+	 * @param row - The position of  the element on which row.
+	 * @param data - The new cells of the element.
+	 * </blockquote>
+	 */
+	@Override
+	public void setElement(int column, int row, long data) {
+		Tile tile = (data != 0) ? getOrCreateTile(column, row >> TILE_SHIFT) : getTile(column, row >> TILE_SHIFT);
+
+		if(tile != null) {
+			setRow(tile, row & TILE_MASK, data);
+		}
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>clearBoard</i></b>
+	 * <pre>{@code public void clearBoard()}</pre>
+	 * <p> Clears the board, all the tiles are removed. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void clearBoard() {
+		tileMap.clear();
+		tiles.clear();
+		population = 0;
+	}
+
+	/**
+	 *<blockquote>
+	 * <b><i>resetSize</i></b>
+	 * <pre>{@code public void resetSize()}</pre>
+	 * <p> The board has no size of its own, so this clears the board. </p>
+	 * </blockquote>
+	 */
+	@Override
+	public void resetSize() {
+		clearBoard();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardHeight</i></b>
+	 * <pre>{@code public long getBoardHeight()}</pre>
+	 * <p>Gets the height of the tiles, counted from y = 0.</p>
+	 * @return boardHeight - Long value with the number of cell-rows.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardHeight() {
+		int maxTileY = 0;
+
+		for(Tile tile : tiles) {
+			maxTileY = Math.max(maxTileY, tile.tileY);
+		}
+
+		return (long) (maxTileY + 1) << TILE_SHIFT;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardWidth</i></b>
+	 * <pre>{@code public long getBoardWidth()}</pre>
+	 * <p>Gets the width of the tiles, counted from x = 0.</p>
+	 * @return Long value with the number of cell-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getBoardWidth() {
+		int maxTileX = 0;
+
+		for(Tile tile : tiles) {
+			maxTileX = Math.max(maxTileX, tile.tileX);
+		}
+
+		return (long) (maxTileX + 1) << TILE_SHIFT;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumRows</i></b>
+	 * <pre>{@code public long getNumRows()}</pre>
+	 * @return rows -Long value with the number of row-elements.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumRows() {
+		return getBoardHeight();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getNumColumns</i></b>
+	 * <pre>{@code public long getNumColumns()}</pre>
+	 * @return columns- Long value with the number of column-elements possible in one row.
+	 * </blockquote>
+	 */
+	@Override
+	public long getNumColumns() {
+		return getBoardWidth() >> TILE_SHIFT;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>hasPosition</i></b>
+	 * <pre>{@code public boolean hasPosition(int x, int y); }</pre>
+	 * <p>The universe is unbounded, so every position is accepted.</p>
+	 * @param x - horizontal coordinate
+	 * @param y - vertical coordinate
+	 * @return true
+	 * </blockquote>
+	 */
+	@Override
+	public boolean hasPosition(int x, int y) {
+		return true;
+	}
+
+	/**
+	 *
+	 *<blockquote>
+	 * <b><i>toString</i></b>
+	 * <pre>{@code public {@link String} toString()}</pre>
+	 * <p> Represents the living part of the board in a String format.</p>
+	 * @return toString
+	 * </blockquote>
+	 *
+	 */
+	@Override
+	public String toString() {
+		StringBuffer buffer = new StringBuffer();
+		int[] box = getBoundingBox();
+
+		if(box != null) {
+			for(int j = box[1]; j <= box[3]; j++) {
+				buffer.append("[Row:" + j + "]    ");
+				for(int i = box[0]; i <= box[2]; i++) {
+					buffer.append(getCellState(i, j) == 1 ? "[x]" : "[ ]");
+				}
+				buffer.append("\n");
+			}
+		}
+
+		return buffer.toString();
+	}
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>step</i></b>
+	 * <pre>{@code public void step()}</pre>
+	 * <p>Computes one generation of all the tiles which are awake.</p>
+	 * </blockquote>
+	 */
+	@Override
+	public void step() {
+		if(birthMask != gr.getBirthMask() || surviveMask != gr.getSurviveMask()) {
+			birthMask = gr.getBirthMask();
+			surviveMask = gr.getSurviveMask();
+
+			// The earlier generations were computed by other rules, so they can't be repeated.
+			for(Tile tile : tiles) {
+				wakeTile(tile);
+			}
+		}
+
+		stepCount++;
+		addBorderTiles();
+
+		if(scheduler != null) {
+			stepAwakeTiles();
+		} else {
+			for(Tile tile : tiles) {
+				if(!tile.asleep) {
+					stepTile(tile, birthMask, surviveMask);
+				}
+			}
+		}
+
+		population = 0;
+
+		for(Tile tile : tiles) {
+			if(tile.asleep) {
+				// The next generation is the same as the previous.
+				long[] swap = tile.rows;
+				tile.rows = tile.prev;
+				tile.prev = swap;
+
+				int swapPopulation = tile.population;
+				tile.population = tile.prevPopulation;
+				tile.prevPopulation = swapPopulation;
+
+				tile.changed = 0;
+			} else {
+				tile.changed = changedFlags(tile.next, tile.prev);
+
+				long[] swap = tile.prev;
+				tile.prev = tile.rows;
+				tile.rows = tile.next;
+				tile.next = swap;
+
+				tile.prevPopulation = tile.population;
+				tile.population = 0;
+				for(int row = 0; row < TILE_SIZE; row++) {
+					tile.population += Long.bitCount(tile.rows[row]);
+				}
+			}
+
+			population += tile.population;
+		}
+
+		updateSleep();
+
+		// An empty tile is removed if it was also empty in the previous generation, so the tiles around it
+		// sees the same empty edge now as two generations earlier.
+		for(int i = tiles.size() - 1; i >= 0; i--) {
+			Tile tile = tiles.get(i);
+
+			if(tile.population == 0 && tile.prevPopulation == 0 && tile.wake == 0 && tile.borderStep != stepCount) {
+				removeTile(i);
+			}
+		}
+	}
+
+	// Computes the awake tiles on the scheduler. The tiles only write their own next rows, and the tile map
+	// is not changed while they are computed.
+	private void stepAwakeTiles() {
+		int count = 0;
+
+		if(awakeTiles.length < tiles.size()) {
+			awakeTiles = new Tile[tiles.size()];
+			awakeCost = new long[tiles.size()];
+		}
+
+		for(Tile tile : tiles) {
+			if(!tile.asleep) {
+				awakeTiles[count] = tile;
+				awakeCost[count] = tile.cost;
+				count++;
+			}
+		}
+
+		final int birth = birthMask;
+		final int survive = surviveMask;
+
+		scheduler.run(count, awakeCost, i -> stepTile(awakeTiles[i], birth, survive));
+
+		for(int i = 0; i < count; i++) {
+			awakeTiles[i].cost = awakeCost[i];
+			awakeTiles[i] = null;
+		}
+	}
+
+	// Puts the tiles that didn't change since two generations earlier to sleep, unless an edge of a
+	// neighbour tile changed.
+	private void updateSleep() {
+		for(Tile tile : tiles) {
+			if(tile.wake > 0) {
+				tile.wake--;
+				tile.asleep = false;
+			} else {
+				tile.asleep = (tile.changed == 0);
+			}
+		}
+
+		for(Tile tile : tiles) {
+			int changed = tile.changed;
+
+			if(changed == 0) {
+				continue;
+			}
+
+			int x = tile.tileX, y = tile.tileY;
+
+			if((changed & CHANGED_N) != 0) setAwake(getTile(x, y - 1));
+			if((changed & CHANGED_S) != 0) setAwake(getTile(x, y + 1));
+			if((changed & CHANGED_W) != 0) setAwake(getTile(x - 1, y));
+			if((changed & CHANGED_E) != 0) setAwake(getTile(x + 1, y));
+			if((changed & CHANGED_NW) != 0) setAwake(getTile(x - 1, y - 1));
+			if((changed & CHANGED_NE) != 0) setAwake(getTile(x + 1, y - 1));
+			if((changed & CHANGED_SW) != 0) setAwake(getTile(x - 1, y + 1));
+			if((changed & CHANGED_SE) != 0) setAwake(getTile(x + 1, y + 1));
+		}
+	}
+
+	// Returns the CHANGED_ flags of the rows compared to the rows two generations earlier.
+	private static int changedFlags(long[] rows, long[] earlier) {
+		long columns = 0;
+
+		for(int row = 0; row < TILE_SIZE; row++) {
+			columns |= rows[row] ^ earlier[row];
+		}
+
+		if(columns == 0) {
+			return 0;
+		}
+
+		long top = rows[0] ^ earlier[0];
+		long bottom = rows[TILE_MASK] ^ earlier[TILE_MASK];
+		int changed = CHANGED_ANY;
+
+		if(top != 0) changed |= CHANGED_N;
+		if(bottom != 0) changed |= CHANGED_S;
+		if((columns & 1L) != 0) changed |= CHANGED_W;
+		if((columns >>> TILE_MASK) != 0) changed |= CHANGED_E;
+		if((top & 1L) != 0) changed |= CHANGED_NW;
+		if((top >>> TILE_MASK) != 0) changed |= CHANGED_NE;
+		if((bottom & 1L) != 0) changed |= CHANGED_SW;
+		if((bottom >>> TILE_MASK) != 0) changed |= CHANGED_SE;
+
+		return changed;
+	}
+
+	// Creates the empty neighbour tiles, which may get living cells from the edges of a tile. A sleeping
+	// tile repeats itself, so it can't give birth to cells in a tile that doesn't exist.
+	private void addBorderTiles() {
+		int count = tiles.size();
+
+		for(int i = 0; i < count; i++) {
+			Tile tile = tiles.get(i);
+
+			if(tile.asleep || tile.population == 0) {
+				continue;
+			}
+
+			long top = tile.rows[0];
+			long bottom = tile.rows[TILE_MASK];
+			long left = 0, right = 0;
+
+			for(int row = 0; row < TILE_SIZE; row++) {
+				left |= tile.rows[row] & 1L;
+				right |= tile.rows[row] >>> TILE_MASK;
+			}
+
+			int x = tile.tileX, y = tile.tileY;
+
+			if(top != 0) getBorderTile(x, y - 1);
+			if(bottom != 0) getBorderTile(x, y + 1);
+			if(left != 0) getBorderTile(x - 1, y);
+			if(right != 0) getBorderTile(x + 1, y);
+
+			if((top & 1L) != 0) getBorderTile(x - 1, y - 1);
+			if((top >>> TILE_MASK) != 0) getBorderTile(x + 1, y - 1);
+			if((bottom & 1L) != 0) getBorderTile(x - 1, y + 1);
+			if((bottom >>> TILE_MASK) != 0) getBorderTile(x + 1, y + 1);
+		}
+	}
+
+	// Marks the tile as needed by a neighbour, a new tile is awake.
+	private void getBorderTile(int tileX, int tileY) {
+		Tile tile = getOrCreateTile(tileX, tileY);
+
+		tile.borderStep = stepCount;
+	}
+
+	// Computes the next generation of a tile into its next rows.
+	private void stepTile(Tile tile, int birthMask, int surviveMask) {
+		int x = tile.tileX, y = tile.tileY;
+
+		long[] c = tile.rows;
+		long[] n = rowsOf(getTile(x, y - 1));
+		long[] s = rowsOf(getTile(x, y + 1));
+		long[] w = rowsOf(getTile(x - 1, y));
+		long[] e = rowsOf(getTile(x + 1, y));
+		long[] nw = rowsOf(getTile(x - 1, y - 1));
+		long[] ne = rowsOf(getTile(x + 1, y - 1));
+		long[] sw = rowsOf(getTile(x - 1, y + 1));
+		long[] se = rowsOf(getTile(x + 1, y + 1));
+
+		for(int row = 0; row < TILE_SIZE; row++) {
+			long upW, up, upE, downW, down, downE;
+
+			if(row == 0) {
+				upW = nw[TILE_MASK]; up = n[TILE_MASK]; upE = ne[TILE_MASK];
+			} else {
+				upW = w[row - 1]; up = c[row - 1]; upE = e[row - 1];
+			}
+
+			if(row == TILE_MASK) {
+				downW = sw[0]; down = s[0]; downE = se[0];
+			} else {
+				downW = w[row + 1]; down = c[row + 1]; downE = e[row + 1];
+			}
+
+			tile.next[row] = KernelSwar.nextElement(upW, up, upE, w[row], c[row], e[row],
+					downW, down, downE, birthMask, surviveMask);
+		}
+	}
+
+	private void setRow(Tile tile, int row, long data) {
+		int change = Long.bitCount(data) - Long.bitCount(tile.rows[row]);
+
+		// The tile and its neighbours no longer repeats the earlier generations.
+		wakeTile(tile);
+		for(int j = -1; j <= 1; j++) {
+			for(int i = -1; i <= 1; i++) {
+				if(i != 0 || j != 0) {
+					Tile neighbour = getTile(tile.tileX + i, tile.tileY + j);
+					if(neighbour != null) {
+						wakeTile(neighbour);
+					}
+				}
+			}
+		}
+
+		tile.rows[row] = data;
+		tile.population += change;
+		population += change;
+
+		if(tile.population == 0) {
+			removeTile(tile.index);
+		}
+	}
+
+	private Tile getTile(int tileX, int tileY) {
+		return tileMap.get(key(tileX, tileY));
+	}
+
+	private Tile getOrCreateTile(int tileX, int tileY) {
+		Tile tile = tileMap.get(key(tileX, tileY));
+
+		if(tile == null) {
+			tile = new Tile(tileX, tileY);
+			tile.index = tiles.size();
+			tileMap.put(key(tileX, tileY), tile);
+			tiles.add(tile);
+		}
+
+		return tile;
+	}
+
+	// Removes the tile at the index, the last tile is moved into its place.
+	private void removeTile(int index) {
+		Tile tile = tiles.get(index);
+		Tile last = tiles.remove(tiles.size() - 1);
+
+		if(index < tiles.size()) {
+			tiles.set(index, last);
+			last.index = index;
+		}
+
+		tileMap.remove(key(tile.tileX, tile.tileY));
+	}
+
+	// Keeps the tile awake for this and the next generation.
+	private static void wakeTile(Tile tile) {
+		tile.asleep = false;
+		tile.wake = 1;
+	}
+
+	private static void setAwake(Tile tile) {
+		if(tile != null) {
+			tile.asleep = false;
+		}
+	}
+
+	private static long[] rowsOf(Tile tile) {
+		return (tile == null) ? EMPTY_ROWS : tile.rows;
+	}
+
+	private static long key(int tileX, int tileY) {
+		return ((long) tileX << 32) | (tileY & 0xFFFFFFFFL);
+	}
+}
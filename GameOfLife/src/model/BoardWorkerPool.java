@@ -0,0 +1,160 @@
+package model;
+
+import java.util.concurrent.Phaser;
+
+/**
+ * A fixed pool of worker threads, which are started once and kept alive between the generations. Every
+ * call to {@link BoardWorkerPool#run(Runnable[])} releases the workers through a {@link Phaser}, where worker i
+ * runs job i, and returns when all the workers have reached the barrier at the end of the generation.
+ *
+ * <p>The phaser makes everything written before the jobs are released visible to the workers, and everything
+ * the workers wrote visible to the caller when the jobs are done. The jobs must not write to the same
+ * elements, see {@link BoardThread}.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class BoardWorkerPool {
+
+	private final Phaser phaser;
+	private final Thread[] workers;
+
+	private Runnable[] jobs;
+	private Throwable failure;
+	private boolean running = true;
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>BoardWorkerPool</i></b>
+	 * <pre>{@code public BoardWorkerPool(int workerCount)}</pre>
+	 * <p>Creates and starts the workers. The workers are daemon threads, so they don't keep the application
+	 * running.</p>
+	 * @param workerCount - The number of workers.
+	 * @throws IllegalArgumentException - If the worker count is less than 1.
+	 * </blockquote>
+	 */
+	public BoardWorkerPool(int workerCount) throws IllegalArgumentException {
+		if(workerCount < 1) {
+			throw new IllegalArgumentException("workerCount must be greater than 0.");
+		}
+
+		// The caller is a party too, so it can wait for the workers.
+		phaser = new Phaser(workerCount + 1);
+		workers = new Thread[workerCount];
+
+		for(int i = 0; i < workerCount; i++) {
+			final int index = i;
+
+			workers[i] = new Thread(() -> work(index), "BoardWorker-" + i);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getWorkerCount</i></b>
+	 * <pre>{@code public int getWorkerCount()}</pre>
+	 * @return workerCount - The number of workers.
+	 * </blockquote>
+	 */
+	public int getWorkerCount() {
+		return workers.length;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>run</i></b>
+	 * <pre>{@code public void run(Runnable[] jobs)}</pre>
+	 * <p>Runs the jobs in parallel, and waits until they are all done. Workers without a job only wait at
+	 * the barrier.</p>
+	 * @param jobs - The jobs to run, one for each worker at most.
+	 * @throws NullPointerException - If the jobs are null.
+	 * @throws IllegalArgumentException - If there are more jobs than workers.
+	 * @throws IllegalStateException - If the pool is shut down.
+	 * @throws RuntimeException - The exception thrown by a job, if any.
+	 * @throws Error - The error thrown by a job, if any.
+	 * </blockquote>
+	 */
+	public void run(Runnable[] jobs) throws NullPointerException, IllegalArgumentException, IllegalStateException {
+		if(jobs == null) {
+			throw new NullPointerException("jobs can not be null.");
+		}
+
+		if(jobs.length > workers.length) {
+			throw new IllegalArgumentException("There can not be more jobs than workers.");
+		}
+
+		if(!running) {
+			throw new IllegalStateException("The pool is shut down.");
+		}
+
+		this.jobs = jobs;
+		failure = null;
+
+		// Releases the workers, and waits for them to finish.
+		phaser.arriveAndAwaitAdvance();
+		phaser.arriveAndAwaitAdvance();
+
+		this.jobs = null;
+
+		if(failure instanceof Error) {
+			throw (Error) failure;
+		}
+
+		if(failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+
+		if(failure != null) {
+			throw new IllegalStateException("A job failed.", failure);
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>shutdown</i></b>
+	 * <pre>{@code public void shutdown()}</pre>
+	 * <p>Stops the workers, the pool can not be used afterwards.</p>
+	 * </blockquote>
+	 */
+	public void shutdown() {
+		if(!running) {
+			return;
+		}
+
+		running = false;
+		phaser.arriveAndDeregister();
+	}
+
+	private void work(int index) {
+		while(true) {
+			phaser.arriveAndAwaitAdvance();
+
+			if(!running) {
+				phaser.arriveAndDeregister();
+				return;
+			}
+
+			Runnable[] current = jobs;
+
+			try {
+				if(index < current.length && current[index] != null) {
+					current[index].run();
+				}
+			} catch(Throwable e) {
+				synchronized(this) {
+					if(failure == null) {
+						failure = e;
+					}
+				}
+			} finally {
+				// The caller waits for every worker, so a worker must arrive even if its job failed.
+				phaser.arriveAndAwaitAdvance();
+			}
+		}
+	}
+}
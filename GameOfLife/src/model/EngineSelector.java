@@ -0,0 +1,201 @@
+package model;
+
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import model.GameBoard.BoardType;
+
+/**
+ * Chooses the board type of a {@link GameBoard} from samples of the pattern, taken every
+ * {@link #SAMPLE_PERIOD} generations. A sample has the population, the bounding box and the part of the
+ * living cells which changed, and the time the generations since the last sample took to compute.
+ *
+ * <ul>
+ * <li>Cells far apart, like a few spaceships, are stored as a SPARSE board.</li>
+ * <li>A population which grows faster and faster, like a breeder, is stepped by HASHLIFE.</li>
+ * <li>A dense soup is stepped on a DYNAMIC bitboard.</li>
+ * <li>A pattern where few cells change, like ash, is stepped by a CHANGELIST.</li>
+ * <li>Everything else, like a gun, is stepped on a TILED board.</li>
+ * </ul>
+ *
+ * <p>A new type is only chosen when two samples in a row agree on it. The throughput after a switch is
+ * compared with the throughput before it, and a switch which made the board slower is undone, after which
+ * the board keeps its type for {@link #HOLD_SAMPLES} samples. Every switch is written to the log.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class EngineSelector {
+
+	/**
+	 * The number of generations between two samples.
+	 */
+	public static final int SAMPLE_PERIOD = 256;
+
+	/**
+	 * The number of samples the board keeps its type after a switch is undone.
+	 */
+	public static final int HOLD_SAMPLES = 8;
+
+	// A pattern with less living cells than this part of its bounding box, and not too many cells, is sparse.
+	private static final double SPARSE_DENSITY = 1.0 / 4096;
+	private static final long SPARSE_POPULATION = 100000;
+
+	// A pattern with more living cells than this part of its bounding box is dense.
+	private static final double DENSE_DENSITY = 1.0 / 8;
+
+	// A pattern where less than this part of the living cells change is mostly still.
+	private static final double STILL_FRACTION = 1.0 / 16;
+
+	// The growth in a sample must be this much more than the growth in the sample before, for the growth to
+	// be accelerating.
+	private static final double ACCELERATION = 1.5;
+
+	private PrintWriter log;
+
+	private long lastGeneration = -1;
+	private long lastPopulation;
+	private long lastGrowth;
+	private BoardType candidate;
+	private int holdSamples;
+
+	// The switch which is waiting for its throughput to be measured.
+	private BoardType switchedFrom;
+	private double throughputBefore;
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>setLog</i></b>
+	 * <pre>{@code public void setLog(PrintWriter log)}</pre>
+	 * <p>Sets where the switches are written, one line for every switch and one line with the throughput
+	 * after it.</p>
+	 * @param log - The log, or null to not write the switches.
+	 * </blockquote>
+	 */
+	public void setLog(PrintWriter log) {
+		this.log = log;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>reset</i></b>
+	 * <pre>{@code public void reset()}</pre>
+	 * <p>Forgets the samples, when the cells have been changed by something else than the rule.</p>
+	 * </blockquote>
+	 */
+	public void reset() {
+		lastGeneration = -1;
+		lastGrowth = 0;
+		candidate = null;
+		switchedFrom = null;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>sample</i></b>
+	 * <pre>{@code public BoardType sample(BoardType current, long generationNo, long population, int[] box,
+	 * double activeFraction, long nanos, boolean hashLife)}</pre>
+	 * <p>Takes a sample of the board, and chooses the type it should have.</p>
+	 * @param current - The type of the board.
+	 * @param generationNo - The generation of the board.
+	 * @param population - The number of living cells.
+	 * @param box - The bounding box {minX, minY, maxX, maxY} of the living cells, or null if there are none.
+	 * @param activeFraction - The part of the living cells which changed in the last generation, or a
+	 * negative number if the board doesn't know.
+	 * @param nanos - The time the generations since the last sample took to compute.
+	 * @param hashLife - False if HASHLIFE can not step the rule, when cells are born with 0 neighbours.
+	 * @return type - The type the board should be switched to, or null to keep the current type.
+	 * </blockquote>
+	 */
+	public BoardType sample(BoardType current, long generationNo, long population, int[] box,
+			double activeFraction, long nanos, boolean hashLife) {
+		long generations = generationNo - lastGeneration;
+		long growth = population - lastPopulation;
+		boolean first = lastGeneration < 0;
+		double throughput = (nanos > 0) ? generations * 1e9 / nanos : Double.POSITIVE_INFINITY;
+
+		lastGeneration = generationNo;
+		lastPopulation = population;
+
+		if(first) {
+			return null;
+		}
+
+		boolean accelerating = growth > 0 && lastGrowth > 0 && growth > lastGrowth * ACCELERATION;
+		lastGrowth = growth;
+
+		if(switchedFrom != null) {
+			BoardType from = switchedFrom;
+			switchedFrom = null;
+
+			write(String.format(Locale.ROOT, "%d %s after switch from %s: %.0f gen/s, before %.0f gen/s",
+					generationNo, current, from, throughput, throughputBefore));
+
+			if(throughput < throughputBefore) {
+				holdSamples = HOLD_SAMPLES;
+				candidate = null;
+				write(String.format(Locale.ROOT, "%d %s -> %s: undone, slower than before", generationNo,
+						current, from));
+				return from;
+			}
+		}
+
+		if(holdSamples > 0) {
+			holdSamples--;
+			return null;
+		}
+
+		if(box == null) {
+			candidate = null;
+			return null;
+		}
+
+		double area = ((double) box[2] - box[0] + 1) * ((double) box[3] - box[1] + 1);
+		double density = population / area;
+		BoardType type = choose(density, activeFraction, population, accelerating && hashLife);
+
+		if(type == current || type != candidate) {
+			candidate = (type == current) ? null : type;
+			return null;
+		}
+
+		candidate = null;
+		switchedFrom = current;
+		throughputBefore = throughput;
+
+		write(String.format(Locale.ROOT, "%d %s -> %s: density %.6f, active %.4f, growth %d, %.0f gen/s",
+				generationNo, current, type, density, activeFraction, growth, throughput));
+
+		return type;
+	}
+
+	private BoardType choose(double density, double activeFraction, long population, boolean accelerating) {
+		if(density < SPARSE_DENSITY && population < SPARSE_POPULATION) {
+			return BoardType.SPARSE;
+		}
+
+		if(accelerating && density < DENSE_DENSITY) {
+			return BoardType.HASHLIFE;
+		}
+
+		if(density >= DENSE_DENSITY) {
+			return BoardType.DYNAMIC;
+		}
+
+		if(activeFraction >= 0 && activeFraction < STILL_FRACTION) {
+			return BoardType.CHANGELIST;
+		}
+
+		return BoardType.TILED;
+	}
+
+	private void write(String line) {
+		if(log != null) {
+			log.println(line);
+			log.flush();
+		}
+	}
+}
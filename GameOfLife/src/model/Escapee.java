@@ -0,0 +1,128 @@
+package model;
+
+/**
+ * A spaceship which has left the board, and is kept as its position and velocity instead of as cells, see
+ * {@link GameBoard.BoundaryPolicy#ESCAPEES}. The spaceship never comes back, so its position in any later
+ * generation is known without stepping it.
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class Escapee {
+
+	private final Spaceship spaceship;
+	private final int x;
+	private final int y;
+	private final int dx;
+	private final int dy;
+	private final long generationNo;
+
+	/**
+	 * <blockquote>
+	 * <b><i>Escapee</i></b>
+	 * <pre>{@code public Escapee(Spaceship spaceship, int x, int y, int dx, int dy, long generationNo)}</pre>
+	 * @param spaceship - The kind of spaceship.
+	 * @param x - The horizontal coordinate of the top left corner of the spaceship.
+	 * @param y - The vertical coordinate of the top left corner of the spaceship.
+	 * @param dx - The number of cells the spaceship moves to the right every period.
+	 * @param dy - The number of cells the spaceship moves down every period.
+	 * @param generationNo - The generation the spaceship had the position in.
+	 * @throws NullPointerException - If the spaceship is null.
+	 * </blockquote>
+	 */
+	public Escapee(Spaceship spaceship, int x, int y, int dx, int dy, long generationNo) throws NullPointerException {
+		if(spaceship == null) {
+			throw new NullPointerException("spaceship can not be null.");
+		}
+
+		this.spaceship = spaceship;
+		this.x = x;
+		this.y = y;
+		this.dx = dx;
+		this.dy = dy;
+		this.generationNo = generationNo;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getSpaceship</i></b>
+	 * <pre>{@code public Spaceship getSpaceship()}</pre>
+	 * @return spaceship - The kind of spaceship.
+	 * </blockquote>
+	 */
+	public Spaceship getSpaceship() {
+		return spaceship;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getX</i></b>
+	 * <pre>{@code public long getX(long generationNo)}</pre>
+	 * <p>Returns the horizontal position of the spaceship in a later generation. The spaceship has the same
+	 * shape as when it escaped every period, in between it has moved part of the way.</p>
+	 * @param generationNo - The generation.
+	 * @return x - The horizontal coordinate of the top left corner of the spaceship.
+	 * </blockquote>
+	 */
+	public long getX(long generationNo) {
+		return x + dx * periods(generationNo);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getY</i></b>
+	 * <pre>{@code public long getY(long generationNo)}</pre>
+	 * <p>Returns the vertical position of the spaceship in a later generation, see {@link #getX(long)}.</p>
+	 * @param generationNo - The generation.
+	 * @return y - The vertical coordinate of the top left corner of the spaceship.
+	 * </blockquote>
+	 */
+	public long getY(long generationNo) {
+		return y + dy * periods(generationNo);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getDx</i></b>
+	 * <pre>{@code public int getDx()}</pre>
+	 * @return dx - The number of cells the spaceship moves to the right every period.
+	 * </blockquote>
+	 */
+	public int getDx() {
+		return dx;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getDy</i></b>
+	 * <pre>{@code public int getDy()}</pre>
+	 * @return dy - The number of cells the spaceship moves down every period.
+	 * </blockquote>
+	 */
+	public int getDy() {
+		return dy;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getGenerationNo</i></b>
+	 * <pre>{@code public long getGenerationNo()}</pre>
+	 * @return generationNo - The generation the spaceship escaped in.
+	 * </blockquote>
+	 */
+	public long getGenerationNo() {
+		return generationNo;
+	}
+
+	@Override
+	public String toString() {
+		return spaceship.getName() + " at (" + x + ", " + y + ") moving (" + dx + ", " + dy + ") every " +
+				spaceship.getPeriod() + " generations since generation " + generationNo;
+	}
+
+	private long periods(long generationNo) {
+		return (generationNo - this.generationNo) / spaceship.getPeriod();
+	}
+}
@@ -1,5 +1,11 @@
 package model;
 
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * The GameBoard class holds the information about the game board, as well as do some operations on the board, such as 
@@ -13,7 +19,89 @@ package model;
  */
 public class GameBoard  {
 	
-	private final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+	
+	/*
+	 * BoardType is the representation the universe is stored and stepped in. DYNAMIC and STATIC are stepped
+	 * by the BoardThread jobs, while HASHLIFE and TILED are GenerationEngines which steps themselves. A STATIC
+	 * board keeps the size the GameBoard was created with, and TILED only stores the tiles with living cells.
+	 * OFFHEAP is a static board stored outside the heap, see BoardOffHeap, which is released when the board
+	 * type is changed again. CHANGELIST is a GenerationEngine which keeps the neighbour counts of the cells,
+	 * and only computes the cells around the cells that changed, see BoardChangeList. SPARSE only stores the
+	 * positions of the living cells, for a few cells spread over a huge area, see BoardSparse. MORTON is a
+	 * static board stored in square tiles in Z-order, so the rows around an element are close in memory,
+	 * see BoardMorton.
+	 */
+	public static enum BoardType {
+		DYNAMIC,
+		STATIC,
+		HASHLIFE,
+		TILED,
+		OFFHEAP,
+		CHANGELIST,
+		SPARSE,
+		MORTON
+	}
+	
+	/*
+	 * StepMode is how the BoardThread jobs compute the next generation. CELLS counts the neighbours of one
+	 * cell at a time, while SWAR computes all the 64 cells of an element at once, see KernelSwar. ROWS
+	 * computes whole rows of a STATIC board in branch-free passes over arrays, see KernelRows. TABLE looks
+	 * up the next generation of every 2x2 cells in a table generated from the rule, see KernelTable.
+	 * COMPILED is like SWAR, but applies a rule compiled to a bitwise expression, see KernelCompiled.
+	 */
+	public static enum StepMode {
+		CELLS,
+		SWAR,
+		ROWS,
+		TABLE,
+		COMPILED
+	}
+	
+	/*
+	 * ScheduleMode is how the work of a generation is shared between threads. SERIAL runs the row bands
+	 * one after another on the calling thread, and BANDS runs one band for every processor on a
+	 * BoardWorkerPool. REGIONS splits the board in small regions which are scheduled on a RegionScheduler
+	 * by their cost in the previous generation, for a TILED board the regions are the awake tiles.
+	 */
+	public static enum ScheduleMode {
+		SERIAL,
+		BANDS,
+		REGIONS
+	}
+	
+	/*
+	 * BoundaryPolicy is what a dynamic board does with the spaceships flying away from it, like the gliders
+	 * of a gun. GROW lets the board grow after them, so the board grows for ever. ABSORB deletes the known
+	 * spaceships, see Spaceship, when they are more than the boundary margin outside the size the board was
+	 * created with, or outside the moving frame, and are moving further away. ESCAPEES deletes them like
+	 * ABSORB, but keeps them as an Escapee with a position and a velocity. The spaceships are only
+	 * recognised under Conway's rule.
+	 */
+	public static enum BoundaryPolicy {
+		GROW,
+		ABSORB,
+		ESCAPEES
+	}
+	
+	// The number of rows in a region, when the schedule mode is REGIONS.
+	private static final int REGION_ROWS = 16;
+	
+	// A dynamic board is trimmed when an empty margin is wider than TRIM_MARGIN cells, and the margin is
+	// trimmed down to between KEEP_MARGIN and TRIM_MARGIN cells. A board grows by 64 cells, which is less
+	// than TRIM_MARGIN, so a board that just grew is not trimmed again.
+	private static final int TRIM_MARGIN = 128;
+	private static final int KEEP_MARGIN = 64;
+	
+	// A group of cells with more cells than this is not a spaceship, so it is not searched any further.
+	private static final int MAX_SPACESHIP_CELLS = 16;
+	
+	// The number of dead cells there must be around a spaceship before it is deleted.
+	private static final int ISOLATION = 3;
+	
+	// The number of generations whose hashes are kept, a cycle is found when the last period of hashes is
+	// the same as the period before it, so the longest period found is half of this.
+	private static final int CYCLE_RING = 128;
 	
 	private BoardSettings boardSettings;
 	private GameRules gr;
@@ -28,14 +116,91 @@ public class GameBoard  {
 	
 	private long generationNo;
 	
+	// The population is kept up to date by setCellState and the thread jobs, so it is never counted.
+	private long population;
+	private GenerationStats stats = new GenerationStats();
+	
+	// The bounding box of the living cells, kept up to date like the population. When a cell on the edge of
+	// the box is killed, the box is found again by a scan before it is used.
+	private int boundingBox[];
+	private boolean boundingBoxValid = true;
+	
+	private final int defaultColumns;
+	private final int defaultRows;
+	
+	private BoardType boardType;
+	private GenerationEngine engine;
+	
+	private StepMode stepMode = StepMode.CELLS;
+	private GenerationKernel kernel;
+	
+	private int birthMask;
+	private int surviveMask;
+	
 	private int boardTopMisplaceX;
 	private int boardTopMisplaceY;
 	private int boardTopMisplaceXb;
 	private int boardTopMisplaceYb;
 	
-	private Thread threads[];
 	private BoardThread threadJob[];
 	
+	private boolean autoTrim = true;
+	
+	private BoundaryPolicy boundaryPolicy = BoundaryPolicy.GROW;
+	private int boundaryMargin = 64;
+	private long absorbedCount;
+	private List<Escapee> escapees = new ArrayList<>();
+	
+	// The position on the board of the cell (0, 0) when the board was created, which is moved when the board
+	// grows or is trimmed to the left or up.
+	private int originX;
+	private int originY;
+	
+	// The BoardHash of the living cells, on the board's own coordinates. It is moved with the cells when the
+	// board grows or is trimmed.
+	private long hash;
+	
+	// The moving frame, which has the size the board was created with. Its position is relative to the cell
+	// (0, 0) of the board when it was created, and it moves framePeriod generations at a time.
+	private boolean movingFrame;
+	private int frameX;
+	private int frameY;
+	private int frameDx;
+	private int frameDy;
+	private int framePeriod;
+	private PrintWriter frameOutput;
+	
+	// The hashes and populations of the last generations, where generation g is at g % CYCLE_RING. The ring
+	// is emptied whenever the cells are changed by something else than the rule.
+	private long cycleHashes[] = new long[CYCLE_RING];
+	private long cyclePopulations[] = new long[CYCLE_RING];
+	private int cycleRecorded;
+	private int cyclePeriod;
+	private long cycleStart;
+	private boolean cycleDetection = true;
+	
+	// A cycle found by the hashes, which is only used when the cells a period later are the same.
+	private BoardSnapshot candidate;
+	private int candidatePeriod;
+	private long candidateGeneration;
+	
+	// The adaptive engine switches the board type every time the selector asks for it, see EngineSelector.
+	// Only the time spent stepping is measured, so the time spent drawing doesn't count.
+	private boolean adaptiveEngine;
+	private EngineSelector engineSelector = new EngineSelector();
+	private long nextSampleNo;
+	private long stepNanos;
+	
+	private ScheduleMode scheduleMode = ScheduleMode.SERIAL;
+	private BoardWorkerPool workerPool;
+	private RegionScheduler regionScheduler;
+	private long regionCost[] = new long[0];
+	
+	// The temporally blocked kernel, which advances a STATIC board several generations a tile at a time when
+	// the board is advanced by advanceTo, see KernelBlocked. It is null when the blocking is off.
+	private KernelBlocked blockedKernel;
+	private long blockCost[] = new long[0];
+	
 
 	/**
 	 * <blockquote>
@@ -53,34 +218,412 @@ public class GameBoard  {
 		boardSettings = new BoardSettings();
 		gr = GameRules.getInstance();
 		
+		birthMask = gr.getBirthMask();
+		surviveMask = gr.getSurviveMask();
+		
 		generationNo = 0;
 		
 		boardTopMisplaceX = 0;
 		boardTopMisplaceY = 0;
 		
-//		curGenBoard = new BoardStatic(columns, rows);
-//		newGenBoard = new BoardStatic(columns, rows);
-//		
-//		curActiveCells = new BoardStatic(columns, rows);
-//		newActiveCells = new BoardStatic(columns, rows);
+		defaultColumns = columns;
+		defaultRows = rows;
 		
-		curGenBoard = new BoardDynamic(columns, rows);
-		newGenBoard = new BoardDynamic(columns, rows);
+		createBoards(BoardType.DYNAMIC);
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>createBoards</i></b>
+	 * <pre>{@code private void createBoards({@link BoardType} type)}</pre>
+	 * <p>Creates new, empty boards of the given type, and the thread jobs stepping them.</p>
+	 * @param type - The type of board to create.
+	 * </blockquote>
+	 */
+	private void createBoards(BoardType type) {
+		boardType = type;
+		population = 0;
+		stats.reset();
+		boundingBox = null;
+		boundingBoxValid = true;
+		originX = 0;
+		originY = 0;
+		hash = 0;
+		frameX = 0;
+		frameY = 0;
+		absorbedCount = 0;
+		escapees.clear();
+		resetCycle();
 		
-		curActiveCells = new BoardDynamic(columns, rows);
-		newActiveCells = new BoardDynamic(columns, rows);
+		switch(type) {
+			case HASHLIFE:
+				BoardHashLife hashLife = new BoardHashLife();
+				
+				engine = hashLife;
+				curGenBoard = hashLife;
+				newGenBoard = null;
+				curActiveCells = null;
+				newActiveCells = null;
+				break;
+			case TILED:
+				BoardTiled tiled = new BoardTiled();
+				tiled.setScheduler(regionScheduler);
+				
+				engine = tiled;
+				curGenBoard = tiled;
+				newGenBoard = null;
+				curActiveCells = null;
+				newActiveCells = null;
+				break;
+			case CHANGELIST:
+				BoardChangeList changeList = new BoardChangeList();
+				
+				engine = changeList;
+				curGenBoard = changeList;
+				newGenBoard = null;
+				curActiveCells = null;
+				newActiveCells = null;
+				break;
+			case SPARSE:
+				BoardSparse sparse = new BoardSparse();
+				
+				engine = sparse;
+				curGenBoard = sparse;
+				newGenBoard = null;
+				curActiveCells = null;
+				newActiveCells = null;
+				break;
+			case STATIC:
+				engine = null;
+				curGenBoard = new BoardStatic(defaultColumns, defaultRows);
+				newGenBoard = new BoardStatic(defaultColumns, defaultRows);
+				
+				curActiveCells = new BoardStatic(defaultColumns, defaultRows);
+				newActiveCells = new BoardStatic(defaultColumns, defaultRows);
+				break;
+			case OFFHEAP:
+				engine = null;
+				curGenBoard = new BoardOffHeap(defaultColumns, defaultRows);
+				newGenBoard = new BoardOffHeap(defaultColumns, defaultRows);
+				
+				curActiveCells = new BoardOffHeap(defaultColumns, defaultRows);
+				newActiveCells = new BoardOffHeap(defaultColumns, defaultRows);
+				break;
+			case MORTON:
+				engine = null;
+				curGenBoard = new BoardMorton(defaultColumns, defaultRows);
+				newGenBoard = new BoardMorton(defaultColumns, defaultRows);
+				
+				curActiveCells = new BoardMorton(defaultColumns, defaultRows);
+				newActiveCells = new BoardMorton(defaultColumns, defaultRows);
+				break;
+			case DYNAMIC:
+			default:
+				engine = null;
+				curGenBoard = new BoardFlat(defaultColumns, defaultRows);
+				newGenBoard = new BoardFlat(defaultColumns, defaultRows);
+				
+				curActiveCells = new BoardFlat(defaultColumns, defaultRows);
+				newActiveCells = new BoardFlat(defaultColumns, defaultRows);
+				break;
+		}
 
-		threads = new Thread[MAX_THREADS];
-		threadJob = new BoardThread[MAX_THREADS];
+		createThreadJobs();
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>createThreadJobs</i></b>
+	 * <pre>{@code private void createThreadJobs()}</pre>
+	 * <p>Creates one thread job for every thread, for the boards stepped by the BoardThread jobs.</p>
+	 * </blockquote>
+	 */
+	private void createThreadJobs() {
+		threadJob = new BoardThread[threadCount];
 		
-		Board boardList[] = { curGenBoard, newGenBoard, curActiveCells, newActiveCells };
+		if(engine == null) {
+			Board boardList[] = { curGenBoard, newGenBoard, curActiveCells, newActiveCells };
+			
+			for(int i = 0; i < threadCount; i++) {
+				threadJob[i] = new BoardThread(boardList);
+				threadJob[i].setKernel(kernel);
+			}
+		}
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setThreadCount</i></b>
+	 * <pre>{@code public void setThreadCount(int threads)}</pre>
+	 * <p>Sets the number of row bands a generation is split in, and the number of workers of the parallel
+	 * schedule modes. The workers of the current mode are restarted with the new count. The default is the
+	 * number of processors.</p>
+	 * @param threads - The number of threads.
+	 * @throws IllegalArgumentException - If the number of threads is less than 1.
+	 * </blockquote>
+	 */
+	public void setThreadCount(int threads) throws IllegalArgumentException {
+		if(threads < 1) {
+			throw new IllegalArgumentException("threads must be greater than 0.");
+		}
+		
+		if(threads == threadCount) {
+			return;
+		}
+		
+		threadCount = threads;
+		createThreadJobs();
+		
+		// The workers are started again with the new count.
+		ScheduleMode mode = scheduleMode;
+		setScheduleMode(ScheduleMode.SERIAL);
+		setScheduleMode(mode);
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getThreadCount</i></b>
+	 * <pre>{@code public int getThreadCount()}</pre>
+	 * @return threadCount - The number of row bands and workers.
+	 * </blockquote>
+	 */
+	public int getThreadCount() {
+		return threadCount;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setScheduleMode</i></b>
+	 * <pre>{@code public void setScheduleMode({@link ScheduleMode} mode)}</pre>
+	 * <p>Sets how the work of a generation is shared between threads. The workers of the parallel modes are
+	 * kept alive between the generations, and stopped when another mode is set.</p>
+	 * @param mode - The schedule mode to use.
+	 * @throws NullPointerException - If the mode is null.
+	 * </blockquote>
+	 */
+	public void setScheduleMode(ScheduleMode mode) throws NullPointerException {
+		if(mode == null) {
+			throw new NullPointerException("mode can not be null.");
+		}
+		
+		if(mode != ScheduleMode.BANDS && workerPool != null) {
+			workerPool.shutdown();
+			workerPool = null;
+		}
+		
+		if(mode != ScheduleMode.REGIONS && regionScheduler != null) {
+			regionScheduler.shutdown();
+			regionScheduler = null;
+		}
+		
+		if(mode == ScheduleMode.BANDS && workerPool == null) {
+			workerPool = new BoardWorkerPool(threadCount);
+		}
+		
+		if(mode == ScheduleMode.REGIONS && regionScheduler == null) {
+			regionScheduler = new RegionScheduler(threadCount);
+		}
+		
+		scheduleMode = mode;
+		
+		if(engine instanceof BoardTiled) {
+			((BoardTiled) engine).setScheduler(regionScheduler);
+		}
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getScheduleMode</i></b>
+	 * <pre>{@code public {@link ScheduleMode} getScheduleMode()}</pre>
+	 * @return scheduleMode - How the work of a generation is shared between threads.
+	 * </blockquote>
+	 */
+	public ScheduleMode getScheduleMode() {
+		return scheduleMode;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setTemporalBlocking</i></b>
+	 * <pre>{@code public void setTemporalBlocking(int depth)}</pre>
+	 * <p>Sets the number of generations a STATIC board is advanced a tile at a time, when it is advanced
+	 * by {@link #advanceTo(long)} or {@link #advanceGenerations(int)}, see {@link KernelBlocked}. The tiles
+	 * are shared between the threads like the rows of the schedule mode. The generations inside a block are
+	 * not searched for cycles, and the born and dead cells are counted over the whole block.</p>
+	 * @param depth - The number of generations in a block, or 0 to step one generation at a time.
+	 * @throws IllegalArgumentException - If the depth is negative or more than {@link KernelBlocked#MAX_DEPTH}.
+	 * </blockquote>
+	 */
+	public void setTemporalBlocking(int depth) throws IllegalArgumentException {
+		if(depth < 0) {
+			throw new IllegalArgumentException("depth can not be negative.");
+		}
+		
+		blockedKernel = (depth == 0) ? null : new KernelBlocked(depth);
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getTemporalBlocking</i></b>
+	 * <pre>{@code public int getTemporalBlocking()}</pre>
+	 * @return depth - The number of generations in a block, or 0 if the blocking is off.
+	 * </blockquote>
+	 */
+	public int getTemporalBlocking() {
+		return (blockedKernel == null) ? 0 : blockedKernel.getDepth();
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setStepMode</i></b>
+	 * <pre>{@code public void setStepMode({@link StepMode} mode)}</pre>
+	 * <p>Sets how the next generation is computed by the thread jobs. The mode can be changed between two
+	 * generations, so the modes can be compared on the same board.</p>
+	 * @param mode - The step mode to use.
+	 * @throws NullPointerException - If the mode is null.
+	 * </blockquote>
+	 */
+	public void setStepMode(StepMode mode) throws NullPointerException {
+		if(mode == null) {
+			throw new NullPointerException("mode can not be null.");
+		}
+		
+		switch(mode) {
+			case SWAR:
+				kernel = new KernelSwar();
+				break;
+			case ROWS:
+				kernel = new KernelRows();
+				break;
+			case TABLE:
+				kernel = new KernelTable();
+				break;
+			case COMPILED:
+				kernel = new KernelCompiled();
+				break;
+			case CELLS:
+			default:
+				kernel = null;
+				break;
+		}
+		
+		stepMode = mode;
+		
+		for(int i = 0; i < threadJob.length; i++) {
+			if(threadJob[i] != null) {
+				threadJob[i].setKernel(kernel);
+			}
+		}
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getStepMode</i></b>
+	 * <pre>{@code public {@link StepMode} getStepMode()}</pre>
+	 * @return stepMode - How the next generation is computed.
+	 * </blockquote>
+	 */
+	public StepMode getStepMode() {
+		return stepMode;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setBoardType</i></b>
+	 * <pre>{@code public void setBoardType({@link BoardType} type)}</pre>
+	 * <p>Changes the representation of the universe. The living cells are moved to the new boards, and the
+	 * offsets in {@link BoardSettings} are adjusted so the view doesn't move. Cells outside a static board
+	 * are lost.</p>
+	 * @param type - The type of board to use.
+	 * @throws NullPointerException - If the type is null.
+	 * </blockquote>
+	 */
+	public void setBoardType(BoardType type) throws NullPointerException {
+		if(type == null) {
+			throw new NullPointerException("type can not be null.");
+		}
+		
+		if(type == boardType) {
+			return;
+		}
+		
+		Board source = curGenBoard;
+		Board sourceBoards[] = { curGenBoard, newGenBoard, curActiveCells, newActiveCells };
+		GenerationEngine sourceEngine = engine;
+		
+		createBoards(type);
+		
+		if(sourceEngine == null) {
+			for(int j = 0; j < source.getNumRows(); j++) {
+				for(int i = 0; i < source.getNumColumns(); i++) {
+					long data = source.getElement(i, j);
+					
+					while(data != 0) {
+						setCellState((i << 6) + Long.numberOfTrailingZeros(data), j, true);
+						data &= data - 1;
+					}
+				}
+			}
+		} else {
+			int[] box = sourceEngine.getBoundingBox();
+			
+			if(box != null) {
+				int shiftX = 0;
+				int shiftY = 0;
+				
+				// A dynamic board can't hold negative coordinates, so we let it grow to the left and up
+				// once, before the cells are moved over with the same shift as the board got.
+				if(isExpandable() && (box[0] < 0 || box[1] < 0)) {
+					setCellState(Math.min(box[0], 0), Math.min(box[1], 0), false);
+					
+					if(box[0] < 0)
+						shiftX = (int) Math.ceil(box[0] / -64d) * Long.SIZE;
+					
+					if(box[1] < 0)
+						shiftY = -box[1];
+				}
+				
+				// The cells of a sparse board can be far apart, so they are copied one by one instead of
+				// searching the bounding box.
+				if(source instanceof BoardSparse) {
+					for(int[] cell : ((BoardSparse) source).getCells()) {
+						setCellState(cell[0] + shiftX, cell[1] + shiftY, true);
+					}
+				} else {
+					for(int j = box[1]; j <= box[3]; j++) {
+						for(int i = box[0]; i <= box[2]; i++) {
+							if(source.getCellState(i, j) == 1) {
+								setCellState(i + shiftX, j + shiftY, true);
+							}
+						}
+					}
+				}
+			}
+		}
 		
-		for(int i = 0; i < MAX_THREADS; i++) {
-			threadJob[i] = new BoardThread(boardList);
-			threads[i] = new Thread(threadJob[i]);
+		// The memory of off-heap boards is freed at once, instead of waiting for the garbage collector.
+		for(Board board : sourceBoards) {
+			if(board instanceof BoardOffHeap) {
+				((BoardOffHeap) board).release();
+			}
 		}
 	}
 	
+	private boolean isExpandable() {
+		return boardType == BoardType.DYNAMIC;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getBoardType</i></b>
+	 * <pre>{@code public {@link BoardType} getBoardType()}</pre>
+	 * @return boardType - The type of board the universe is stored in.
+	 * </blockquote>
+	 */
+	public BoardType getBoardType() {
+		return boardType;
+	}
+	
 
 	/**
 	 * 
@@ -153,16 +696,30 @@ public class GameBoard  {
 	 * 
 	 */
 	public void setCellState(int x, int y, boolean cellState) {
+		resetCycle();
+		
+		if(engine != null) {
+			curGenBoard.setCellState(x, y, cellState);
+			return;
+		}
+		
 		if(!newGenBoard.hasPosition(x, y)) {	
+			// The cells are moved when the board grows to the left or up.
+			boundingBoxValid = false;
+			
 			double cellSize = boardSettings.getCellSizeOuter();
 			double ol = boardSettings.getOffsetLeft();
 			double ot = boardSettings.getOffsetTop();
 			
-			if(x < 0)
+			if(x < 0) {
 				ol += Math.ceil(x / -64d) * cellSize * 64;
+				moveOrigin((int) Math.ceil(x / -64d) * 64, 0);
+			}
 			
-			if(y < 0)
+			if(y < 0) {
 				ot += -y*cellSize;
+				moveOrigin(0, -y);
+			}
 
 			boardSettings.setOffsetLeft(ol);
 			boardSettings.setOffsetTop(ot);
@@ -172,8 +729,72 @@ public class GameBoard  {
 			newActiveCells.setCellState(x, y, false);
 		}
 
+		long oldState = curGenBoard.getCellState(x, y);
+		
+		// The cell is marked as changed either way, so its neighbours are computed in the next generation.
 		curGenBoard.setCellState(x, y, cellState);
-		curActiveCells.setCellState(x, y, cellState);
+		curActiveCells.setCellState(x, y, true);
+		
+		long newState = curGenBoard.getCellState(x, y);
+		
+		population += newState - oldState;
+		hash += (newState - oldState) * BoardHash.key(x - originX, y - originY);
+		
+		if(boundingBoxValid) {
+			if(cellState) {
+				includeCell(x, y);
+			} else if(oldState == 1 && (x == boundingBox[0] || y == boundingBox[1] || 
+										x == boundingBox[2] || y == boundingBox[3])) {
+				boundingBoxValid = false;
+			}
+		}
+	}
+	
+	// Grows the bounding box to a living cell, if it is on the board.
+	private void includeCell(int x, int y) {
+		if(curGenBoard.getCellState(x, y) == 0) {
+			return;
+		}
+		
+		if(boundingBox == null) {
+			boundingBox = new int[] { x, y, x, y };
+		} else {
+			boundingBox[0] = Math.min(boundingBox[0], x);
+			boundingBox[1] = Math.min(boundingBox[1], y);
+			boundingBox[2] = Math.max(boundingBox[2], x);
+			boundingBox[3] = Math.max(boundingBox[3], y);
+		}
+	}
+	
+	/**
+	 * 
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()} </pre>
+	 * <p> Returns the smallest rectangle containing all the living cells, as the array {minX, minY, maxX, maxY}.
+	 * The box is found by the thread jobs while they step the board, so it is normally not searched for.</p>
+	 * @return boundingBox - the bounding box, or null if there are no living cells.
+	 * </blockquote>
+	 */
+	public int[] getBoundingBox() {
+		if(engine != null) {
+			return engine.getBoundingBox();
+		}
+		
+		if(!boundingBoxValid) {
+			GenerationStats scan = new GenerationStats();
+			
+			for(int j = 0; j < curGenBoard.getNumRows(); j++) {
+				for(int i = 0; i < curGenBoard.getNumColumns(); i++) {
+					scan.include(i, j, curGenBoard.getElement(i, j));
+				}
+			}
+			
+			boundingBox = scan.getBoundingBox();
+			boundingBoxValid = true;
+		}
+		
+		return (boundingBox == null) ? null : boundingBox.clone();
 	}
 	
 	/**
@@ -206,6 +827,52 @@ public class GameBoard  {
 		return generationNo;
 	}
 	
+	/**
+	 * 
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation()} </pre>
+	 * <p> Returns the number of living cells. A {@link GenerationEngine} knows this by itself, for the other
+	 * boards it is updated from the born and dead cells of every generation.</p>
+	 * @return population - the number of living cells on the board.
+	 * </blockquote>
+	 */
+	public long getPopulation() {
+		if(engine != null) {
+			return engine.getPopulation();
+		}
+		
+		return population;
+	}
+	
+	/**
+	 * 
+	 * <blockquote>
+	 * <b><i>getBirths</i></b>
+	 * <pre>{@code public long getBirths()} </pre>
+	 * <p> Returns the number of cells that were born in the last generation. The boards that step
+	 * themselves, like HASHLIFE and TILED, don't count the born cells.</p>
+	 * @return births - the number of born cells, or -1 if they are not counted.
+	 * </blockquote>
+	 */
+	public long getBirths() {
+		return (engine != null) ? -1 : stats.getBirths();
+	}
+	
+	/**
+	 * 
+	 * <blockquote>
+	 * <b><i>getDeaths</i></b>
+	 * <pre>{@code public long getDeaths()} </pre>
+	 * <p> Returns the number of cells that died in the last generation. The boards that step
+	 * themselves, like HASHLIFE and TILED, don't count the dead cells.</p>
+	 * @return deaths - the number of dead cells, or -1 if they are not counted.
+	 * </blockquote>
+	 */
+	public long getDeaths() {
+		return (engine != null) ? -1 : stats.getDeaths();
+	}
+	
 	/**
 	 * 
 	 * <blockquote>
@@ -254,6 +921,46 @@ public class GameBoard  {
 	 * </blockquote>
 	 */	
 	public void nextGeneration() {
+		long start = System.nanoTime();
+		
+		if(engine != null) {
+			engine.nextGeneration(0);
+			generationNo++;
+			stepNanos += System.nanoTime() - start;
+			selectEngine();
+			return;
+		}
+		
+		// A board which doesn't change is not stepped, until its cells or the rule are changed.
+		if(cyclePeriod == 1 && birthMask == gr.getBirthMask() && surviveMask == gr.getSurviveMask()) {
+			stats.reset();
+			generationNo++;
+			return;
+		}
+		
+		Board boardList[] = { curGenBoard, newGenBoard, curActiveCells, newActiveCells };
+		
+		for(int i = 0; i < threadCount; i++) {
+			threadJob[i].setBoards(boardList);
+		}
+		
+		// Cells which didn't change can still change when the rule has changed,
+		// so every cell is marked as changed.
+		if(birthMask != gr.getBirthMask() || surviveMask != gr.getSurviveMask()) {
+			birthMask = gr.getBirthMask();
+			surviveMask = gr.getSurviveMask();
+			resetCycle();
+			
+			int columns = (int) curActiveCells.getNumColumns();
+			
+			for(int j = 0; j < curActiveCells.getNumRows(); j++) {
+				for(int i = 0; i < columns - 1; i++) {
+					curActiveCells.setElement(i, j, -1L);
+				}
+				curActiveCells.setElement(columns - 1, j, KernelSwar.widthMask(curActiveCells.getBoardWidth()));
+			}
+		}
+		
 		double cellSize = boardSettings.getCellSizeOuter();
 		double ol = boardSettings.getOffsetLeft();
 		double ot = boardSettings.getOffsetTop();
@@ -264,23 +971,33 @@ public class GameBoard  {
 		boardTopMisplaceYb = 0;
 		boardTopMisplaceXb = 0;
 		
-		if(threadJob[0].checkMisplaceTop())
-			boardTopMisplaceY = -64;
+		// A static board has a fixed size, the cells outside it are always dead. A dynamic board grows
+		// when there are living cells on its edge, which the bounding box tells without scanning the edges.
+		int box[] = getBoundingBox();
 		
-		if(threadJob[0].checkMisplaceBot())
-			boardTopMisplaceYb = (int) curGenBoard.getBoardHeight() + 63;
-		
-		if(threadJob[0].checkMisplaceLeft())
-			boardTopMisplaceX = -64;
-		
-		if(threadJob[0].checkMisplaceRight())
-			boardTopMisplaceXb = (int) (curGenBoard.getBoardWidth() + 63);
+		if(isExpandable() && box != null) {
+			if(box[1] == 0)
+				boardTopMisplaceY = -64;
+			
+			if(box[3] == curGenBoard.getBoardHeight() - 1)
+				boardTopMisplaceYb = (int) curGenBoard.getBoardHeight() + 63;
+			
+			if(box[0] == 0)
+				boardTopMisplaceX = -64;
+			
+			if(box[2] == curGenBoard.getBoardWidth() - 1)
+				boardTopMisplaceXb = (int) (curGenBoard.getBoardWidth() + 63);
+		}
 		
-		if(boardTopMisplaceX != 0)
+		if(boardTopMisplaceX != 0) {
 			ol += (64 * cellSize);
+			moveOrigin(64, 0);
+		}
 		
-		if(boardTopMisplaceY != 0)
-			ot += (64*cellSize);		
+		if(boardTopMisplaceY != 0) {
+			ot += (64*cellSize);
+			moveOrigin(0, 64);
+		}
 		
 		if(boardTopMisplaceX != 0 || boardTopMisplaceY != 0) {
 			
@@ -290,6 +1007,14 @@ public class GameBoard  {
 			newActiveCells.setCellState(boardTopMisplaceX, boardTopMisplaceY, false);
 		}
 		
+		// The cells have been moved if the board grew to the left or up, so the right and bottom edges
+		// have moved with them.
+		if(boardTopMisplaceXb != 0)
+			boardTopMisplaceXb -= boardTopMisplaceX;
+		
+		if(boardTopMisplaceYb != 0)
+			boardTopMisplaceYb -= boardTopMisplaceY;
+		
 		if(boardTopMisplaceXb != 0 || boardTopMisplaceYb != 0) {
 			
 			curGenBoard.setCellState(boardTopMisplaceXb , boardTopMisplaceYb, false);
@@ -303,26 +1028,41 @@ public class GameBoard  {
 		boardSettings.update();
 		
 		
-		int rowsPrThread = (int) Math.ceil( curGenBoard.getBoardHeight() / (double)MAX_THREADS );
-		int i = 0;
-		int j = 0;
-		
-		while(i < curGenBoard.getBoardHeight()) {
-			threadJob[j].setRowRange(i, i+rowsPrThread);
-			threads[j].run();
-
-			i += rowsPrThread;
-			j++;
-		}
+		// The board is expanded before the bands are computed, and the jobs only writes the rows of their
+		// own band, so the jobs can run at the same time.
+		int boardHeight = (int) curGenBoard.getBoardHeight();
 		
-		for(i = 0; i < MAX_THREADS; i++) {
-			try {
-				threads[i].join();
-			} catch (InterruptedException e) {
-				e.printStackTrace();
+		if(regionScheduler != null) {
+			nextGenerationRegions(boardList, boardHeight);
+		} else {
+			int rowsPrThread = (int) Math.ceil( boardHeight / (double)threadCount );
+			
+			for(int j = 0; j < threadCount; j++) {
+				int rowStart = Math.min(j * rowsPrThread, boardHeight);
+				threadJob[j].setRowRange(rowStart, Math.min(rowStart + rowsPrThread, boardHeight));
+				threadJob[j].getStats().setOrigin(originX, originY);
+			}
+			
+			if(workerPool != null) {
+				workerPool.run(threadJob);
+			} else {
+				for(int j = 0; j < threadCount; j++) {
+					threadJob[j].run();
+				}
+			}
+			
+			stats.reset();
+			
+			for(int j = 0; j < threadCount; j++) {
+				stats.add(threadJob[j].getStats());
 			}
 		}
 		
+		population += stats.getBirths() - stats.getDeaths();
+		hash += stats.getHash();
+		boundingBox = stats.getBoundingBox();
+		boundingBoxValid = true;
+		
 		
 		oldGenBoard = curGenBoard;
 		curGenBoard = newGenBoard;
@@ -332,21 +1072,1041 @@ public class GameBoard  {
 		curActiveCells = newActiveCells;
 		newActiveCells = oldActiveCells;
 		
+		if(movingFrame && isExpandable()) {
+			moveFrame();
+		}
+		
+		if(boundaryPolicy != BoundaryPolicy.GROW && isExpandable() && isConway()) {
+			removeSpaceships();
+		}
+		
+		if((autoTrim || movingFrame) && isExpandable()) {
+			trimBoards();
+		}
+		
 		generationNo++;
+		
+		if(cycleDetection && !movingFrame) {
+			detectCycle();
+		} else {
+			resetCycle();
+		}
+		
+		stepNanos += System.nanoTime() - start;
+		selectEngine();
 	}
 	
 	/**
-	 * 
 	 * <blockquote>
-	 * <b><i>clear</i></b>
+	 * <b><i>detectCycle</i></b>
+	 * <pre>{@code private void detectCycle()}</pre>
+	 * <p>Adds the {@link BoardHash} of the generation to the ring, and looks for the shortest period where the last
+	 * period of generations has the same hashes and populations as the period before it. Equal hashes don't
+	 * prove that the cells are the same, so the generation is copied to a {@link BoardSnapshot}, and the cycle
+	 * is only used when the generation a period later has the same cells. A generation where no cell was born
+	 * or died is a cycle of period 1 at once. The start of the cycle is the first generation in the ring which
+	 * has the same hash a period later.</p>
+	 * </blockquote>
+	 */
+	private void detectCycle() {
+		if(cyclePeriod != 0) {
+			return;
+		}
+		
+		int index = (int) (generationNo % CYCLE_RING);
+		cycleHashes[index] = getHash();
+		cyclePopulations[index] = population;
+		cycleRecorded = Math.min(cycleRecorded + 1, CYCLE_RING);
+		
+		// The generation is the same as the one before it. A spaceship deleted by the boundary policy has
+		// changed in the same generation, so the counts are not 0 when cells were deleted.
+		if(stats.getBirths() + stats.getDeaths() == 0) {
+			candidate = null;
+			setCycle(1, generationNo - 1);
+			return;
+		}
+		
+		if(candidate != null) {
+			if(generationNo < candidateGeneration + candidatePeriod) {
+				return;
+			}
+			
+			boolean same = candidate.matches(curGenBoard, getBoundingBox(), population, originX, originY);
+			candidate = null;
+			
+			if(same) {
+				setCycle(candidatePeriod, candidateGeneration);
+				return;
+			}
+		}
+		
+		for(int period = 2; period * 2 <= cycleRecorded; period++) {
+			int repeated = 0;
+			
+			while(repeated < period && sameGeneration(generationNo - repeated, generationNo - repeated - period)) {
+				repeated++;
+			}
+			
+			if(repeated == period) {
+				candidate = new BoardSnapshot(curGenBoard, getBoundingBox(), population, originX, originY);
+				candidatePeriod = period;
+				candidateGeneration = generationNo;
+				return;
+			}
+		}
+	}
+	
+	// Sets the cycle, where the start is moved back over the generations in the ring which has the same hash
+	// a period later.
+	private void setCycle(int period, long start) {
+		while(generationNo - (start - 1) < cycleRecorded && sameGeneration(start - 1, start - 1 + period)) {
+			start--;
+		}
+		
+		cyclePeriod = period;
+		cycleStart = start;
+	}
+	
+	private boolean sameGeneration(long a, long b) {
+		int indexA = (int) (a % CYCLE_RING);
+		int indexB = (int) (b % CYCLE_RING);
+		
+		return cycleHashes[indexA] == cycleHashes[indexB] && cyclePopulations[indexA] == cyclePopulations[indexB];
+	}
+	
+	// Forgets the hashes, when the cells are changed by something else than the rule.
+	private void resetCycle() {
+		cycleRecorded = 0;
+		cyclePeriod = 0;
+		cycleStart = 0;
+		candidate = null;
+	}
+	
+	// Moves the cell (0, 0) of the board when it was created, when the cells are moved on the board. The hash
+	// is relative to that cell, so it doesn't change.
+	private void moveOrigin(int dx, int dy) {
+		originX += dx;
+		originY += dy;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getHash</i></b>
+	 * <pre>{@code public long getHash()}</pre>
+	 * <p>Returns the {@link BoardHash} of the living cells, relative to the cell (0, 0) of the board when it
+	 * was created, so the hash doesn't change when the board grows or is trimmed. The hash is kept up to
+	 * date by setCellState and the thread jobs, a {@link GenerationEngine} is hashed by reading the elements
+	 * inside its bounding box, and a {@link BoardSparse} by its living cells.</p>
+	 * @return hash - The hash of the current generation.
+	 * </blockquote>
+	 */
+	public long getHash() {
+		return getHash(false);
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getHash</i></b>
+	 * <pre>{@code public long getHash(boolean translationInvariant)}</pre>
+	 * <p>Returns the {@link BoardHash} of the living cells, see {@link #getHash()}. A translation invariant
+	 * hash is relative to the top left corner of the bounding box instead, so the same pattern has the same
+	 * hash wherever it is. It is computed from the cells inside the bounding box every time.</p>
+	 * @param translationInvariant - True to hash the cells relative to their bounding box.
+	 * @return hash - The hash of the current generation.
+	 * </blockquote>
+	 */
+	public long getHash(boolean translationInvariant) {
+		int box[] = getBoundingBox();
+		
+		if(box == null) {
+			return 0;
+		}
+		
+		if(engine instanceof BoardSparse) {
+			long boardHash = 0;
+			int x = translationInvariant ? box[0] : 0;
+			int y = translationInvariant ? box[1] : 0;
+			
+			for(int[] cell : ((BoardSparse) engine).getCells()) {
+				boardHash += BoardHash.key(cell[0] - x, cell[1] - y);
+			}
+			
+			return boardHash;
+		}
+		
+		// The keys have no structure, so the cells are hashed again relative to the bounding box.
+		if(translationInvariant) {
+			return BoardHash.of(curGenBoard, box);
+		}
+		
+		if(engine != null) {
+			long boardHash = 0;
+			
+			for(int j = box[1]; j <= box[3]; j++) {
+				for(int i = box[0] >> 6; i <= box[2] >> 6; i++) {
+					boardHash += BoardHash.element(i, j, curGenBoard.getElement(i, j));
+				}
+			}
+			
+			return boardHash;
+		}
+		
+		return hash;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getCyclePeriod</i></b>
+	 * <pre>{@code public int getCyclePeriod()}</pre>
+	 * <p>Returns the period of the cycle the board has settled into, 1 for a board which doesn't change.
+	 * Only boards stepped by the thread jobs are searched for cycles.</p>
+	 * @return period - The period, or 0 if no cycle has been found.
+	 * </blockquote>
+	 */
+	public int getCyclePeriod() {
+		return cyclePeriod;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getCycleStart</i></b>
+	 * <pre>{@code public long getCycleStart()}</pre>
+	 * <p>Returns the first generation of the cycle. A cycle which started more than the hashes kept before
+	 * it was found, or before the cells were last changed, is said to start later than it did.</p>
+	 * @return start - The first generation of the cycle, or -1 if no cycle has been found.
+	 * </blockquote>
+	 */
+	public long getCycleStart() {
+		return (cyclePeriod == 0) ? -1 : cycleStart;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getCycleGeneration</i></b>
+	 * <pre>{@code public long getCycleGeneration(long generationNo)}</pre>
+	 * <p>Returns the first generation of the cycle with the same cells as the given generation.</p>
+	 * @param generationNo - A generation after the start of the cycle.
+	 * @return generation - The generation in the first period of the cycle, or the given generation if no
+	 * cycle has been found or it is before the cycle.
+	 * </blockquote>
+	 */
+	public long getCycleGeneration(long generationNo) {
+		if(cyclePeriod == 0 || generationNo < cycleStart) {
+			return generationNo;
+		}
+		
+		return cycleStart + (generationNo - cycleStart) % cyclePeriod;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setCycleDetection</i></b>
+	 * <pre>{@code public void setCycleDetection(boolean cycleDetection)}</pre>
+	 * <p>Sets if the board is searched for cycles after every generation. It is on by default.</p>
+	 * @param cycleDetection - True to search for cycles.
+	 * </blockquote>
+	 */
+	public void setCycleDetection(boolean cycleDetection) {
+		this.cycleDetection = cycleDetection;
+		resetCycle();
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>isCycleDetection</i></b>
+	 * <pre>{@code public boolean isCycleDetection()}</pre>
+	 * @return cycleDetection - True if the board is searched for cycles.
+	 * </blockquote>
+	 */
+	public boolean isCycleDetection() {
+		return cycleDetection;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setAdaptiveEngine</i></b>
+	 * <pre>{@code public void setAdaptiveEngine(boolean adaptiveEngine)}</pre>
+	 * <p>Turns the adaptive engine on or off. The adaptive engine samples the pattern every
+	 * {@link EngineSelector#SAMPLE_PERIOD} generations, and moves the universe to the board type the
+	 * {@link EngineSelector} chooses for it. Only the unbounded types are chosen, and a STATIC, OFFHEAP or
+	 * MORTON board, a board with a moving frame and a board with another boundary policy than GROW keeps its
+	 * type.</p>
+	 * @param adaptiveEngine - True to choose the board type by the pattern.
+	 * </blockquote>
+	 */
+	public void setAdaptiveEngine(boolean adaptiveEngine) {
+		this.adaptiveEngine = adaptiveEngine;
+		resetEngineSelector();
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>isAdaptiveEngine</i></b>
+	 * <pre>{@code public boolean isAdaptiveEngine()}</pre>
+	 * @return adaptiveEngine - True if the board type is chosen by the pattern.
+	 * </blockquote>
+	 */
+	public boolean isAdaptiveEngine() {
+		return adaptiveEngine;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setEngineLog</i></b>
+	 * <pre>{@code public void setEngineLog(PrintWriter log)}</pre>
+	 * <p>Sets where the switches of the adaptive engine are written, with the throughput before and after
+	 * every switch, see {@link EngineSelector#setLog(PrintWriter)}.</p>
+	 * @param log - The log, or null to not write the switches.
+	 * </blockquote>
+	 */
+	public void setEngineLog(PrintWriter log) {
+		engineSelector.setLog(log);
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>selectEngine</i></b>
+	 * <pre>{@code private void selectEngine()}</pre>
+	 * <p>Samples the pattern when the adaptive engine is on and a sample is due, and switches the board type
+	 * if the {@link EngineSelector} asks for it. A board which doesn't change is not stepped at all, so it
+	 * keeps its type.</p>
+	 * </blockquote>
+	 */
+	private void selectEngine() {
+		if(!adaptiveEngine || generationNo < nextSampleNo) {
+			return;
+		}
+		
+		long nanos = stepNanos;
+		nextSampleNo = generationNo + EngineSelector.SAMPLE_PERIOD;
+		stepNanos = 0;
+		
+		if(boardType == BoardType.STATIC || boardType == BoardType.OFFHEAP || boardType == BoardType.MORTON ||
+				movingFrame || boundaryPolicy != BoundaryPolicy.GROW || cyclePeriod == 1) {
+			return;
+		}
+		
+		BoardType type = engineSelector.sample(boardType, generationNo, getPopulation(), getBoundingBox(),
+				getActiveFraction(), nanos, (gr.getBirthMask() & 1) == 0);
+		
+		if(type != null) {
+			setBoardType(type);
+		}
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getActiveFraction</i></b>
+	 * <pre>{@code private double getActiveFraction()}</pre>
+	 * <p>The part of the living cells which changed in the last generation. A TILED board only knows which
+	 * tiles are awake, so the part of the tiles which are awake is used instead.</p>
+	 * @return activeFraction - The part of the cells which changed, or -1 if the board doesn't know.
+	 * </blockquote>
+	 */
+	private double getActiveFraction() {
+		long cells = getPopulation();
+		
+		if(engine instanceof BoardTiled) {
+			BoardTiled tiled = (BoardTiled) engine;
+			int tiles = tiled.getTileCount();
+			
+			return (tiles == 0) ? 0 : (tiles - tiled.getSleepingTileCount()) / (double) tiles;
+		}
+		
+		if(cells == 0) {
+			return 0;
+		}
+		
+		if(engine instanceof BoardChangeList) {
+			return ((BoardChangeList) engine).getChangeCount() / (double) cells;
+		}
+		
+		if(engine == null) {
+			return (stats.getBirths() + stats.getDeaths()) / (double) cells;
+		}
+		
+		return -1;
+	}
+	
+	private void resetEngineSelector() {
+		engineSelector.reset();
+		nextSampleNo = generationNo + EngineSelector.SAMPLE_PERIOD;
+		stepNanos = 0;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>trimBoards</i></b>
+	 * <pre>{@code private void trimBoards()}</pre>
+	 * <p>Trims the empty margins of a dynamic board which are wider than {@code TRIM_MARGIN} cells. The
+	 * offsets in {@link BoardSettings} are moved with the cells, so the view doesn't move.</p>
+	 * </blockquote>
+	 */
+	private void trimBoards() {
+		int box[] = getBoundingBox();
+		
+		if(box == null) {
+			return;
+		}
+		
+		int left = 0, top = 0, right = 0, bottom = 0;
+		int columns = (int) curGenBoard.getNumColumns();
+		int height = (int) curGenBoard.getBoardHeight();
+		
+		if(box[0] > TRIM_MARGIN)
+			left = (box[0] - KEEP_MARGIN) >> 6;
+		
+		if(curGenBoard.getBoardWidth() - 1 - box[2] > TRIM_MARGIN)
+			right = columns - 1 - ((box[2] + KEEP_MARGIN) >> 6);
+		
+		if(box[1] > TRIM_MARGIN)
+			top = box[1] - KEEP_MARGIN;
+		
+		if(height - 1 - box[3] > TRIM_MARGIN)
+			bottom = height - 1 - box[3] - KEEP_MARGIN;
+		
+		if(left == 0 && top == 0 && right == 0 && bottom == 0) {
+			return;
+		}
+		
+		Board boardList[] = { curGenBoard, newGenBoard, curActiveCells, newActiveCells };
+		
+		for(Board board : boardList) {
+			((BoardFlat) board).trimBoard(left, top, right, bottom);
+		}
+		
+		box[0] -= left * Long.SIZE;
+		box[2] -= left * Long.SIZE;
+		box[1] -= top;
+		box[3] -= top;
+		boundingBox = box;
+		
+		moveOrigin(-left * Long.SIZE, -top);
+		
+		double cellSize = boardSettings.getCellSizeOuter();
+		
+		boardSettings.setOffsetLeft(boardSettings.getOffsetLeft() - left * Long.SIZE * cellSize);
+		boardSettings.setOffsetTop(boardSettings.getOffsetTop() - top * cellSize);
+		boardSettings.update();
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setAutoTrim</i></b>
+	 * <pre>{@code public void setAutoTrim(boolean autoTrim)}</pre>
+	 * <p>Sets if the empty margins of a dynamic board are trimmed after every generation. It is on by
+	 * default.</p>
+	 * @param autoTrim - True to trim the board.
+	 * </blockquote>
+	 */
+	public void setAutoTrim(boolean autoTrim) {
+		this.autoTrim = autoTrim;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>isAutoTrim</i></b>
+	 * <pre>{@code public boolean isAutoTrim()}</pre>
+	 * @return autoTrim - True if the empty margins of a dynamic board are trimmed.
+	 * </blockquote>
+	 */
+	public boolean isAutoTrim() {
+		return autoTrim;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>moveFrame</i></b>
+	 * <pre>{@code private void moveFrame()}</pre>
+	 * <p>Moves the frame every period, and drops the living cells which are left outside it. The offsets
+	 * in {@link BoardSettings} are moved with the frame, so the view follows it.</p>
+	 * </blockquote>
+	 */
+	private void moveFrame() {
+		if((generationNo + 1) % framePeriod == 0) {
+			frameX += frameDx;
+			frameY += frameDy;
+			
+			double cellSize = boardSettings.getCellSizeOuter();
+			
+			boardSettings.setOffsetLeft(boardSettings.getOffsetLeft() + frameDx * cellSize);
+			boardSettings.setOffsetTop(boardSettings.getOffsetTop() + frameDy * cellSize);
+			boardSettings.update();
+		}
+		
+		int box[] = getBoundingBox();
+		
+		int left = originX + frameX;
+		int top = originY + frameY;
+		int right = left + defaultColumns - 1;
+		int bottom = top + defaultRows - 1;
+		
+		if(box == null || (box[0] >= left && box[1] >= top && box[2] <= right && box[3] <= bottom)) {
+			return;
+		}
+		
+		for(int j = box[1]; j <= box[3]; j++) {
+			for(int i = box[0] >> 6; i <= box[2] >> 6; i++) {
+				if(j >= top && j <= bottom && (i << 6) >= left && (i << 6) + 63 <= right) {
+					continue;
+				}
+				
+				long data = curGenBoard.getElement(i, j);
+				
+				while(data != 0) {
+					int x = (i << 6) + Long.numberOfTrailingZeros(data);
+					data &= data - 1;
+					
+					if(x < left || x > right || j < top || j > bottom) {
+						if(frameOutput != null) {
+							frameOutput.println((generationNo + 1) + " " + (x - originX) + " " + (j - originY));
+						}
+						
+						setCellState(x, j, false);
+					}
+				}
+			}
+		}
+		
+		if(frameOutput != null) {
+			frameOutput.flush();
+		}
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setMovingFrame</i></b>
+	 * <pre>{@code public void setMovingFrame(int dx, int dy, int period)}</pre>
+	 * <p>Makes a dynamic board follow a spaceship or a puffer, in a frame which has the size the board was
+	 * created with. The frame starts where the board was created, and moves with the velocity of the object,
+	 * so only the cells near the object are stepped. The living cells left behind the frame are dropped,
+	 * or written to the frame output, see {@link #setFrameOutput(PrintWriter)}.</p>
+	 * @param dx - The number of cells the frame moves to the right every period.
+	 * @param dy - The number of cells the frame moves down every period.
+	 * @param period - The number of generations between every move.
+	 * @throws IllegalArgumentException - If the period is less than 1.
+	 * </blockquote>
+	 */
+	public void setMovingFrame(int dx, int dy, int period) throws IllegalArgumentException {
+		if(period < 1) {
+			throw new IllegalArgumentException("Input parameters must be grater than 0.");
+		}
+		
+		resetCycle();
+		movingFrame = true;
+		frameDx = dx;
+		frameDy = dy;
+		framePeriod = period;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>stopMovingFrame</i></b>
+	 * <pre>{@code public void stopMovingFrame()}</pre>
+	 * <p>Stops the frame where it is, the board grows again like a normal dynamic board.</p>
+	 * </blockquote>
+	 */
+	public void stopMovingFrame() {
+		movingFrame = false;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>isMovingFrame</i></b>
+	 * <pre>{@code public boolean isMovingFrame()}</pre>
+	 * @return movingFrame - True if the board follows a moving frame.
+	 * </blockquote>
+	 */
+	public boolean isMovingFrame() {
+		return movingFrame;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getFrame</i></b>
+	 * <pre>{@code public int[] getFrame()}</pre>
+	 * @return frame - The position and size of the frame as {x, y, width, height}, relative to the cell
+	 * (0, 0) of the board when it was created.
+	 * </blockquote>
+	 */
+	public int[] getFrame() {
+		return new int[] { frameX, frameY, defaultColumns, defaultRows };
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setFrameOutput</i></b>
+	 * <pre>{@code public void setFrameOutput(PrintWriter output)}</pre>
+	 * <p>Sets where the cells dropped by the moving frame are written, one line with the generation and the
+	 * position of every cell, relative to the cell (0, 0) of the board when it was created.</p>
+	 * @param output - The output, or null to only drop the cells.
+	 * </blockquote>
+	 */
+	public void setFrameOutput(PrintWriter output) {
+		frameOutput = output;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>removeSpaceships</i></b>
+	 * <pre>{@code private void removeSpaceships()}</pre>
+	 * <p>Deletes the spaceships outside the boundary, see {@link BoundaryPolicy}. Only the living cells
+	 * outside the boundary are searched, and only when the bounding box reaches outside it. The cells are
+	 * grouped with the living cells at most 2 cells away, and a group is deleted if it is a known spaceship,
+	 * with no other living cells near it, which is moving further away from the boundary.</p>
+	 * </blockquote>
+	 */
+	private void removeSpaceships() {
+		int box[] = getBoundingBox();
+		
+		int left = originX + frameX - boundaryMargin;
+		int top = originY + frameY - boundaryMargin;
+		int right = originX + frameX + defaultColumns - 1 + boundaryMargin;
+		int bottom = originY + frameY + defaultRows - 1 + boundaryMargin;
+		
+		if(box == null || (box[0] >= left && box[1] >= top && box[2] <= right && box[3] <= bottom)) {
+			return;
+		}
+		
+		HashSet<Long> visited = new HashSet<>();
+		
+		for(int j = box[1]; j <= box[3]; j++) {
+			for(int i = box[0] >> 6; i <= box[2] >> 6; i++) {
+				// The elements inside the boundary are skipped.
+				if(j >= top && j <= bottom && (i << 6) >= left && (i << 6) + 63 <= right) {
+					continue;
+				}
+				
+				long data = curGenBoard.getElement(i, j);
+				
+				while(data != 0) {
+					int x = (i << 6) + Long.numberOfTrailingZeros(data);
+					data &= data - 1;
+					
+					if((x < left || x > right || j < top || j > bottom) && !visited.contains(key(x, j))) {
+						removeSpaceship(x, j, visited, left, top, right, bottom);
+					}
+				}
+			}
+		}
+	}
+	
+	// Finds the group of the living cell, and deletes it if it is a spaceship escaping from the boundary.
+	private void removeSpaceship(int x, int y, HashSet<Long> visited, int left, int top, int right, int bottom) {
+		List<int[]> group = new ArrayList<>();
+		ArrayDeque<int[]> queue = new ArrayDeque<>();
+		
+		visited.add(key(x, y));
+		queue.add(new int[] { x, y });
+		
+		while(!queue.isEmpty()) {
+			int cell[] = queue.poll();
+			group.add(cell);
+			
+			for(int j = cell[1] - 2; j <= cell[1] + 2; j++) {
+				for(int i = cell[0] - 2; i <= cell[0] + 2; i++) {
+					if(curGenBoard.getCellState(i, j) == 1 && visited.add(key(i, j))) {
+						queue.add(new int[] { i, j });
+					}
+				}
+			}
+			
+			// The rest of a large group is still marked as visited, so it is not searched again.
+			if(group.size() > MAX_SPACESHIP_CELLS) {
+				return;
+			}
+		}
+		
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+		
+		for(int cell[] : group) {
+			minX = Math.min(minX, cell[0]);
+			minY = Math.min(minY, cell[1]);
+			maxX = Math.max(maxX, cell[0]);
+			maxY = Math.max(maxY, cell[1]);
+		}
+		
+		if(maxX - minX >= Spaceship.MAX_SIZE || maxY - minY >= Spaceship.MAX_SIZE) {
+			return;
+		}
+		
+		boolean outLeft = maxX < left;
+		boolean outRight = minX > right;
+		boolean outTop = maxY < top;
+		boolean outBottom = minY > bottom;
+		
+		if(!outLeft && !outRight && !outTop && !outBottom) {
+			return;
+		}
+		
+		// Any other living cell near the group could hit the spaceship.
+		int count = 0;
+		
+		for(int j = minY - ISOLATION; j <= maxY + ISOLATION; j++) {
+			for(int i = minX - ISOLATION; i <= maxX + ISOLATION; i++) {
+				count += curGenBoard.getCellState(i, j);
+			}
+		}
+		
+		if(count != group.size()) {
+			return;
+		}
+		
+		long shape = 0;
+		
+		for(int cell[] : group) {
+			shape |= 1L << ((cell[1] - minY) * Spaceship.MAX_SIZE + (cell[0] - minX));
+		}
+		
+		Escapee escapee = Spaceship.match(shape, minX - originX, minY - originY, generationNo + 1);
+		
+		if(escapee == null) {
+			return;
+		}
+		
+		if(!(outLeft && escapee.getDx() < 0) && !(outRight && escapee.getDx() > 0) &&
+				!(outTop && escapee.getDy() < 0) && !(outBottom && escapee.getDy() > 0)) {
+			return;
+		}
+		
+		for(int cell[] : group) {
+			setCellState(cell[0], cell[1], false);
+		}
+		
+		absorbedCount++;
+		
+		if(boundaryPolicy == BoundaryPolicy.ESCAPEES) {
+			escapees.add(escapee);
+		}
+	}
+	
+	private static long key(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+	
+	// The spaceships are only known under Conway's rule.
+	private boolean isConway() {
+		return birthMask == (1 << 3) && surviveMask == ((1 << 2) | (1 << 3));
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setBoundaryPolicy</i></b>
+	 * <pre>{@code public void setBoundaryPolicy({@link BoundaryPolicy} policy)}</pre>
+	 * <p>Sets what a dynamic board does with the spaceships flying away from it. It is
+	 * {@link BoundaryPolicy#GROW} by default.</p>
+	 * @param policy - The boundary policy.
+	 * @throws NullPointerException - If the policy is null.
+	 * </blockquote>
+	 */
+	public void setBoundaryPolicy(BoundaryPolicy policy) throws NullPointerException {
+		if(policy == null) {
+			throw new NullPointerException("policy can not be null.");
+		}
+		
+		boundaryPolicy = policy;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundaryPolicy</i></b>
+	 * <pre>{@code public {@link BoundaryPolicy} getBoundaryPolicy()}</pre>
+	 * @return policy - The boundary policy.
+	 * </blockquote>
+	 */
+	public BoundaryPolicy getBoundaryPolicy() {
+		return boundaryPolicy;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>setBoundaryMargin</i></b>
+	 * <pre>{@code public void setBoundaryMargin(int margin)}</pre>
+	 * <p>Sets how far outside the size the board was created with a spaceship must be before it is deleted.
+	 * It is 64 cells by default.</p>
+	 * @param margin - The margin in cells.
+	 * @throws IllegalArgumentException - If the margin is less than 0.
+	 * </blockquote>
+	 */
+	public void setBoundaryMargin(int margin) throws IllegalArgumentException {
+		if(margin < 0) {
+			throw new IllegalArgumentException("The margin can not be less than 0.");
+		}
+		
+		boundaryMargin = margin;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundaryMargin</i></b>
+	 * <pre>{@code public int getBoundaryMargin()}</pre>
+	 * @return margin - The boundary margin in cells.
+	 * </blockquote>
+	 */
+	public int getBoundaryMargin() {
+		return boundaryMargin;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getAbsorbedCount</i></b>
+	 * <pre>{@code public long getAbsorbedCount()}</pre>
+	 * @return count - The number of spaceships deleted by the boundary policy.
+	 * </blockquote>
+	 */
+	public long getAbsorbedCount() {
+		return absorbedCount;
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getEscapees</i></b>
+	 * <pre>{@code public List<Escapee> getEscapees()}</pre>
+	 * <p>Returns the spaceships which have escaped, when the policy is {@link BoundaryPolicy#ESCAPEES}. Their
+	 * positions are relative to the cell (0, 0) of the board when it was created, so they are not moved
+	 * when the board grows.</p>
+	 * @return escapees - The escaped spaceships, in the order they escaped.
+	 * </blockquote>
+	 */
+	public List<Escapee> getEscapees() {
+		return Collections.unmodifiableList(escapees);
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>nextGenerationRegions</i></b>
+	 * <pre>{@code private void nextGenerationRegions(Board[] boardList, int boardHeight)}</pre>
+	 * <p>Computes the next generation in regions of {@code REGION_ROWS} rows on the region scheduler. The
+	 * cost of the regions is kept for the next generation, and forgotten when the number of regions change.</p>
+	 * @param boardList - The boards of the thread jobs.
+	 * @param boardHeight - The height of the board.
+	 * </blockquote>
+	 */
+	private void nextGenerationRegions(final Board[] boardList, final int boardHeight) {
+		int regions = (boardHeight + REGION_ROWS - 1) / REGION_ROWS;
+		
+		if(regionCost.length != regions) {
+			regionCost = new long[regions];
+		}
+		
+		final GenerationStats regionStats[] = new GenerationStats[regions];
+		final int x = originX;
+		final int y = originY;
+		
+		regionScheduler.run(regions, regionCost, region -> {
+			BoardThread job = new BoardThread(boardList);
+			int rowStart = region * REGION_ROWS;
+			
+			job.getStats().setOrigin(x, y);
+			job.setKernel(kernel);
+			job.setRowRange(rowStart, Math.min(rowStart + REGION_ROWS, boardHeight));
+			job.run();
+			
+			regionStats[region] = job.getStats();
+		});
+		
+		stats.reset();
+		
+		for(GenerationStats counts : regionStats) {
+			stats.add(counts);
+		}
+	}
+	
+	/**
+	 * 
+	 * <blockquote>
+	 * <b><i>advanceGenerations</i></b>
+	 * <pre>{@code public void advanceGenerations(int exponent)} </pre>
+	 * <p> Advances the board 2^exponent generations. A {@link GenerationEngine} like {@link BoardHashLife}
+	 * does this in one step, the other boards are stepped one generation at a time. The generations are
+	 * counted in a long, so the exponent can be at most 62.</p>
+	 * @param exponent - the number of generations to advance, as a power of two.
+	 * @throws IllegalArgumentException - If the exponent is negative or above 62, which is more than 2^62
+	 * generations.
+	 * </blockquote>
+	 */
+	public void advanceGenerations(int exponent) throws IllegalArgumentException {
+		if(exponent < 0 || exponent > 62) {
+			throw new IllegalArgumentException("Exponent must be between 0 and 62.");
+		}
+		
+		advanceTo(generationNo + (1L << exponent));
+	}
+	
+	/**
+	 * 
+	 * <blockquote>
+	 * <b><i>advanceTo</i></b>
+	 * <pre>{@code public void advanceTo(long generationNo)} </pre>
+	 * <p> Advances the board to the given generation. When the board has settled into a cycle, the whole
+	 * periods are skipped and only the rest of the generations are stepped. A {@link GenerationEngine} is
+	 * advanced in steps of powers of two.</p>
+	 * @param generationNo - the generation to advance to.
+	 * @throws IllegalArgumentException - If the generation is before the current generation.
+	 * </blockquote>
+	 */
+	public void advanceTo(long generationNo) throws IllegalArgumentException {
+		if(generationNo < this.generationNo) {
+			throw new IllegalArgumentException("The generation can not be before the current generation.");
+		}
+		
+		// The adaptive engine can switch the board type on the way, so the type is checked every step.
+		while(this.generationNo < generationNo) {
+			if(engine != null) {
+				long start = System.nanoTime();
+				// A step larger than the largest step of HashLife is split in several steps.
+				int exponent = Math.min(63 - Long.numberOfLeadingZeros(generationNo - this.generationNo),
+						BoardHashLife.MAX_EXPONENT);
+				
+				engine.nextGeneration(exponent);
+				this.generationNo += 1L << exponent;
+				stepNanos += System.nanoTime() - start;
+				selectEngine();
+				continue;
+			}
+			
+			// The cycle was found under the rule the board was last stepped with, and is forgotten when the
+			// rule has changed since.
+			if(cyclePeriod != 0 && (birthMask != gr.getBirthMask() || surviveMask != gr.getSurviveMask())) {
+				resetCycle();
+			}
+			
+			if(cyclePeriod != 0) {
+				this.generationNo += (generationNo - this.generationNo) / cyclePeriod * cyclePeriod;
+				
+				if(this.generationNo == generationNo) {
+					return;
+				}
+			}
+			
+			if(blockedKernel != null && boardType == BoardType.STATIC &&
+					generationNo - this.generationNo >= blockedKernel.getDepth()) {
+				nextGenerationsBlocked();
+				continue;
+			}
+			
+			nextGeneration();
+		}
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>nextGenerationsBlocked</i></b>
+	 * <pre>{@code private void nextGenerationsBlocked()}</pre>
+	 * <p>Advances a STATIC board one block of generations with the {@link KernelBlocked}. The tiles don't
+	 * depend on each other, so they are scheduled like the regions or the bands of the schedule mode, and the
+	 * boards are swapped when all the tiles are done.</p>
+	 * </blockquote>
+	 */
+	private void nextGenerationsBlocked() {
+		long start = System.nanoTime();
+		
+		final BoardStatic cur = (BoardStatic) curGenBoard;
+		final BoardStatic next = (BoardStatic) newGenBoard;
+		final BoardStatic act = (BoardStatic) newActiveCells;
+		final KernelBlocked blocked = blockedKernel;
+		final int tiles = KernelBlocked.getTileCount(cur);
+		final GenerationStats tileStats[] = new GenerationStats[tiles];
+		
+		birthMask = gr.getBirthMask();
+		surviveMask = gr.getSurviveMask();
+		
+		RegionScheduler.RegionJob job = tile -> {
+			tileStats[tile] = new GenerationStats();
+			tileStats[tile].setOrigin(originX, originY);
+			blocked.nextGenerations(cur, next, act, tile, tileStats[tile]);
+		};
+		
+		if(regionScheduler != null) {
+			if(blockCost.length != tiles) {
+				blockCost = new long[tiles];
+			}
+			
+			regionScheduler.run(tiles, blockCost, job);
+		} else if(workerPool != null) {
+			final int workers = workerPool.getWorkerCount();
+			Runnable jobs[] = new Runnable[workers];
+			
+			for(int i = 0; i < workers; i++) {
+				final int first = i;
+				
+				jobs[i] = () -> {
+					for(int tile = first; tile < tiles; tile += workers) {
+						job.compute(tile);
+					}
+				};
+			}
+			
+			workerPool.run(jobs);
+		} else {
+			for(int tile = 0; tile < tiles; tile++) {
+				job.compute(tile);
+			}
+		}
+		
+		stats.reset();
+		
+		for(GenerationStats counts : tileStats) {
+			stats.add(counts);
+		}
+		
+		population += stats.getBirths() - stats.getDeaths();
+		hash += stats.getHash();
+		boundingBox = stats.getBoundingBox();
+		boundingBoxValid = true;
+		
+		oldGenBoard = curGenBoard;
+		curGenBoard = newGenBoard;
+		newGenBoard = oldGenBoard;
+		
+		oldActiveCells = curActiveCells;
+		curActiveCells = newActiveCells;
+		newActiveCells = oldActiveCells;
+		
+		// The cell by cell mode only writes the changed cells and their neighbours, and reads the rest of the
+		// next generation from the board it writes to. That board holds the generation the block started
+		// from, so the last generation is copied to it.
+		if(kernel == null) {
+			long[][] last = ((BoardStatic) curGenBoard).getBoard();
+			long[][] other = ((BoardStatic) newGenBoard).getBoard();
+			
+			for(int j = 0; j < last.length; j++) {
+				System.arraycopy(last[j], 0, other[j], 0, last[j].length);
+			}
+		}
+		
+		generationNo += blocked.getDepth();
+		resetCycle();
+		stepNanos += System.nanoTime() - start;
+	}
+	
+	/**
+	 * 
+	 * <blockquote>
+	 * <b><i>clear</i></b>
 	 * <pre>{@code public void clear()} </pre>
 	 * <p> Clears the board where all cells are set to dead. </p>
 	 * </blockquote>
 	 * 
 	 */
 	public void clear() {
+		resetCycle();
 		generationNo = 0;
+		resetEngineSelector();
+		population = 0;
+		hash = 0;
+		absorbedCount = 0;
+		escapees.clear();
+		stats.reset();
+		boundingBox = null;
+		boundingBoxValid = true;
 		curGenBoard.clearBoard();
+		
+		if(engine != null) {
+			return;
+		}
+		
 		newGenBoard.clearBoard();
 		curActiveCells.clearBoard();
 		newActiveCells.clearBoard();
@@ -364,11 +2124,35 @@ public class GameBoard  {
 	 * 
 	 */
 	public void resetSize() {
+		resetCycle();
 		generationNo = 0;
+		resetEngineSelector();
 		curGenBoard.resetSize();
+		
+		if(engine != null) {
+			return;
+		}
+		
 		newGenBoard.resetSize();
 		curActiveCells.resetSize();
 		newActiveCells.resetSize();
+		
+		// The cells outside the default size are lost, so the population is counted again.
+		originX = 0;
+		originY = 0;
+		frameX = 0;
+		frameY = 0;
+		population = 0;
+		stats.reset();
+		boundingBoxValid = false;
+		
+		for(int j = 0; j < curGenBoard.getNumRows(); j++) {
+			for(int i = 0; i < curGenBoard.getNumColumns(); i++) {
+				population += Long.bitCount(curGenBoard.getElement(i, j));
+			}
+		}
+		
+		hash = BoardHash.of(curGenBoard);
 	}
 	
 	/**
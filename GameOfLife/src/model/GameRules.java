@@ -509,4 +509,49 @@ public class GameRules {
 		String Values= values.toString();
 		return Values;
 	}
+
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getBirthMask</i></b>
+	 * <pre>{@code}public int getBirthMask()</pre>
+	 * <p>Returns the birth rules as a bit mask, where bit n is set if a dead cell with n neighbours
+	 * becomes alive. Used by the stepping engines that work on whole words instead of single cells.</p>
+	 * 
+	 * @return mask - the birth rules as a bit mask.
+	 * 
+	 * </blockquote>
+	 */
+	
+	public int getBirthMask() {
+		return getRuleMask(rulesBirth);
+	}
+	
+	/**
+	 * <blockquote>
+	 * <b><i>getSurviveMask</i></b>
+	 * <pre>{@code}public int getSurviveMask()</pre>
+	 * <p>Returns the survive rules as a bit mask, where bit n is set if a living cell with n neighbours
+	 * stays alive.</p>
+	 * 
+	 * @return mask - the survive rules as a bit mask.
+	 * 
+	 * </blockquote>
+	 */
+	
+	public int getSurviveMask() {
+		return getRuleMask(rulesSurvive);
+	}
+	
+	private int getRuleMask(boolean[] ruleArray) {
+		int mask = 0;
+		
+		for(int i = 0; i < ruleArray.length; i++) {
+			if(ruleArray[i]) {
+				mask |= (1 << i);
+			}
+		}
+		
+		return mask;
+	}
 }
@@ -0,0 +1,67 @@
+package model;
+
+/**
+ * This interface is implemented by the boards that step their own generations, instead of being stepped
+ * cell by cell by the {@link BoardThread} jobs in {@link GameBoard}. Such a board holds the whole universe
+ * by itself, and only one instance of it is needed by the game board.
+ *
+ * @see GameBoard
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+
+public interface GenerationEngine {
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public default void nextGeneration(int exponent)}</pre>
+	 * <p>Advances the universe 2^exponent generations, according to the active rule in {@link GameRules}. By
+	 * default the generations are computed one at a time by {@link #step()}, a board which can skip
+	 * generations overrides it.</p>
+	 * @param exponent - the number of generations to advance, as a power of two.
+	 * @throws IllegalArgumentException - If the exponent is negative or above 62.
+	 * </blockquote>
+	 */
+	public default void nextGeneration(int exponent) throws IllegalArgumentException {
+		if(exponent < 0 || exponent > 62) {
+			throw new IllegalArgumentException("exponent must be between 0 and 62.");
+		}
+
+		for(long gen = 0; gen < (1L << exponent); gen++) {
+			step();
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>step</i></b>
+	 * <pre>{@code public void step()}</pre>
+	 * <p>Advances the universe one generation, according to the active rule in {@link GameRules}.</p>
+	 * </blockquote>
+	 */
+	public void step();
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPopulation</i></b>
+	 * <pre>{@code public long getPopulation()}</pre>
+	 * @return population - the number of living cells in the universe.
+	 * </blockquote>
+	 */
+	public long getPopulation();
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()}</pre>
+	 * <p>Returns the smallest rectangle containing all the living cells, as the array
+	 * {minX, minY, maxX, maxY}. The coordinates can be negative.</p>
+	 * @return boundingBox - the bounding box, or null if there are no living cells.
+	 * </blockquote>
+	 */
+	public int[] getBoundingBox();
+}
@@ -0,0 +1,36 @@
+package model;
+
+/**
+ * This interface is implemented by the stepping kernels a {@link BoardThread} can use, instead of stepping the
+ * board one cell at a time. A kernel reads the current generation and writes the next generation, for a band
+ * of rows, so the board can be split between several threads.
+ *
+ * @see GameBoard#setStepMode(GameBoard.StepMode)
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+
+public interface GenerationKernel {
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd, GenerationStats stats)}</pre>
+	 * <p>Computes the next generation of the rows from rowStart up to, but not including, rowEnd. Every element
+	 * in the rows is written to newGen, and the cells that changed are written to newAct. The born and dead cells
+	 * are counted, and the bounding box found, from the elements as they are written.</p>
+	 * @param curGen - The current generation.
+	 * @param newGen - The board the next generation is written to.
+	 * @param curAct - The cells that changed in the current generation.
+	 * @param newAct - The board the changed cells of the next generation is written to.
+	 * @param rowStart - The first row to compute.
+	 * @param rowEnd - The row after the last row to compute.
+	 * @param stats - The counts the born and dead cells and the bounding box of the rows are added to.
+	 * </blockquote>
+	 */
+	public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd,
+			GenerationStats stats);
+}
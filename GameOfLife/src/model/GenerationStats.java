@@ -0,0 +1,209 @@
+package model;
+
+/**
+ * Counts the cells that are born and the cells that die while a generation is computed, finds the
+ * bounding box of the living cells in the next generation, and sums the change of the {@link BoardHash}. Every {@link BoardThread} has its own counts,
+ * which the kernels add to as they write the elements of the next generation, so the counts are found
+ * without another pass over the board. {@link GameBoard} adds the counts of all the jobs together after
+ * the generation.
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class GenerationStats {
+
+	private long births;
+	private long deaths;
+	private long hash;
+
+	// The position on the board of the cell the hash is relative to.
+	private int originX;
+	private int originY;
+
+	private int minX = Integer.MAX_VALUE;
+	private int minY = Integer.MAX_VALUE;
+	private int maxX = Integer.MIN_VALUE;
+	private int maxY = Integer.MIN_VALUE;
+
+	/**
+	 * <blockquote>
+	 * <b><i>setOrigin</i></b>
+	 * <pre>{@code public void setOrigin(int x, int y)}</pre>
+	 * <p>Sets the cell the changes are hashed relative to, so the hash doesn't depend on where the cells are
+	 * on a board which grows or is trimmed. The origin is kept when the counts are reset.</p>
+	 * @param x - The horizontal position of the cell on the board, a multiple of 64.
+	 * @param y - The vertical position of the cell on the board.
+	 * @throws IllegalArgumentException - If x is not a multiple of 64.
+	 * </blockquote>
+	 */
+	public void setOrigin(int x, int y) throws IllegalArgumentException {
+		if((x & 63) != 0) {
+			throw new IllegalArgumentException("x must be a multiple of 64.");
+		}
+
+		originX = x;
+		originY = y;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>add</i></b>
+	 * <pre>{@code public void add(int column, int row, long oldElement, long newElement)}</pre>
+	 * <p>Counts and hashes the cells that changed between the two generations of an element, and includes
+	 * the element in the bounding box.</p>
+	 * @param column - The column of the element.
+	 * @param row - The row of the element.
+	 * @param oldElement - The element in the current generation.
+	 * @param newElement - The element in the next generation.
+	 * </blockquote>
+	 */
+	public void add(int column, int row, long oldElement, long newElement) {
+		if(oldElement != newElement) {
+			births += Long.bitCount(newElement & ~oldElement);
+			deaths += Long.bitCount(oldElement & ~newElement);
+			hash += BoardHash.change(column - (originX >> 6), row - originY, oldElement, newElement);
+		}
+
+		include(column, row, newElement);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>addCell</i></b>
+	 * <pre>{@code public void addCell(int x, int y, boolean oldState, boolean newState)}</pre>
+	 * <p>Counts and hashes one cell, if it changed between the two generations.</p>
+	 * @param x - The horizontal coordinate of the cell.
+	 * @param y - The vertical coordinate of the cell.
+	 * @param oldState - The state of the cell in the current generation.
+	 * @param newState - The state of the cell in the next generation.
+	 * </blockquote>
+	 */
+	public void addCell(int x, int y, boolean oldState, boolean newState) {
+		if(newState && !oldState) {
+			births++;
+			hash += BoardHash.key(x - originX, y - originY);
+		} else if(oldState && !newState) {
+			deaths++;
+			hash -= BoardHash.key(x - originX, y - originY);
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>include</i></b>
+	 * <pre>{@code public void include(int column, int row, long element)}</pre>
+	 * <p>Grows the bounding box to the living cells of an element in the next generation. Every element
+	 * written by a kernel is included, also the elements which are copied.</p>
+	 * @param column - The column of the element.
+	 * @param row - The row of the element.
+	 * @param element - The element in the next generation.
+	 * </blockquote>
+	 */
+	public void include(int column, int row, long element) {
+		if(element == 0) {
+			return;
+		}
+
+		int x = column << 6;
+
+		if(row < minY)
+			minY = row;
+
+		if(row > maxY)
+			maxY = row;
+
+		if(x + Long.numberOfTrailingZeros(element) < minX)
+			minX = x + Long.numberOfTrailingZeros(element);
+
+		if(x + 63 - Long.numberOfLeadingZeros(element) > maxX)
+			maxX = x + 63 - Long.numberOfLeadingZeros(element);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>add</i></b>
+	 * <pre>{@code public void add(GenerationStats stats)}</pre>
+	 * @param stats - The counts to add to these counts, the bounding boxes are joined.
+	 * </blockquote>
+	 */
+	public void add(GenerationStats stats) {
+		births += stats.births;
+		deaths += stats.deaths;
+		hash += stats.hash;
+
+		minX = Math.min(minX, stats.minX);
+		minY = Math.min(minY, stats.minY);
+		maxX = Math.max(maxX, stats.maxX);
+		maxY = Math.max(maxY, stats.maxY);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>reset</i></b>
+	 * <pre>{@code public void reset()}</pre>
+	 * <p>Sets the counts to 0, before the next generation is computed.</p>
+	 * </blockquote>
+	 */
+	public void reset() {
+		births = 0;
+		deaths = 0;
+		hash = 0;
+
+		minX = Integer.MAX_VALUE;
+		minY = Integer.MAX_VALUE;
+		maxX = Integer.MIN_VALUE;
+		maxY = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBirths</i></b>
+	 * <pre>{@code public long getBirths()}</pre>
+	 * @return births - The number of cells that were born.
+	 * </blockquote>
+	 */
+	public long getBirths() {
+		return births;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getDeaths</i></b>
+	 * <pre>{@code public long getDeaths()}</pre>
+	 * @return deaths - The number of cells that died.
+	 * </blockquote>
+	 */
+	public long getDeaths() {
+		return deaths;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getHash</i></b>
+	 * <pre>{@code public long getHash()}</pre>
+	 * @return hash - The number to add to the {@link BoardHash} of the current generation, to get the hash of
+	 * the next generation.
+	 * </blockquote>
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getBoundingBox</i></b>
+	 * <pre>{@code public int[] getBoundingBox()}</pre>
+	 * @return boundingBox - The bounding box of the included cells as {minX, minY, maxX, maxY}, or null if
+	 * there are no living cells.
+	 * </blockquote>
+	 */
+	public int[] getBoundingBox() {
+		if(maxY < minY) {
+			return null;
+		}
+
+		return new int[] { minX, minY, maxX, maxY };
+	}
+}
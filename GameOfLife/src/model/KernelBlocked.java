@@ -0,0 +1,209 @@
+package model;
+
+/**
+ * Temporally blocked stepping kernel for {@link BoardStatic}, which advances the board several generations
+ * one tile at a time, instead of one generation over the whole board at a time. A tile of
+ * {@link #TILE_COLUMNS} elements and {@link #TILE_ROWS} rows is copied into a small buffer with a halo of
+ * {@code depth} rows above and below it and one element on each side, and all the generations of the block
+ * are computed in the buffer while it is in the cache. Only the tile is written back.
+ *
+ * <p>The halo holds the cells which can reach the tile within the generations of the block, so a tile
+ * only reads the board of the current generation and only writes its own part of the board of the next
+ * generation. The tiles of a block don't depend on each other and can be computed in any order and in
+ * parallel, the only ordering needed is that a block is finished before the next block starts. The cells of
+ * the halo are computed by every tile they are next to, which is the price paid for the independence.</p>
+ *
+ * <p>The cells outside the board are dead in every generation, like for the other kernels.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class KernelBlocked {
+
+	/**
+	 * The width of a tile, in elements.
+	 */
+	public static final int TILE_COLUMNS = 8;
+
+	/**
+	 * The height of a tile, in rows.
+	 */
+	public static final int TILE_ROWS = 256;
+
+	/**
+	 * The largest number of generations in a block, the halo of one element on each side of a tile holds
+	 * the cells of this many generations.
+	 */
+	public static final int MAX_DEPTH = 64;
+
+	private GameRules gr = GameRules.getInstance();
+	private final int depth;
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>KernelBlocked</i></b>
+	 * <pre>{@code public KernelBlocked(int depth)}</pre>
+	 * @param depth - The number of generations to compute in every block.
+	 * @throws IllegalArgumentException - If the depth is less than 1 or more than {@link #MAX_DEPTH}.
+	 * </blockquote>
+	 */
+	public KernelBlocked(int depth) throws IllegalArgumentException {
+		if(depth < 1 || depth > MAX_DEPTH) {
+			throw new IllegalArgumentException("depth must be between 1 and " + MAX_DEPTH + ".");
+		}
+
+		this.depth = depth;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getDepth</i></b>
+	 * <pre>{@code public int getDepth()}</pre>
+	 * @return depth - The number of generations computed in every block.
+	 * </blockquote>
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getTileCount</i></b>
+	 * <pre>{@code public static int getTileCount(BoardStatic board)}</pre>
+	 * @param board - The board to split in tiles.
+	 * @return tiles - The number of tiles covering the board.
+	 * </blockquote>
+	 */
+	public static int getTileCount(BoardStatic board) {
+		long[][] cells = board.getBoard();
+
+		return tilesAcross(cells[0].length) * ((cells.length + TILE_ROWS - 1) / TILE_ROWS);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGenerations</i></b>
+	 * <pre>{@code public void nextGenerations(BoardStatic curGen, BoardStatic newGen, BoardStatic newAct, int tile, GenerationStats stats)}</pre>
+	 * <p>Computes the tile {@code depth} generations ahead. The tiles are numbered row by row from the top
+	 * left corner, see {@link #getTileCount(BoardStatic)}. The cells that changed in the last generation of
+	 * the block are written to newAct, and the born and dead cells are counted between the first and the
+	 * last generation of the block.</p>
+	 * @param curGen - The current generation.
+	 * @param newGen - The board the generation {@code depth} generations ahead is written to.
+	 * @param newAct - The board the cells that changed in the last generation of the block is written to.
+	 * @param tile - The tile to compute.
+	 * @param stats - The counts the born and dead cells and the bounding box of the tile are added to.
+	 * </blockquote>
+	 */
+	public void nextGenerations(BoardStatic curGen, BoardStatic newGen, BoardStatic newAct, int tile,
+			GenerationStats stats) {
+		long[][] cur = curGen.getBoard();
+		long[][] next = newGen.getBoard();
+		long[][] act = newAct.getBoard();
+
+		int birthMask = gr.getBirthMask();
+		int surviveMask = gr.getSurviveMask();
+		int rows = cur.length;
+		int columns = cur[0].length;
+		int across = tilesAcross(columns);
+
+		int firstColumn = (tile % across) * TILE_COLUMNS;
+		int firstRow = (tile / across) * TILE_ROWS;
+		int tileColumns = Math.min(TILE_COLUMNS, columns - firstColumn);
+		int tileRows = Math.min(TILE_ROWS, rows - firstRow);
+
+		// The buffer has one element more on each side of the tile, and depth rows more above and below it.
+		int width = tileColumns + 2;
+		int height = tileRows + 2 * depth;
+		int left = firstColumn - 1;
+		int top = firstRow - depth;
+
+		long[] src = new long[width * height];
+		long[] dst = new long[width * height];
+		long[] swap;
+
+		// The cells outside the board are masked away after every generation.
+		long[] columnMask = new long[width];
+		long lastMask = KernelSwar.widthMask(curGen.getBoardWidth());
+
+		for(int i = 0; i < width; i++) {
+			int column = left + i;
+			columnMask[i] = (column < 0 || column >= columns) ? 0 : (column == columns - 1) ? lastMask : -1L;
+		}
+
+		int insideStart = Math.max(0, -top);
+		int insideEnd = Math.min(height, rows - top);
+
+		for(int j = insideStart; j < insideEnd; j++) {
+			long[] row = cur[top + j];
+
+			for(int i = 0; i < width; i++) {
+				if(columnMask[i] != 0) {
+					src[j * width + i] = row[left + i];
+				}
+			}
+		}
+
+		// The rows which can still be computed from the buffer shrinks by one at the top and the bottom every
+		// generation, and the last generation leaves only the rows of the tile.
+		for(int gen = 1; gen <= depth; gen++) {
+			int rowStart = Math.max(gen, insideStart);
+			int rowEnd = Math.min(height - gen, insideEnd);
+
+			for(int j = rowStart; j < rowEnd; j++) {
+				int up = (j - 1) * width;
+				int mid = j * width;
+				int down = (j + 1) * width;
+
+				long nw = 0, n = src[up];
+				long w  = 0, c = src[mid];
+				long sw = 0, s = src[down];
+
+				for(int i = 0; i < width; i++) {
+					long ne = 0, e = 0, se = 0;
+
+					if(i + 1 < width) {
+						ne = src[up + i + 1];
+						e = src[mid + i + 1];
+						se = src[down + i + 1];
+					}
+
+					dst[mid + i] = KernelSwar.nextElement(nw, n, ne, w, c, e, sw, s, se, birthMask, surviveMask)
+							& columnMask[i];
+
+					nw = n; n = ne;
+					w  = c; c = e;
+					sw = s; s = se;
+				}
+			}
+
+			swap = src;
+			src = dst;
+			dst = swap;
+		}
+
+		// The last generation is in src now, and the generation before it in dst.
+		for(int j = depth; j < depth + tileRows; j++) {
+			int row = top + j;
+			long[] curRow = cur[row];
+			long[] nextRow = next[row];
+			long[] actRow = act[row];
+
+			for(int i = 1; i <= tileColumns; i++) {
+				int column = left + i;
+				long element = src[j * width + i];
+
+				nextRow[column] = element;
+				actRow[column] = element ^ dst[j * width + i];
+				stats.add(column, row, curRow[column], element);
+			}
+		}
+	}
+
+	private static int tilesAcross(int columns) {
+		return (columns + TILE_COLUMNS - 1) / TILE_COLUMNS;
+	}
+}
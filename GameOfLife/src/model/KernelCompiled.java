@@ -0,0 +1,128 @@
+package model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MutableCallSite;
+
+/**
+ * Bit-parallel stepping kernel where the rule is applied by a rule compiled by {@link RuleCompiler}. The
+ * neighbours are summed into bit planes like in {@link KernelSwar}, but the rule is a specialised bitwise
+ * expression instead of a loop over the neighbour counts. It implements {@link GenerationKernel}.
+ *
+ * <p>The compiled rule is called through a static final invoker of a {@link MutableCallSite}. The JIT
+ * treats the target of the call site as a constant, so the rule can be inlined into the kernel like code
+ * written for the rule, and the compiled code is thrown away when the target is changed. The target is
+ * only changed when the rule in {@link GameRules} has changed, which is shared by all the boards, and a
+ * rule which has been used before is not compiled again, see {@link RuleCompiler}.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class KernelCompiled implements GenerationKernel {
+
+	// The call site holding the compiled rule, and the invoker the kernel calls it through. The invoker must
+	// be a static final, or the JIT can not see through it to the rule.
+	private static final MutableCallSite RULE_SITE = new MutableCallSite(RuleCompiler.RULE_TYPE);
+	private static final MethodHandle RULE = RULE_SITE.dynamicInvoker();
+
+	// The rule the call site is bound to, as the survive mask above the 9 bits of the birth mask, -1 before
+	// the first rule is bound. It is written after the target, so a kernel which reads the rule it steps by
+	// also sees the target.
+	private static volatile int boundRule = -1;
+
+	// Applies the compiled rule to the bit planes summed by KernelSwar.
+	private static final KernelSwar.PlaneRule COMPILED_RULE = KernelCompiled::applyRule;
+
+	private GameRules gr = GameRules.getInstance();
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd, GenerationStats stats)}</pre>
+	 * <p>Computes the next generation of the given rows by {@link KernelSwar}, applying the compiled rule. The
+	 * call site is only bound again when the rule has changed since the last generation.</p>
+	 * @param curGen - The current generation.
+	 * @param newGen - The board the next generation is written to.
+	 * @param curAct - The cells that changed in the current generation.
+	 * @param newAct - The board the changed cells of the next generation is written to.
+	 * @param rowStart - The first row to compute.
+	 * @param rowEnd - The row after the last row to compute.
+	 * @param stats - The counts the born and dead cells and the bounding box of the rows are added to.
+	 * </blockquote>
+	 */
+	@Override
+	public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd,
+			GenerationStats stats) {
+		int birthMask = gr.getBirthMask();
+		int surviveMask = gr.getSurviveMask();
+
+		if(boundRule != ruleKey(birthMask, surviveMask)) {
+			bindRule(birthMask, surviveMask);
+		}
+
+		KernelSwar.nextRows(curGen, newGen, curAct, newAct, rowStart, rowEnd, stats, COMPILED_RULE);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextElement</i></b>
+	 * <pre>{@code public static long nextElement(long nw, long n, long ne, long w, long c, long e, long sw, long s, long se)}</pre>
+	 * <p>Computes the next generation of the element c, from the element and its eight neighbour elements,
+	 * by the rule bound with {@link #bindRule(int, int)}.</p>
+	 * @param nw - The element up to the left.
+	 * @param n - The element above.
+	 * @param ne - The element up to the right.
+	 * @param w - The element to the left.
+	 * @param c - The element to compute.
+	 * @param e - The element to the right.
+	 * @param sw - The element down to the left.
+	 * @param s - The element below.
+	 * @param se - The element down to the right.
+	 * @return next - The next generation of the element.
+	 * </blockquote>
+	 */
+	public static long nextElement(long nw, long n, long ne, long w, long c, long e, long sw, long s,
+			long se) {
+		return KernelSwar.nextElement(nw, n, ne, w, c, e, sw, s, se, COMPILED_RULE);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>bindRule</i></b>
+	 * <pre>{@code public static synchronized void bindRule(int birthMask, int surviveMask)}</pre>
+	 * <p>Binds the call site to the compiled rule, if it is bound to another rule. The new target is made
+	 * visible to all threads before this method returns.</p>
+	 * @param birthMask - The birth rules, see {@link GameRules#getBirthMask()}.
+	 * @param surviveMask - The survive rules, see {@link GameRules#getSurviveMask()}.
+	 * </blockquote>
+	 */
+	public static synchronized void bindRule(int birthMask, int surviveMask) {
+		int rule = ruleKey(birthMask, surviveMask);
+
+		if(rule == boundRule) {
+			return;
+		}
+
+		RULE_SITE.setTarget(RuleCompiler.getRule(birthMask, surviveMask));
+		MutableCallSite.syncAll(new MutableCallSite[] { RULE_SITE });
+
+		boundRule = rule;
+	}
+
+	// The masks of a rule as one number, so both are read at once.
+	private static int ruleKey(int birthMask, int surviveMask) {
+		return (surviveMask << 9) | birthMask;
+	}
+
+	// Calls the compiled rule through the invoker.
+	private static long applyRule(long ones, long twos, long fours, long eights, long alive) {
+		try {
+			return (long) RULE.invokeExact(ones, twos, fours, eights, alive);
+		} catch(RuntimeException | Error ex) {
+			throw ex;
+		} catch(Throwable ex) {
+			throw new IllegalStateException("The compiled rule failed.", ex);
+		}
+	}
+}
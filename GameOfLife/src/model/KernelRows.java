@@ -0,0 +1,176 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Stepping kernel for dense boards, working directly on the {@code long[][]} of {@link BoardStatic}. A row is
+ * computed in passes over whole arrays, where the loop bodies are straight-line bitwise operations without
+ * branches. It implements {@link GenerationKernel}.
+ *
+ * <p>For every row, the first pass sums the neighbours of all the elements into four bit plane arrays, and
+ * the second pass applies the rule to the planes. The rows are copied into buffers with one empty element
+ * on each side, so the elements at the edges don't need any special handling.</p>
+ *
+ * <p>The project targets Java 8, where the Vector API doesn't exist, so the passes are plain scalar code.
+ * They are written so the JIT compiler is able to vectorize them, but nothing makes it do so. The kernel
+ * needs the arrays of static boards, for the other boards the scalar {@link KernelSwar} is used instead.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class KernelRows implements GenerationKernel {
+
+	private GameRules gr = GameRules.getInstance();
+	private GenerationKernel fallback = new KernelSwar();
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd, GenerationStats stats)}</pre>
+	 * <p>Computes the next generation of the given rows. Every element is computed, the changed cells are
+	 * only written to newAct.</p>
+	 * @param curGen - The current generation.
+	 * @param newGen - The board the next generation is written to.
+	 * @param curAct - The cells that changed in the current generation.
+	 * @param newAct - The board the changed cells of the next generation is written to.
+	 * @param rowStart - The first row to compute.
+	 * @param rowEnd - The row after the last row to compute.
+	 * @param stats - The counts the born and dead cells and the bounding box of the rows are added to.
+	 * </blockquote>
+	 */
+	@Override
+	public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd,
+			GenerationStats stats) {
+		if(!(curGen instanceof BoardStatic) || !(newGen instanceof BoardStatic) || !(newAct instanceof BoardStatic)) {
+			fallback.nextGeneration(curGen, newGen, curAct, newAct, rowStart, rowEnd, stats);
+			return;
+		}
+
+		long[][] cur = ((BoardStatic) curGen).getBoard();
+		long[][] next = ((BoardStatic) newGen).getBoard();
+		long[][] act = ((BoardStatic) newAct).getBoard();
+
+		int birthMask = gr.getBirthMask();
+		int surviveMask = gr.getSurviveMask();
+		int rows = cur.length;
+		int columns = cur[0].length;
+		long lastMask = KernelSwar.widthMask(curGen.getBoardWidth());
+
+		rowEnd = Math.min(rowEnd, rows);
+
+		// Padded copies of the row above, the row and the row below.
+		long[] up = new long[columns + 2];
+		long[] mid = new long[columns + 2];
+		long[] down = new long[columns + 2];
+		long[] swap;
+
+		long[] ones = new long[columns];
+		long[] twos = new long[columns];
+		long[] fours = new long[columns];
+		long[] eights = new long[columns];
+
+		if(rowStart > 0 && rowStart <= rows) {
+			System.arraycopy(cur[rowStart - 1], 0, mid, 1, columns);
+		}
+		if(rowStart < rows) {
+			System.arraycopy(cur[rowStart], 0, down, 1, columns);
+		}
+
+		for(int row = rowStart; row < rowEnd; row++) {
+			swap = up;
+			up = mid;
+			mid = down;
+			down = swap;
+
+			if(row + 1 < rows) {
+				System.arraycopy(cur[row + 1], 0, down, 1, columns);
+			} else {
+				Arrays.fill(down, 0L);
+			}
+
+			countNeighbours(up, mid, down, ones, twos, fours, eights, columns);
+			applyRule(ones, twos, fours, eights, mid, next[row], columns, birthMask, surviveMask);
+
+			next[row][columns - 1] &= lastMask;
+
+			long[] curRow = cur[row];
+			long[] actRow = act[row];
+			long[] nextRow = next[row];
+
+			for(int i = 0; i < columns; i++) {
+				actRow[i] = nextRow[i] ^ curRow[i];
+				stats.add(i, row, curRow[i], nextRow[i]);
+			}
+		}
+	}
+
+	// Sums the eight neighbours of every element into four bit planes, the input rows are padded by one.
+	private static void countNeighbours(long[] up, long[] mid, long[] down,
+			long[] ones, long[] twos, long[] fours, long[] eights, int columns) {
+
+		for(int i = 0; i < columns; i++) {
+			long a0 = (up[i + 1] << 1) | (up[i] >>> 63);
+			long a1 = up[i + 1];
+			long a2 = (up[i + 1] >>> 1) | (up[i + 2] << 63);
+			long a3 = (mid[i + 1] << 1) | (mid[i] >>> 63);
+			long a4 = (mid[i + 1] >>> 1) | (mid[i + 2] << 63);
+			long a5 = (down[i + 1] << 1) | (down[i] >>> 63);
+			long a6 = down[i + 1];
+			long a7 = (down[i + 1] >>> 1) | (down[i + 2] << 63);
+
+			long x0 = a0 ^ a1;
+			long sumA = x0 ^ a2;
+			long carryA = (a0 & a1) | (x0 & a2);
+
+			long x1 = a3 ^ a4;
+			long sumB = x1 ^ a5;
+			long carryB = (a3 & a4) | (x1 & a5);
+
+			long sumC = a6 ^ a7;
+			long carryC = a6 & a7;
+
+			long x2 = sumA ^ sumB;
+			long carryD = (sumA & sumB) | (x2 & sumC);
+
+			long x3 = carryA ^ carryB;
+			long sumE = x3 ^ carryC;
+			long carryE = (carryA & carryB) | (x3 & carryC);
+			long carryF = sumE & carryD;
+
+			ones[i] = x2 ^ sumC;
+			twos[i] = sumE ^ carryD;
+			fours[i] = carryE ^ carryF;
+			eights[i] = carryE & carryF;
+		}
+	}
+
+	// Applies the rule with one pass for every neighbour count in the rule, the alive row is padded by one.
+	private static void applyRule(long[] ones, long[] twos, long[] fours, long[] eights, long[] alive,
+			long[] next, int columns, int birthMask, int surviveMask) {
+
+		Arrays.fill(next, 0, columns, 0L);
+
+		for(int count = 0; count < 9; count++) {
+			long birth = -((birthMask >> count) & 1L);
+			long survive = -((surviveMask >> count) & 1L);
+
+			if((birth | survive) == 0) {
+				continue;
+			}
+
+			long o = -(count & 1L);
+			long t = -((count >> 1) & 1L);
+			long f = -((count >> 2) & 1L);
+			long e = -((count >> 3) & 1L);
+
+			for(int i = 0; i < columns; i++) {
+				long equal = ~((ones[i] ^ o) | (twos[i] ^ t) | (fours[i] ^ f) | (eights[i] ^ e));
+				long cell = alive[i + 1];
+
+				next[i] |= equal & ((cell & survive) | (~cell & birth));
+			}
+		}
+	}
+}
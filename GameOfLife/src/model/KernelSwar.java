@@ -0,0 +1,278 @@
+package model;
+
+/**
+ * Bit-parallel (SWAR) stepping kernel, where all the 64 cells of an element are computed at once from the three
+ * neighbouring rows. The eight neighbours of every cell are summed into four bit planes by carry-save adders,
+ * and the rule is applied to the planes with bitwise operations. Any outer-totalistic rule set in
+ * {@link GameRules} is supported. It implements {@link GenerationKernel}.
+ *
+ * <p>Elements where neither the element itself nor its neighbour elements had any changed cells in the
+ * current generation are copied instead of computed.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class KernelSwar implements GenerationKernel {
+
+	private GameRules gr = GameRules.getInstance();
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd, GenerationStats stats)}</pre>
+	 * <p>Computes the next generation of the given rows, one element at a time. The elements are read through a
+	 * window sliding along the rows, so every element is only read once for each of the three rows.</p>
+	 * @param curGen - The current generation.
+	 * @param newGen - The board the next generation is written to.
+	 * @param curAct - The cells that changed in the current generation.
+	 * @param newAct - The board the changed cells of the next generation is written to.
+	 * @param rowStart - The first row to compute.
+	 * @param rowEnd - The row after the last row to compute.
+	 * @param stats - The counts the born and dead cells and the bounding box of the rows are added to.
+	 * </blockquote>
+	 */
+	@Override
+	public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd,
+			GenerationStats stats) {
+		nextRows(curGen, newGen, curAct, newAct, rowStart, rowEnd, stats,
+				new MaskRule(gr.getBirthMask(), gr.getSurviveMask()));
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextRows</i></b>
+	 * <pre>{@code static void nextRows(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd, GenerationStats stats, PlaneRule rule)}</pre>
+	 * <p>Computes the next generation of the given rows, one element at a time, where the rule is applied to the
+	 * bit planes by the given rule. It is shared with {@link KernelCompiled}.</p>
+	 * @param curGen - The current generation.
+	 * @param newGen - The board the next generation is written to.
+	 * @param curAct - The cells that changed in the current generation.
+	 * @param newAct - The board the changed cells of the next generation is written to.
+	 * @param rowStart - The first row to compute.
+	 * @param rowEnd - The row after the last row to compute.
+	 * @param stats - The counts the born and dead cells and the bounding box of the rows are added to.
+	 * @param rule - The rule applied to the bit planes.
+	 * </blockquote>
+	 */
+	static void nextRows(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd,
+			GenerationStats stats, PlaneRule rule) {
+		int columns = (int) curGen.getNumColumns();
+		long lastMask = widthMask(curGen.getBoardWidth());
+
+		rowEnd = (int) Math.min(rowEnd, curGen.getNumRows());
+
+		for(int row = rowStart; row < rowEnd; row++) {
+			long nw = 0, n = curGen.getElement(0, row - 1);
+			long w  = 0, c = curGen.getElement(0, row);
+			long sw = 0, s = curGen.getElement(0, row + 1);
+
+			long actW = 0;
+			long actC = curAct.getElement(0, row - 1) | curAct.getElement(0, row) | curAct.getElement(0, row + 1);
+
+			for(int col = 0; col < columns; col++) {
+				long ne = curGen.getElement(col + 1, row - 1);
+				long e  = curGen.getElement(col + 1, row);
+				long se = curGen.getElement(col + 1, row + 1);
+
+				long actE = curAct.getElement(col + 1, row - 1) |
+							curAct.getElement(col + 1, row) |
+							curAct.getElement(col + 1, row + 1);
+
+				if((actW | actC | actE) == 0) {
+					newGen.setElement(col, row, c);
+					newAct.setElement(col, row, 0L);
+					stats.include(col, row, c);
+				} else {
+					long next = nextElement(nw, n, ne, w, c, e, sw, s, se, rule);
+
+					if(col == columns - 1) {
+						next &= lastMask;
+					}
+
+					newGen.setElement(col, row, next);
+					newAct.setElement(col, row, next ^ c);
+					stats.add(col, row, c, next);
+				}
+
+				nw = n; n = ne;
+				w  = c; c = e;
+				sw = s; s = se;
+
+				actW = actC;
+				actC = actE;
+			}
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextElement</i></b>
+	 * <pre>{@code public static long nextElement(long nw, long n, long ne, long w, long c, long e, long sw, long s, long se, int birthMask, int surviveMask)}</pre>
+	 * <p>Computes the next generation of the element c, from the element and its eight neighbour elements.
+	 * Bit i of an element is the cell i positions to the right of the element's first cell.</p>
+	 * @param nw - The element up to the left.
+	 * @param n - The element above.
+	 * @param ne - The element up to the right.
+	 * @param w - The element to the left.
+	 * @param c - The element to compute.
+	 * @param e - The element to the right.
+	 * @param sw - The element down to the left.
+	 * @param s - The element below.
+	 * @param se - The element down to the right.
+	 * @param birthMask - The birth rules, see {@link GameRules#getBirthMask()}.
+	 * @param surviveMask - The survive rules, see {@link GameRules#getSurviveMask()}.
+	 * @return next - The next generation of the element.
+	 * </blockquote>
+	 */
+	public static long nextElement(long nw, long n, long ne, long w, long c, long e, long sw, long s, long se,
+			int birthMask, int surviveMask) {
+		return nextElement(nw, n, ne, w, c, e, sw, s, se, new MaskRule(birthMask, surviveMask));
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextElement</i></b>
+	 * <pre>{@code static long nextElement(long nw, long n, long ne, long w, long c, long e, long sw, long s, long se, PlaneRule rule)}</pre>
+	 * <p>Computes the next generation of the element c like {@link #nextElement(long, long, long, long, long,
+	 * long, long, long, long, int, int)}, where the rule is applied to the bit planes by the given rule.</p>
+	 * @param nw - The element up to the left.
+	 * @param n - The element above.
+	 * @param ne - The element up to the right.
+	 * @param w - The element to the left.
+	 * @param c - The element to compute.
+	 * @param e - The element to the right.
+	 * @param sw - The element down to the left.
+	 * @param s - The element below.
+	 * @param se - The element down to the right.
+	 * @param rule - The rule applied to the bit planes.
+	 * @return next - The next generation of the element.
+	 * </blockquote>
+	 */
+	static long nextElement(long nw, long n, long ne, long w, long c, long e, long sw, long s, long se,
+			PlaneRule rule) {
+		// The neighbours to the left of a cell is one bit down, and to the right one bit up.
+		// The bits shifted in comes from the neighbour elements.
+		long a0 = (n << 1) | (nw >>> 63);
+		long a1 = n;
+		long a2 = (n >>> 1) | (ne << 63);
+		long a3 = (c << 1) | (w >>> 63);
+		long a4 = (c >>> 1) | (e << 63);
+		long a5 = (s << 1) | (sw >>> 63);
+		long a6 = s;
+		long a7 = (s >>> 1) | (se << 63);
+
+		// Carry-save adders, three full adders and one half adder on the first level.
+		long x0 = a0 ^ a1;
+		long sumA = x0 ^ a2;
+		long carryA = (a0 & a1) | (x0 & a2);
+
+		long x1 = a3 ^ a4;
+		long sumB = x1 ^ a5;
+		long carryB = (a3 & a4) | (x1 & a5);
+
+		long sumC = a6 ^ a7;
+		long carryC = a6 & a7;
+
+		// Ones are the sum of the first level sums, its carry has the weight of two.
+		long x2 = sumA ^ sumB;
+		long ones = x2 ^ sumC;
+		long carryD = (sumA & sumB) | (x2 & sumC);
+
+		// Four bits of weight two is summed into twos, fours and eights.
+		long x3 = carryA ^ carryB;
+		long sumE = x3 ^ carryC;
+		long carryE = (carryA & carryB) | (x3 & carryC);
+
+		long twos = sumE ^ carryD;
+		long carryF = sumE & carryD;
+
+		long fours = carryE ^ carryF;
+		long eights = carryE & carryF;
+
+		return rule.apply(ones, twos, fours, eights, c);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>applyRule</i></b>
+	 * <pre>{@code public static long applyRule(long ones, long twos, long fours, long eights, long alive, int birthMask, int surviveMask)}</pre>
+	 * <p>Applies the rule to 64 cells at once, where the neighbour count of every cell is given as four bit planes.</p>
+	 * @param ones - Bit plane with weight 1 of the neighbour count.
+	 * @param twos - Bit plane with weight 2 of the neighbour count.
+	 * @param fours - Bit plane with weight 4 of the neighbour count.
+	 * @param eights - Bit plane with weight 8 of the neighbour count.
+	 * @param alive - The current state of the cells.
+	 * @param birthMask - The birth rules, see {@link GameRules#getBirthMask()}.
+	 * @param surviveMask - The survive rules, see {@link GameRules#getSurviveMask()}.
+	 * @return next - The next state of the cells.
+	 * </blockquote>
+	 */
+	public static long applyRule(long ones, long twos, long fours, long eights, long alive,
+			int birthMask, int surviveMask) {
+		long next = 0;
+
+		for(int count = 0; count < 9; count++) {
+			boolean birth = ((birthMask >> count) & 1) == 1;
+			boolean survive = ((surviveMask >> count) & 1) == 1;
+
+			if(birth || survive) {
+				long equal = ((count & 1) != 0 ? ones   : ~ones) &
+							 ((count & 2) != 0 ? twos   : ~twos) &
+							 ((count & 4) != 0 ? fours  : ~fours) &
+							 ((count & 8) != 0 ? eights : ~eights);
+
+				if(birth && survive) {
+					next |= equal;
+				} else if(birth) {
+					next |= equal & ~alive;
+				} else {
+					next |= equal & alive;
+				}
+			}
+		}
+
+		return next;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>widthMask</i></b>
+	 * <pre>{@code public static long widthMask(long boardWidth)}</pre>
+	 * <p>Returns the mask of the cells in the last element of a row, which is inside the board width.</p>
+	 * @param boardWidth - The width of the board in cells.
+	 * @return mask - The mask of the last element.
+	 * </blockquote>
+	 */
+	public static long widthMask(long boardWidth) {
+		int bits = (int) (boardWidth & 63);
+
+		return (bits == 0) ? -1L : (1L << bits) - 1;
+	}
+
+	/**
+	 * A rule applied to 64 cells at once, where the neighbour count of every cell is given as four bit planes,
+	 * see {@link KernelSwar#applyRule(long, long, long, long, long, int, int)}.
+	 */
+	interface PlaneRule {
+		long apply(long ones, long twos, long fours, long eights, long alive);
+	}
+
+	// The rule given by the birth and survive masks of GameRules.
+	private static final class MaskRule implements PlaneRule {
+
+		private final int birthMask;
+		private final int surviveMask;
+
+		MaskRule(int birthMask, int surviveMask) {
+			this.birthMask = birthMask;
+			this.surviveMask = surviveMask;
+		}
+
+		@Override
+		public long apply(long ones, long twos, long fours, long eights, long alive) {
+			return applyRule(ones, twos, fours, eights, alive, birthMask, surviveMask);
+		}
+	}
+}
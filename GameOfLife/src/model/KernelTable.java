@@ -0,0 +1,194 @@
+package model;
+
+/**
+ * Lookup table stepping kernel. A table with 65536 entries gives the next generation of the four center
+ * cells of every possible 4x4 block, so two rows are computed with one table lookup for every two cells,
+ * without counting neighbours or checking the rules. It implements {@link GenerationKernel}.
+ *
+ * <p>The table is generated from the rule in {@link GameRules}, and generated again the first time the
+ * kernel is used after the rule has changed. Any outer-totalistic rule is supported.</p>
+ *
+ * <p>Elements where neither the element itself nor its neighbour elements had any changed cells in the
+ * current generation are copied instead of computed.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class KernelTable implements GenerationKernel {
+
+	// The table and the rule it was generated for, replaced as a whole so the threads sees a complete table.
+	private static final class RuleTable {
+		final int birthMask;
+		final int surviveMask;
+		final byte[] next;
+
+		RuleTable(int birthMask, int surviveMask) {
+			this.birthMask = birthMask;
+			this.surviveMask = surviveMask;
+			this.next = createTable(birthMask, surviveMask);
+		}
+	}
+
+	private GameRules gr = GameRules.getInstance();
+	private volatile RuleTable table;
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextGeneration</i></b>
+	 * <pre>{@code public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd, GenerationStats stats)}</pre>
+	 * <p>Computes the next generation of the given rows, two rows at a time. If the band has an odd number
+	 * of rows, only the first row of the last pair is written.</p>
+	 * @param curGen - The current generation.
+	 * @param newGen - The board the next generation is written to.
+	 * @param curAct - The cells that changed in the current generation.
+	 * @param newAct - The board the changed cells of the next generation is written to.
+	 * @param rowStart - The first row to compute.
+	 * @param rowEnd - The row after the last row to compute.
+	 * @param stats - The counts the born and dead cells and the bounding box of the rows are added to.
+	 * </blockquote>
+	 */
+	@Override
+	public void nextGeneration(Board curGen, Board newGen, Board curAct, Board newAct, int rowStart, int rowEnd,
+			GenerationStats stats) {
+		byte[] next = getTable(gr.getBirthMask(), gr.getSurviveMask());
+		int columns = (int) curGen.getNumColumns();
+		long lastMask = KernelSwar.widthMask(curGen.getBoardWidth());
+
+		rowEnd = (int) Math.min(rowEnd, curGen.getNumRows());
+
+		// Four rows of three elements, the row above the pair, the pair and the row below.
+		long[] w = new long[4];
+		long[] c = new long[4];
+		long[] e = new long[4];
+
+		for(int row = rowStart; row < rowEnd; row += 2) {
+			boolean pair = row + 1 < rowEnd;
+
+			long actW = 0;
+			long actC = 0;
+
+			for(int r = 0; r < 4; r++) {
+				w[r] = 0;
+				c[r] = curGen.getElement(0, row - 1 + r);
+				actC |= curAct.getElement(0, row - 1 + r);
+			}
+
+			for(int col = 0; col < columns; col++) {
+				long actE = 0;
+
+				for(int r = 0; r < 4; r++) {
+					e[r] = curGen.getElement(col + 1, row - 1 + r);
+					actE |= curAct.getElement(col + 1, row - 1 + r);
+				}
+
+				long next0 = c[1];
+				long next1 = c[2];
+
+				if((actW | actC | actE) != 0) {
+					next0 = 0;
+					next1 = 0;
+
+					for(int x = 0; x < Long.SIZE; x += 2) {
+						int index = nibble(w[0], c[0], e[0], x) |
+									nibble(w[1], c[1], e[1], x) << 4 |
+									nibble(w[2], c[2], e[2], x) << 8 |
+									nibble(w[3], c[3], e[3], x) << 12;
+						int result = next[index];
+
+						next0 |= (long) (result & 3) << x;
+						next1 |= (long) ((result >>> 2) & 3) << x;
+					}
+
+					if(col == columns - 1) {
+						next0 &= lastMask;
+						next1 &= lastMask;
+					}
+				}
+
+				newGen.setElement(col, row, next0);
+				newAct.setElement(col, row, next0 ^ c[1]);
+				stats.add(col, row, c[1], next0);
+
+				if(pair) {
+					newGen.setElement(col, row + 1, next1);
+					newAct.setElement(col, row + 1, next1 ^ c[2]);
+					stats.add(col, row + 1, c[2], next1);
+				}
+
+				long[] swap = w;
+				w = c;
+				c = e;
+				e = swap;
+
+				actW = actC;
+				actC = actE;
+			}
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>createTable</i></b>
+	 * <pre>{@code public static byte[] createTable(int birthMask, int surviveMask)}</pre>
+	 * <p>Creates the table of the rule. The index is a 4x4 block, where bit y*4+x is the cell (x, y), and
+	 * the entry is the next generation of the four center cells, where bit (y-1)*2+(x-1) is the cell (x, y).</p>
+	 * @param birthMask - The birth rules, see {@link GameRules#getBirthMask()}.
+	 * @param surviveMask - The survive rules, see {@link GameRules#getSurviveMask()}.
+	 * @return table - The table with 65536 entries.
+	 * </blockquote>
+	 */
+	public static byte[] createTable(int birthMask, int surviveMask) {
+		byte[] table = new byte[1 << 16];
+
+		for(int block = 0; block < table.length; block++) {
+			int result = 0;
+
+			for(int cy = 1; cy <= 2; cy++) {
+				for(int cx = 1; cx <= 2; cx++) {
+					int neighbours = 0;
+
+					for(int dy = -1; dy <= 1; dy++) {
+						for(int dx = -1; dx <= 1; dx++) {
+							if(dx != 0 || dy != 0) {
+								neighbours += (block >>> ((cy + dy) * 4 + cx + dx)) & 1;
+							}
+						}
+					}
+
+					boolean alive = ((block >>> (cy * 4 + cx)) & 1) == 1;
+					int rule = alive ? surviveMask : birthMask;
+
+					result |= ((rule >>> neighbours) & 1) << ((cy - 1) * 2 + (cx - 1));
+				}
+			}
+
+			table[block] = (byte) result;
+		}
+
+		return table;
+	}
+
+	private byte[] getTable(int birthMask, int surviveMask) {
+		RuleTable current = table;
+
+		if(current == null || current.birthMask != birthMask || current.surviveMask != surviveMask) {
+			current = new RuleTable(birthMask, surviveMask);
+			table = current;
+		}
+
+		return current.next;
+	}
+
+	// The four cells from x-1 to x+2 of a row, the cells outside the element are read from its neighbours.
+	private static int nibble(long w, long c, long e, int x) {
+		if(x == 0) {
+			return (int) (((c << 1) | (w >>> 63)) & 0xF);
+		} else if(x == 62) {
+			return (int) (((c >>> 61) & 0x7) | ((e & 1L) << 3));
+		}
+
+		return (int) ((c >>> (x - 1)) & 0xF);
+	}
+}
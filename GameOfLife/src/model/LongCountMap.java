@@ -0,0 +1,183 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive long keys to positive counts, using open addressing with linear probing like
+ * {@link LongHashMap}. A key is added the first time it is counted, and a count of 0 marks a free slot, so
+ * no other marker is needed. The map can be walked slot by slot with {@link #nextSlot(int)} without
+ * creating an iterator.
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class LongCountMap {
+
+	private long[] keys;
+	private int[] counts;
+	private int size;
+	private int mask;
+
+	/**
+	 * <blockquote>
+	 * <b><i>LongCountMap</i></b>
+	 * <pre>{@code public LongCountMap()}</pre>
+	 * <p>Creates a new, empty map.</p>
+	 * </blockquote>
+	 */
+	public LongCountMap() {
+		keys = new long[16];
+		counts = new int[16];
+		mask = 15;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>get</i></b>
+	 * <pre>{@code public int get(long key)}</pre>
+	 * @param key - The key to look up.
+	 * @return count - The count of the key, or 0 if it has not been counted.
+	 * </blockquote>
+	 */
+	public int get(long key) {
+		int slot = LongHashMap.mix(key) & mask;
+
+		while(counts[slot] != 0) {
+			if(keys[slot] == key) {
+				return counts[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>increment</i></b>
+	 * <pre>{@code public void increment(long key)}</pre>
+	 * <p>Adds one to the count of the key, the key is added with the count 1 if it is not in the map.</p>
+	 * @param key - The key to count.
+	 * </blockquote>
+	 */
+	public void increment(long key) {
+		int slot = LongHashMap.mix(key) & mask;
+
+		while(counts[slot] != 0) {
+			if(keys[slot] == key) {
+				counts[slot]++;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		counts[slot] = 1;
+
+		if(++size > (keys.length >> 1)) {
+			resize(keys.length << 1);
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextSlot</i></b>
+	 * <pre>{@code public int nextSlot(int slot)}</pre>
+	 * <p>Finds the next slot with a key, see {@link LongHashSet#nextSlot(int)}.</p>
+	 * @param slot - The first slot to look in.
+	 * @return slot - The first slot from the given slot which has a key, or -1 if there are no more keys.
+	 * </blockquote>
+	 */
+	public int nextSlot(int slot) {
+		while(slot < counts.length) {
+			if(counts[slot] != 0) {
+				return slot;
+			}
+			slot++;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>keyAt</i></b>
+	 * <pre>{@code public long keyAt(int slot)}</pre>
+	 * @param slot - A slot found by {@link #nextSlot(int)}.
+	 * @return key - The key in the slot.
+	 * </blockquote>
+	 */
+	public long keyAt(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>countAt</i></b>
+	 * <pre>{@code public int countAt(int slot)}</pre>
+	 * @param slot - A slot found by {@link #nextSlot(int)}.
+	 * @return count - The count of the key in the slot.
+	 * </blockquote>
+	 */
+	public int countAt(int slot) {
+		return counts[slot];
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>size</i></b>
+	 * <pre>{@code public int size()}</pre>
+	 * @return size - The number of keys in the map.
+	 * </blockquote>
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>clear</i></b>
+	 * <pre>{@code public void clear()}</pre>
+	 * <p>Removes all the keys from the map. The map keeps its capacity unless it was mostly empty, so it can
+	 * be filled again without growing.</p>
+	 * </blockquote>
+	 */
+	public void clear() {
+		// A mostly empty table is made smaller, so walking it stays proportional to the number of keys.
+		if(keys.length > 16 && size < (keys.length >> 3)) {
+			int length = Math.max(16, Integer.highestOneBit(size) << 2);
+
+			keys = new long[length];
+			counts = new int[length];
+			mask = length - 1;
+		} else if(size > 0) {
+			Arrays.fill(counts, 0);
+		}
+
+		size = 0;
+	}
+
+	private void resize(int length) {
+		long[] oldKeys = keys;
+		int[] oldCounts = counts;
+
+		keys = new long[length];
+		counts = new int[length];
+		mask = length - 1;
+
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldCounts[i] != 0) {
+				int slot = LongHashMap.mix(oldKeys[i]) & mask;
+
+				while(counts[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+
+				keys[slot] = oldKeys[i];
+				counts[slot] = oldCounts[i];
+			}
+		}
+	}
+}
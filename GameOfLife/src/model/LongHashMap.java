@@ -0,0 +1,199 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A hash map with primitive long keys, using open addressing with linear probing. The keys are never boxed,
+ * which makes it suitable for looking up the tiles of a sparse board by their packed coordinates.
+ *
+ * @param <V> - The type of the values.
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class LongHashMap<V> {
+
+	private long[] keys;
+	private Object[] values;
+	private int size;
+	private int mask;
+
+	/**
+	 * <blockquote>
+	 * <b><i>LongHashMap</i></b>
+	 * <pre>{@code public LongHashMap()}</pre>
+	 * <p>Creates a new, empty map.</p>
+	 * </blockquote>
+	 */
+	public LongHashMap() {
+		clear();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>get</i></b>
+	 * <pre>{@code public V get(long key)}</pre>
+	 * @param key - The key to look up.
+	 * @return value - The value of the key, or null if the map doesn't contain the key.
+	 * </blockquote>
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int slot = mix(key) & mask;
+
+		while(values[slot] != null) {
+			if(keys[slot] == key) {
+				return (V) values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return null;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>put</i></b>
+	 * <pre>{@code public void put(long key, V value)}</pre>
+	 * <p>Sets the value of the key, an existing value is replaced.</p>
+	 * @param key - The key.
+	 * @param value - The value of the key.
+	 * @throws NullPointerException - If the value is null.
+	 * </blockquote>
+	 */
+	public void put(long key, V value) throws NullPointerException {
+		if(value == null) {
+			throw new NullPointerException("value can not be null.");
+		}
+
+		int slot = mix(key) & mask;
+
+		while(values[slot] != null) {
+			if(keys[slot] == key) {
+				values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+
+		if(++size > (keys.length >> 1)) {
+			resize(keys.length << 1);
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>remove</i></b>
+	 * <pre>{@code public void remove(long key)}</pre>
+	 * <p>Removes the key from the map. The following keys in the probe sequence are moved back, so no
+	 * deleted markers are needed.</p>
+	 * @param key - The key to remove.
+	 * </blockquote>
+	 */
+	public void remove(long key) {
+		int slot = mix(key) & mask;
+
+		while(values[slot] != null) {
+			if(keys[slot] == key) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if(values[slot] == null) {
+			return;
+		}
+
+		values[slot] = null;
+		size--;
+
+		int next = (slot + 1) & mask;
+
+		while(values[next] != null) {
+			int home = mix(keys[next]) & mask;
+
+			// The entry is moved into the free slot if the free slot is between its home and its slot.
+			if(((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				values[next] = null;
+				slot = next;
+			}
+
+			next = (next + 1) & mask;
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>size</i></b>
+	 * <pre>{@code public int size()}</pre>
+	 * @return size - The number of keys in the map.
+	 * </blockquote>
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>clear</i></b>
+	 * <pre>{@code public void clear()}</pre>
+	 * <p>Removes all the keys from the map.</p>
+	 * </blockquote>
+	 */
+	public void clear() {
+		keys = new long[16];
+		values = new Object[16];
+		mask = 15;
+		size = 0;
+	}
+
+	private void resize(int length) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+
+		keys = new long[length];
+		values = new Object[length];
+		mask = length - 1;
+
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldValues[i] != null) {
+				int slot = mix(oldKeys[i]) & mask;
+
+				while(values[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+
+		Arrays.fill(oldValues, null);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>mix</i></b>
+	 * <pre>{@code public static int mix(long key)}</pre>
+	 * <p>Spreads the bits of the key, so keys which only differ in a few bits end up far from each other.</p>
+	 * @param key - The key to hash.
+	 * @return hash - The hash of the key.
+	 * </blockquote>
+	 */
+	public static int mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xFF51AFD7ED558CCDL;
+		key ^= key >>> 33;
+		key *= 0xC4CEB9FE1A85EC53L;
+		key ^= key >>> 33;
+
+		return (int) key;
+	}
+}
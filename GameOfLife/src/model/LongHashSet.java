@@ -0,0 +1,219 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A hash set of primitive long keys, using open addressing with linear probing like {@link LongHashMap}.
+ * The keys are never boxed, and the set can be walked slot by slot with {@link #nextSlot(int)} without
+ * creating an iterator.
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class LongHashSet {
+
+	private long[] keys;
+	private boolean[] used;
+	private int size;
+	private int mask;
+
+	/**
+	 * <blockquote>
+	 * <b><i>LongHashSet</i></b>
+	 * <pre>{@code public LongHashSet()}</pre>
+	 * <p>Creates a new, empty set.</p>
+	 * </blockquote>
+	 */
+	public LongHashSet() {
+		keys = new long[16];
+		used = new boolean[16];
+		mask = 15;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>contains</i></b>
+	 * <pre>{@code public boolean contains(long key)}</pre>
+	 * @param key - The key to look up.
+	 * @return contains - True if the set contains the key.
+	 * </blockquote>
+	 */
+	public boolean contains(long key) {
+		int slot = LongHashMap.mix(key) & mask;
+
+		while(used[slot]) {
+			if(keys[slot] == key) {
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		return false;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>add</i></b>
+	 * <pre>{@code public boolean add(long key)}</pre>
+	 * @param key - The key to add.
+	 * @return added - True if the key was not in the set before.
+	 * </blockquote>
+	 */
+	public boolean add(long key) {
+		int slot = LongHashMap.mix(key) & mask;
+
+		while(used[slot]) {
+			if(keys[slot] == key) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		keys[slot] = key;
+		used[slot] = true;
+
+		if(++size > (keys.length >> 1)) {
+			resize(keys.length << 1);
+		}
+
+		return true;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>remove</i></b>
+	 * <pre>{@code public boolean remove(long key)}</pre>
+	 * <p>Removes the key from the set. The following keys in the probe sequence are moved back, so no
+	 * deleted markers are needed.</p>
+	 * @param key - The key to remove.
+	 * @return removed - True if the key was in the set.
+	 * </blockquote>
+	 */
+	public boolean remove(long key) {
+		int slot = LongHashMap.mix(key) & mask;
+
+		while(used[slot]) {
+			if(keys[slot] == key) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if(!used[slot]) {
+			return false;
+		}
+
+		used[slot] = false;
+		size--;
+
+		int next = (slot + 1) & mask;
+
+		while(used[next]) {
+			int home = LongHashMap.mix(keys[next]) & mask;
+
+			// The key is moved into the free slot if the free slot is between its home and its slot.
+			if(((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				used[slot] = true;
+				used[next] = false;
+				slot = next;
+			}
+
+			next = (next + 1) & mask;
+		}
+
+		return true;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>nextSlot</i></b>
+	 * <pre>{@code public int nextSlot(int slot)}</pre>
+	 * <p>Finds the next slot with a key, to walk all the keys with
+	 * {@code for(int i = set.nextSlot(0); i >= 0; i = set.nextSlot(i + 1))}. The set must not be changed
+	 * during the walk.</p>
+	 * @param slot - The first slot to look in.
+	 * @return slot - The first slot from the given slot which has a key, or -1 if there are no more keys.
+	 * </blockquote>
+	 */
+	public int nextSlot(int slot) {
+		while(slot < used.length) {
+			if(used[slot]) {
+				return slot;
+			}
+			slot++;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>keyAt</i></b>
+	 * <pre>{@code public long keyAt(int slot)}</pre>
+	 * @param slot - A slot found by {@link #nextSlot(int)}.
+	 * @return key - The key in the slot.
+	 * </blockquote>
+	 */
+	public long keyAt(int slot) {
+		return keys[slot];
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>size</i></b>
+	 * <pre>{@code public int size()}</pre>
+	 * @return size - The number of keys in the set.
+	 * </blockquote>
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>clear</i></b>
+	 * <pre>{@code public void clear()}</pre>
+	 * <p>Removes all the keys from the set. The set keeps its capacity unless it was mostly empty, so it can
+	 * be filled again without growing.</p>
+	 * </blockquote>
+	 */
+	public void clear() {
+		// A mostly empty table is made smaller, so walking it stays proportional to the number of keys.
+		if(keys.length > 16 && size < (keys.length >> 3)) {
+			int length = Math.max(16, Integer.highestOneBit(size) << 2);
+
+			keys = new long[length];
+			used = new boolean[length];
+			mask = length - 1;
+		} else if(size > 0) {
+			Arrays.fill(used, false);
+		}
+
+		size = 0;
+	}
+
+	private void resize(int length) {
+		long[] oldKeys = keys;
+		boolean[] oldUsed = used;
+
+		keys = new long[length];
+		used = new boolean[length];
+		mask = length - 1;
+
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldUsed[i]) {
+				int slot = LongHashMap.mix(oldKeys[i]) & mask;
+
+				while(used[slot]) {
+					slot = (slot + 1) & mask;
+				}
+
+				keys[slot] = oldKeys[i];
+				used[slot] = true;
+			}
+		}
+	}
+}
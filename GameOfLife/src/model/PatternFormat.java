@@ -39,7 +39,7 @@ public class PatternFormat {
 		}
 	}
 	
-	private BoardDynamic rleCellStateTable;
+	private BoardFlat rleCellStateTable;
 	
 	private StringBuffer patternName	= new StringBuffer();
 	private StringBuffer patternCreator	= new StringBuffer();
@@ -307,7 +307,7 @@ public class PatternFormat {
 		patternWidth  = width;
 		patternHeight = height;
 		
-		rleCellStateTable = new BoardDynamic(patternHeight,patternWidth);
+		rleCellStateTable = new BoardFlat(patternWidth, patternHeight);
 	}
 	
 	
@@ -396,13 +396,13 @@ public class PatternFormat {
 	 *
 	 * <blockquote>
 	 * <b><i>getPattern</i></b>
-	 * <pre>{@code}public {@link BoardDynamic} getPattern()</pre>
+	 * <pre>{@code}public {@link BoardFlat} getPattern()</pre>
 	 * <p>Returns the array containing the cellstates of the pattern. either dead or alive. </p>
 	 * @return patternTable - the array containing the cellstates for retrieved from the RLE file.  
 	 * </blockquote> 
 	 */
 	
-	public BoardDynamic getPattern() {
+	public BoardFlat getPattern() {
 		return rleCellStateTable;
 	}
 	
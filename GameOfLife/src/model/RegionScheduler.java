@@ -0,0 +1,188 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Work-stealing scheduler, which computes a number of independent regions on a {@link ForkJoinPool}. The
+ * regions are split recursively in two halves of equal cost, until a task is small enough to be computed
+ * directly. Idle workers steal the halves that are not started yet, so a few expensive regions don't keep
+ * the other workers waiting.
+ *
+ * <p>The cost of a region is the time it took in the previous generation. The measured times are written
+ * back to the cost array, so the caller can keep them for the next generation.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class RegionScheduler {
+
+	/**
+	 * A job which computes one region. The regions must not write to the same elements.
+	 */
+	public static interface RegionJob {
+
+		/**
+		 * <blockquote>
+		 * <b><i>compute</i></b>
+		 * <pre>{@code public void compute(int region)}</pre>
+		 * @param region - The index of the region to compute.
+		 * </blockquote>
+		 */
+		public void compute(int region);
+	}
+
+	// A task is split until it has less than this part of the total cost for every worker.
+	private static final int TASKS_PER_WORKER = 8;
+
+	private final ForkJoinPool pool;
+
+
+	/**
+	 * <blockquote>
+	 * <b><i>RegionScheduler</i></b>
+	 * <pre>{@code public RegionScheduler(int parallelism)}</pre>
+	 * <p>Creates a scheduler with its own pool.</p>
+	 * @param parallelism - The number of workers.
+	 * @throws IllegalArgumentException - If the parallelism is less than 1.
+	 * </blockquote>
+	 */
+	public RegionScheduler(int parallelism) throws IllegalArgumentException {
+		if(parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be greater than 0.");
+		}
+
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>run</i></b>
+	 * <pre>{@code public void run(int regions, long[] cost, RegionJob job)}</pre>
+	 * <p>Computes all the regions, and waits until they are done. A region with an unknown cost, zero or
+	 * less, is given the average cost of the other regions.</p>
+	 * @param regions - The number of regions.
+	 * @param cost - The cost of every region in the previous generation, the new costs are written back.
+	 * @param job - The job computing a region.
+	 * @throws NullPointerException - If the cost or the job is null.
+	 * @throws IllegalArgumentException - If the cost array is shorter than the number of regions.
+	 * </blockquote>
+	 */
+	public void run(int regions, long[] cost, RegionJob job) throws NullPointerException, IllegalArgumentException {
+		if(cost == null || job == null) {
+			throw new NullPointerException("cost and job can not be null.");
+		}
+
+		if(cost.length < regions) {
+			throw new IllegalArgumentException("There must be a cost for every region.");
+		}
+
+		if(regions == 0) {
+			return;
+		}
+
+		long known = 0;
+		int knownCount = 0;
+
+		for(int i = 0; i < regions; i++) {
+			if(cost[i] > 0) {
+				known += cost[i];
+				knownCount++;
+			}
+		}
+
+		long average = (knownCount == 0) ? 1 : Math.max(known / knownCount, 1);
+
+		// Prefix sums of the estimated costs, so a range can be split at its middle cost by a binary search.
+		long[] prefix = new long[regions + 1];
+
+		for(int i = 0; i < regions; i++) {
+			prefix[i + 1] = prefix[i] + ((cost[i] > 0) ? cost[i] : average);
+		}
+
+		long threshold = prefix[regions] / ((long) pool.getParallelism() * TASKS_PER_WORKER);
+
+		pool.invoke(new RegionTask(0, regions, prefix, threshold, cost, job));
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getParallelism</i></b>
+	 * <pre>{@code public int getParallelism()}</pre>
+	 * @return parallelism - The number of workers.
+	 * </blockquote>
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>shutdown</i></b>
+	 * <pre>{@code public void shutdown()}</pre>
+	 * <p>Stops the workers when they are done, the scheduler can not be used afterwards.</p>
+	 * </blockquote>
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+
+	private static final class RegionTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int low, high;
+		private final long[] prefix;
+		private final long threshold;
+		private final long[] cost;
+		private final RegionJob job;
+
+		RegionTask(int low, int high, long[] prefix, long threshold, long[] cost, RegionJob job) {
+			this.low = low;
+			this.high = high;
+			this.prefix = prefix;
+			this.threshold = threshold;
+			this.cost = cost;
+			this.job = job;
+		}
+
+		@Override
+		protected void compute() {
+			if(high - low == 1 || prefix[high] - prefix[low] <= threshold) {
+				for(int i = low; i < high; i++) {
+					long start = System.nanoTime();
+					job.compute(i);
+					cost[i] = Math.max(System.nanoTime() - start, 1);
+				}
+				return;
+			}
+
+			int middle = split();
+
+			invokeAll(new RegionTask(low, middle, prefix, threshold, cost, job),
+					  new RegionTask(middle, high, prefix, threshold, cost, job));
+		}
+
+		// Finds the region where the cost of the range is halved, both halves gets at least one region.
+		private int split() {
+			long target = (prefix[low] + prefix[high]) >>> 1;
+			int lo = low + 1;
+			int hi = high - 1;
+
+			while(lo < hi) {
+				int mid = (lo + hi) >>> 1;
+
+				if(prefix[mid] < target) {
+					lo = mid + 1;
+				} else {
+					hi = mid;
+				}
+			}
+
+			return lo;
+		}
+	}
+}
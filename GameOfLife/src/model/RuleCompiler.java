@@ -0,0 +1,232 @@
+package model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles a rule into a method handle, which applies the rule to 64 cells at once. The handle is composed
+ * of bitwise operations over the neighbour count bit planes, with only the terms the rule needs, and
+ * without any branches or lookups in rule tables. The compiled rules are cached by their rule string, so
+ * a rule is only compiled the first time it is used.
+ *
+ * <p>The handle has the type {@code (long ones, long twos, long fours, long eights, long alive)long}, see
+ * {@link KernelSwar#applyRule(long, long, long, long, long, int, int)} for the parameters.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class RuleCompiler {
+
+	/**
+	 * The type of a compiled rule.
+	 */
+	public static final MethodType RULE_TYPE = MethodType.methodType(long.class,
+			long.class, long.class, long.class, long.class, long.class);
+
+	private static final int ONES = 0;
+	private static final int TWOS = 1;
+	private static final int FOURS = 2;
+	private static final int EIGHTS = 3;
+	private static final int ALIVE = 4;
+
+	private static final MethodHandle AND;
+	private static final MethodHandle OR;
+	private static final MethodHandle NOT;
+
+	private static final ConcurrentHashMap<String, MethodHandle> cache = new ConcurrentHashMap<>();
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodType binary = MethodType.methodType(long.class, long.class, long.class);
+
+		try {
+			AND = lookup.findStatic(RuleCompiler.class, "and", binary);
+			OR = lookup.findStatic(RuleCompiler.class, "or", binary);
+			NOT = lookup.findStatic(RuleCompiler.class, "not", MethodType.methodType(long.class, long.class));
+		} catch(NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private RuleCompiler() {
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getRule</i></b>
+	 * <pre>{@code public static MethodHandle getRule(int birthMask, int surviveMask)}</pre>
+	 * <p>Returns the compiled rule, from the cache if the rule has been compiled before.</p>
+	 * @param birthMask - The birth rules, see {@link GameRules#getBirthMask()}.
+	 * @param surviveMask - The survive rules, see {@link GameRules#getSurviveMask()}.
+	 * @return rule - The compiled rule, of the type {@link RuleCompiler#RULE_TYPE}.
+	 * </blockquote>
+	 */
+	public static MethodHandle getRule(int birthMask, int surviveMask) {
+		return cache.computeIfAbsent(ruleString(birthMask, surviveMask), key -> compile(birthMask, surviveMask));
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getCacheSize</i></b>
+	 * <pre>{@code public static int getCacheSize()}</pre>
+	 * @return size - The number of compiled rules in the cache.
+	 * </blockquote>
+	 */
+	public static int getCacheSize() {
+		return cache.size();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>ruleString</i></b>
+	 * <pre>{@code public static String ruleString(int birthMask, int surviveMask)}</pre>
+	 * <p>Returns the rule string of the rule, in the same format as {@link GameRules#getRuleString()}.</p>
+	 * @param birthMask - The birth rules.
+	 * @param surviveMask - The survive rules.
+	 * @return ruleString - The rule string, like S23/B3.
+	 * </blockquote>
+	 */
+	public static String ruleString(int birthMask, int surviveMask) {
+		StringBuffer buffer = new StringBuffer("S");
+
+		for(int i = 0; i < 9; i++) {
+			if(((surviveMask >> i) & 1) == 1) {
+				buffer.append(i);
+			}
+		}
+
+		buffer.append("/B");
+
+		for(int i = 0; i < 9; i++) {
+			if(((birthMask >> i) & 1) == 1) {
+				buffer.append(i);
+			}
+		}
+
+		return buffer.toString();
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>compile</i></b>
+	 * <pre>{@code public static MethodHandle compile(int birthMask, int surviveMask)}</pre>
+	 * <p>Compiles the rule, without using the cache. The counts where a cell is born are combined with
+	 * {@code ~alive}, the counts where a cell survives with {@code alive}, and the counts where both
+	 * happens are used as they are.</p>
+	 * @param birthMask - The birth rules.
+	 * @param surviveMask - The survive rules.
+	 * @return rule - The compiled rule, of the type {@link RuleCompiler#RULE_TYPE}.
+	 * </blockquote>
+	 */
+	public static MethodHandle compile(int birthMask, int surviveMask) {
+		int both = birthMask & surviveMask;
+		int birthOnly = birthMask & ~surviveMask;
+		int surviveOnly = surviveMask & ~birthMask;
+
+		MethodHandle rule = null;
+
+		MethodHandle birth = counts(birthOnly);
+		MethodHandle survive = counts(surviveOnly);
+
+		rule = or(rule, counts(both));
+
+		if(birth != null) {
+			rule = or(rule, and(birth, not(argument(ALIVE))));
+		}
+
+		if(survive != null) {
+			rule = or(rule, and(survive, argument(ALIVE)));
+		}
+
+		if(rule == null) {
+			return MethodHandles.dropArguments(MethodHandles.constant(long.class, 0L), 0, RULE_TYPE.parameterList());
+		}
+
+		return rule;
+	}
+
+	// The cells which has one of the neighbour counts in the mask, or null if the mask is empty.
+	private static MethodHandle counts(int mask) {
+		MethodHandle counts = null;
+
+		for(int count = 0; count < 9; count++) {
+			if(((mask >> count) & 1) == 1) {
+				counts = or(counts, count(count));
+			}
+		}
+
+		return counts;
+	}
+
+	// The cells which has the neighbour count. Only a count of 8 sets the eights plane, so it is only needed
+	// to tell 0 and 8 apart.
+	private static MethodHandle count(int count) {
+		if(count == 8) {
+			return argument(EIGHTS);
+		}
+
+		MethodHandle equal = null;
+
+		equal = and(equal, plane(ONES, (count & 1) != 0));
+		equal = and(equal, plane(TWOS, (count & 2) != 0));
+		equal = and(equal, plane(FOURS, (count & 4) != 0));
+
+		if(count == 0) {
+			equal = and(equal, plane(EIGHTS, false));
+		}
+
+		return equal;
+	}
+
+	private static MethodHandle plane(int plane, boolean set) {
+		return set ? argument(plane) : not(argument(plane));
+	}
+
+	// Returns the argument of the rule type.
+	private static MethodHandle argument(int index) {
+		return MethodHandles.permuteArguments(MethodHandles.identity(long.class), RULE_TYPE, index);
+	}
+
+	private static MethodHandle not(MethodHandle value) {
+		return MethodHandles.filterReturnValue(value, NOT);
+	}
+
+	private static MethodHandle and(MethodHandle left, MethodHandle right) {
+		return combine(AND, left, right);
+	}
+
+	private static MethodHandle or(MethodHandle left, MethodHandle right) {
+		return combine(OR, left, right);
+	}
+
+	// Combines the two expressions with the operator, where a missing expression is left out.
+	private static MethodHandle combine(MethodHandle operator, MethodHandle left, MethodHandle right) {
+		if(left == null) {
+			return right;
+		} else if(right == null) {
+			return left;
+		}
+
+		// Both expressions gets the five arguments of the rule, so the ten arguments are merged to five.
+		MethodHandle combined = MethodHandles.collectArguments(operator, 0, left);
+		combined = MethodHandles.collectArguments(combined, 5, right);
+
+		return MethodHandles.permuteArguments(combined, RULE_TYPE, 0, 1, 2, 3, 4, 0, 1, 2, 3, 4);
+	}
+
+	private static long and(long left, long right) {
+		return left & right;
+	}
+
+	private static long or(long left, long right) {
+		return left | right;
+	}
+
+	private static long not(long value) {
+		return ~value;
+	}
+}
@@ -0,0 +1,235 @@
+package model;
+
+import java.util.HashMap;
+
+/**
+ * The known spaceships of Conway's rule (S23/B3), which {@link GameBoard} recognises when they escape from
+ * the board, see {@link GameBoard.BoundaryPolicy}. Every phase of every spaceship, in all the eight
+ * rotations and reflections, is found once by stepping the spaceship through its period, and is stored by
+ * its shape. A group of cells is then recognised by a single lookup of its shape.
+ *
+ * <p>A shape is the cells inside the bounding box of the group, as a 64 bit mask where the cell
+ * {@code (x, y)} is the bit {@code y * 8 + x}, so only groups up to 8x8 cells can be recognised.</p>
+ *
+ * @author Ali Arfan
+ * @author Kent Erlend Bratteng Knudsen
+ * @author Stian Tornholm Grimsgaard
+ *
+ */
+public class Spaceship {
+
+	/**
+	 * The largest width and height of a shape.
+	 */
+	public static final int MAX_SIZE = 8;
+
+	private static final HashMap<Long, Heading> shapes = new HashMap<>();
+
+	/**
+	 * The glider, which moves one cell diagonally every 4 generations.
+	 */
+	public static final Spaceship GLIDER = new Spaceship("Glider", 4,
+			".O.",
+			"..O",
+			"OOO");
+
+	/**
+	 * The lightweight spaceship, which moves two cells every 4 generations.
+	 */
+	public static final Spaceship LWSS = new Spaceship("LWSS", 4,
+			".O..O",
+			"O....",
+			"O...O",
+			"OOOO.");
+
+	/**
+	 * The middleweight spaceship, which moves two cells every 4 generations.
+	 */
+	public static final Spaceship MWSS = new Spaceship("MWSS", 4,
+			"...O..",
+			".O...O",
+			"O.....",
+			"O....O",
+			"OOOOO.");
+
+	/**
+	 * The heavyweight spaceship, which moves two cells every 4 generations.
+	 */
+	public static final Spaceship HWSS = new Spaceship("HWSS", 4,
+			"...OO..",
+			".O....O",
+			"O......",
+			"O.....O",
+			"OOOOOO.");
+
+	private final String name;
+	private final int period;
+
+	// A spaceship in one orientation, with the cells it moves every period.
+	private static class Heading {
+		private final Spaceship spaceship;
+		private final int dx;
+		private final int dy;
+
+		private Heading(Spaceship spaceship, int dx, int dy) {
+			this.spaceship = spaceship;
+			this.dx = dx;
+			this.dy = dy;
+		}
+	}
+
+	// Finds all the phases of the spaceship, in all the orientations, and adds them to the shapes.
+	private Spaceship(String name, int period, String... rows) {
+		this.name = name;
+		this.period = period;
+
+		for(int symmetry = 0; symmetry < 8; symmetry++) {
+			boolean[][] cells = new boolean[MAX_SIZE * 3][MAX_SIZE * 3];
+
+			for(int y = 0; y < rows.length; y++) {
+				for(int x = 0; x < rows[y].length(); x++) {
+					if(rows[y].charAt(x) == 'O') {
+						int tx = ((symmetry & 1) == 0) ? x : -x;
+						int ty = ((symmetry & 2) == 0) ? y : -y;
+
+						if((symmetry & 4) != 0) {
+							int swap = tx;
+							tx = ty;
+							ty = swap;
+						}
+
+						cells[ty + MAX_SIZE + 1][tx + MAX_SIZE + 1] = true;
+					}
+				}
+			}
+
+			int[] start = box(cells);
+			boolean[][] phase = cells;
+			long[] phases = new long[period];
+
+			for(int i = 0; i < period; i++) {
+				phases[i] = shape(phase);
+				phase = step(phase);
+			}
+
+			int[] end = box(phase);
+
+			if(shape(phase) != phases[0]) {
+				throw new ExceptionInInitializerError(name + " is not a spaceship with the period " + period + ".");
+			}
+
+			Heading heading = new Heading(this, end[0] - start[0], end[1] - start[1]);
+
+			for(long shape : phases) {
+				shapes.put(shape, heading);
+			}
+		}
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getName</i></b>
+	 * <pre>{@code public String getName()}</pre>
+	 * @return name - The name of the spaceship.
+	 * </blockquote>
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>getPeriod</i></b>
+	 * <pre>{@code public int getPeriod()}</pre>
+	 * @return period - The number of generations before the spaceship has the same shape again.
+	 * </blockquote>
+	 */
+	public int getPeriod() {
+		return period;
+	}
+
+	/**
+	 * <blockquote>
+	 * <b><i>match</i></b>
+	 * <pre>{@code public static Escapee match(long shape, int x, int y, long generationNo)}</pre>
+	 * <p>Recognises the shape of a group of cells as a spaceship.</p>
+	 * @param shape - The shape of the group, see {@link Spaceship}.
+	 * @param x - The horizontal coordinate of the top left corner of the group.
+	 * @param y - The vertical coordinate of the top left corner of the group.
+	 * @param generationNo - The generation the group was found in.
+	 * @return escapee - The spaceship moving from the position, or null if the shape is not a known
+	 * spaceship.
+	 * </blockquote>
+	 */
+	public static Escapee match(long shape, int x, int y, long generationNo) {
+		Heading heading = shapes.get(shape);
+
+		if(heading == null) {
+			return null;
+		}
+
+		return new Escapee(heading.spaceship, x, y, heading.dx, heading.dy, generationNo);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+	// The shape of the cells, which must fit in MAX_SIZE x MAX_SIZE cells.
+	private static long shape(boolean[][] cells) {
+		int[] box = box(cells);
+		long shape = 0;
+
+		for(int y = box[1]; y <= box[3]; y++) {
+			for(int x = box[0]; x <= box[2]; x++) {
+				if(cells[y][x]) {
+					shape |= 1L << ((y - box[1]) * MAX_SIZE + (x - box[0]));
+				}
+			}
+		}
+
+		return shape;
+	}
+
+	private static int[] box(boolean[][] cells) {
+		int[] box = { Integer.MAX_VALUE, Integer.MAX_VALUE, -1, -1 };
+
+		for(int y = 0; y < cells.length; y++) {
+			for(int x = 0; x < cells[y].length; x++) {
+				if(cells[y][x]) {
+					box[0] = Math.min(box[0], x);
+					box[1] = Math.min(box[1], y);
+					box[2] = Math.max(box[2], x);
+					box[3] = Math.max(box[3], y);
+				}
+			}
+		}
+
+		return box;
+	}
+
+	// One generation of Conway's rule, the cells outside the grid are dead.
+	private static boolean[][] step(boolean[][] cells) {
+		int size = cells.length;
+		boolean[][] next = new boolean[size][size];
+
+		for(int y = 0; y < size; y++) {
+			for(int x = 0; x < size; x++) {
+				int count = 0;
+
+				for(int j = Math.max(y - 1, 0); j <= Math.min(y + 1, size - 1); j++) {
+					for(int i = Math.max(x - 1, 0); i <= Math.min(x + 1, size - 1); i++) {
+						if(cells[j][i] && (i != x || j != y)) {
+							count++;
+						}
+					}
+				}
+
+				next[y][x] = (count == 3) || (count == 2 && cells[y][x]);
+			}
+		}
+
+		return next;
+	}
+}
@@ -0,0 +1,122 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import model.BoardBatch;
+import model.GameRules;
+
+public class BoardBatchTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testLanesMatchSingleBoards() {
+		int width = 24, height = 20;
+		BoardBatch batch = new BoardBatch(width, height);
+		boolean[][][] boards = new boolean[BoardBatch.LANES][][];
+
+		for(int lane = 0; lane < BoardBatch.LANES; lane++) {
+			batch.seedLane(lane, lane, 0.4);
+			boards[lane] = new boolean[height][width];
+
+			for(int y = 0; y < height; y++) {
+				for(int x = 0; x < width; x++) {
+					boards[lane][y][x] = batch.getCellState(lane, x, y);
+				}
+			}
+		}
+
+		for(int gen = 0; gen < 40; gen++) {
+			batch.nextGeneration();
+			long[] populations = batch.getPopulations();
+
+			for(int lane = 0; lane < BoardBatch.LANES; lane++) {
+				boards[lane] = step(boards[lane]);
+				long population = 0;
+
+				for(int y = 0; y < height; y++) {
+					for(int x = 0; x < width; x++) {
+						assertEquals(boards[lane][y][x], batch.getCellState(lane, x, y));
+						population += boards[lane][y][x] ? 1 : 0;
+					}
+				}
+
+				assertEquals(population, populations[lane]);
+				assertEquals(population, batch.getPopulation(lane));
+			}
+		}
+	}
+
+	@Test
+	public void testStableLanes() {
+		BoardBatch batch = new BoardBatch(10, 10);
+
+		// A block in lane 0, a blinker in lane 1 and a glider in lane 2.
+		batch.setCellState(0, 2, 2, true);
+		batch.setCellState(0, 3, 2, true);
+		batch.setCellState(0, 2, 3, true);
+		batch.setCellState(0, 3, 3, true);
+
+		batch.setCellState(1, 4, 3, true);
+		batch.setCellState(1, 4, 4, true);
+		batch.setCellState(1, 4, 5, true);
+
+		batch.setCellState(2, 1, 0, true);
+		batch.setCellState(2, 2, 1, true);
+		batch.setCellState(2, 0, 2, true);
+		batch.setCellState(2, 1, 2, true);
+		batch.setCellState(2, 2, 2, true);
+
+		for(int gen = 0; gen < 4; gen++) {
+			batch.nextGeneration();
+		}
+
+		assertEquals(1, batch.getPeriod(0));
+		assertEquals(0, batch.getStableGeneration(0));
+		assertEquals(2, batch.getPeriod(1));
+		assertEquals(0, batch.getStableGeneration(1));
+		assertEquals(0, batch.getPeriod(2));
+		assertEquals(-1, batch.getStableGeneration(2));
+
+		// The empty lanes are still lifes too.
+		assertEquals(~4L, batch.getStableLanes());
+
+		// The glider becomes a block when it hits the corner.
+		for(int gen = 0; gen < 40; gen++) {
+			batch.nextGeneration();
+		}
+
+		assertEquals(1, batch.getPeriod(2));
+		assertEquals(4, batch.getPopulation(2));
+		assertEquals(-1L, batch.getStableLanes());
+
+		batch.setCellState(1, 0, 0, true);
+		assertEquals(0, batch.getPeriod(1));
+	}
+
+	private boolean[][] step(boolean[][] cells) {
+		int height = cells.length, width = cells[0].length;
+		boolean[][] next = new boolean[height][width];
+
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				int neighbours = 0;
+
+				for(int dy = -1; dy <= 1; dy++) {
+					for(int dx = -1; dx <= 1; dx++) {
+						int nx = x + dx, ny = y + dy;
+						if((dx != 0 || dy != 0) && nx >= 0 && ny >= 0 && nx < width && ny < height && cells[ny][nx]) {
+							neighbours++;
+						}
+					}
+				}
+
+				next[y][x] = gr.checkRules(cells[y][x], neighbours);
+			}
+		}
+
+		return next;
+	}
+}
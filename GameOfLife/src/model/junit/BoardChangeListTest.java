@@ -0,0 +1,110 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardChangeList;
+import model.BoardTiled;
+import model.GameRules;
+
+public class BoardChangeListTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testGliderLeavesTiles() {
+		gr.setRules("s23/b3");
+		BoardChangeList board = new BoardChangeList();
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+
+		for(int[] c : glider) {
+			board.setCellState(c[0] - 100, c[1] - 100, true);
+		}
+
+		assertEquals(3, board.getNeighbourCount(-100, -99));
+		board.nextGeneration(10);
+
+		assertEquals(5, board.getPopulation());
+		for(int[] c : glider) {
+			assertEquals(1, board.getCellState(c[0] + 156, c[1] + 156));
+		}
+		assertArrayEquals(new int[] {156, 156, 158, 158}, board.getBoundingBox());
+
+		// A glider changes a few cells every generation, and only the tiles around it are kept.
+		assertTrue(board.getChangeCount() <= 8);
+		assertTrue(board.getTileCount() <= 4);
+
+		board.setCellState(157, 156, false);
+		board.setCellState(158, 157, false);
+		board.setCellState(156, 158, false);
+		board.setCellState(157, 158, false);
+		board.setCellState(158, 158, false);
+
+		assertEquals(0, board.getPopulation());
+		assertEquals(0, board.getTileCount());
+		assertNull(board.getBoundingBox());
+	}
+
+	@Test
+	public void testRandomSoupMatchesTiled() {
+		String[] rules = { "s23/b3", "s1357/b1357", "s23/b36" };
+		Random random = new Random(21);
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+			BoardChangeList changeList = new BoardChangeList();
+			BoardTiled tiled = new BoardTiled();
+
+			// The soup is placed across the corner of four tiles.
+			for(int y = -20; y < 20; y++) {
+				for(int x = -20; x < 20; x++) {
+					boolean alive = random.nextInt(3) == 0;
+					changeList.setCellState(x, y, alive);
+					tiled.setCellState(x, y, alive);
+				}
+			}
+
+			for(int gen = 0; gen < 60; gen++) {
+				changeList.nextGeneration(0);
+				tiled.nextGeneration(0);
+
+				assertEquals(rule + " generation " + gen, tiled.getPopulation(), changeList.getPopulation());
+			}
+
+			assertArrayEquals(rule, tiled.getBoundingBox(), changeList.getBoundingBox());
+
+			int[] box = tiled.getBoundingBox();
+			if(box != null) {
+				for(int y = box[1] - 1; y <= box[3] + 1; y++) {
+					for(int x = box[0] - 1; x <= box[2] + 1; x++) {
+						assertEquals(rule, tiled.getCellState(x, y), changeList.getCellState(x, y));
+						assertEquals(rule, tiled.countNeighbours(x, y), changeList.getNeighbourCount(x, y));
+					}
+				}
+			}
+		}
+
+		// The rule is changed while the board has living cells.
+		gr.setRules("s23/b3");
+		BoardChangeList changeList = new BoardChangeList();
+		BoardTiled tiled = new BoardTiled();
+
+		for(int x = 0; x < 10; x++) {
+			changeList.setCellState(x, 0, true);
+			tiled.setCellState(x, 0, true);
+		}
+
+		changeList.nextGeneration(2);
+		tiled.nextGeneration(2);
+		gr.setRules("s23/b36");
+		changeList.nextGeneration(4);
+		tiled.nextGeneration(4);
+		gr.setRules("s23/b3");
+
+		assertEquals(tiled.getPopulation(), changeList.getPopulation());
+		assertArrayEquals(tiled.getBoundingBox(), changeList.getBoundingBox());
+	}
+}
@@ -0,0 +1,81 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import model.GameBoard;
+
+/**
+ * The boards and comparisons shared by the tests which step two boards in different ways, and check that
+ * they have the same cells.
+ */
+final class BoardFixtures {
+
+	private BoardFixtures() {
+	}
+
+	/**
+	 * Creates a board of the given type and step mode, where one cell in three is alive. The same seed gives
+	 * the same soup.
+	 */
+	static GameBoard soup(GameBoard.BoardType type, GameBoard.StepMode mode, int columns, int rows, long seed) {
+		GameBoard board = new GameBoard(columns, rows);
+		board.setBoardType(type);
+		board.setStepMode(mode);
+
+		return soup(board, seed, 0, 0, columns - 1, rows - 1);
+	}
+
+	/**
+	 * Fills the rectangle from (minX, minY) to (maxX, maxY) with a random soup, where one cell in three is
+	 * alive. The same seed gives the same soup.
+	 */
+	static GameBoard soup(GameBoard board, long seed, int minX, int minY, int maxX, int maxY) {
+		Random random = new Random(seed);
+
+		for(int y = minY; y <= maxY; y++) {
+			for(int x = minX; x <= maxX; x++) {
+				board.setCellState(x, y, random.nextInt(3) == 0);
+			}
+		}
+
+		return board;
+	}
+
+	/**
+	 * Checks that the boards are at the same generation, and have the same living cells.
+	 */
+	static void assertSameCells(String message, GameBoard expected, GameBoard actual) {
+		assertEquals(message, expected.getGenerationNo(), actual.getGenerationNo());
+		assertEquals(message, expected.getPopulation(), actual.getPopulation());
+		assertEquals(message, expected.getHash(), actual.getHash());
+
+		int[] box = expected.getBoundingBox();
+
+		assertArrayEquals(message, box, actual.getBoundingBox());
+		if(box != null) {
+			for(int y = box[1] - 1; y <= box[3] + 1; y++) {
+				for(int x = box[0] - 1; x <= box[2] + 1; x++) {
+					assertEquals(message, expected.getCellState(x, y), actual.getCellState(x, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Steps both boards the given number of generations, comparing the populations and the hashes after
+	 * every generation and the cells after the last.
+	 */
+	static void stepAndCompare(String message, GameBoard expected, GameBoard actual, int generations) {
+		for(int gen = 0; gen < generations; gen++) {
+			expected.nextGeneration();
+			actual.nextGeneration();
+
+			assertEquals(message, expected.getPopulation(), actual.getPopulation());
+			assertEquals(message, expected.getHash(), actual.getHash());
+		}
+
+		assertSameCells(message, expected, actual);
+	}
+}
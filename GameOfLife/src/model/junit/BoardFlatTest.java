@@ -0,0 +1,111 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import model.BoardFlat;
+
+public class BoardFlatTest {
+
+	@Test
+	public void testGrowLeftAndUp() {
+		BoardFlat board = new BoardFlat(100, 10);
+		board.setCellState(5, 5, true);
+		board.setCellState(99, 9, true);
+
+		// The position left of and above the board becomes the first cell of the first element and row.
+		board.setCellState(-1, -1, true);
+
+		assertEquals(3, board.getNumColumns());
+		assertEquals(11, board.getNumRows());
+		assertEquals(3 * 64, board.getBoardWidth());
+		assertEquals(11, board.getBoardHeight());
+		assertEquals(1, board.getCellState(63, 0));
+		assertEquals(1, board.getCellState(64 + 5, 5 + 1));
+		assertEquals(1, board.getCellState(64 + 99, 9 + 1));
+		assertEquals(0, board.getCellState(5, 5));
+
+		// The board keeps the cells when the array is reallocated again in the same direction.
+		board.setCellState(-200, -30, true);
+
+		assertEquals(7, board.getNumColumns());
+		assertEquals(41, board.getNumRows());
+		assertEquals(1, board.getCellState(56, 0));
+		assertEquals(1, board.getCellState(256 + 63, 30));
+		assertEquals(1, board.getCellState(256 + 64 + 5, 30 + 6));
+		assertEquals(1, board.getCellState(256 + 64 + 99, 30 + 10));
+	}
+
+	@Test
+	public void testGrowRightAndDown() {
+		BoardFlat board = new BoardFlat(100, 10);
+		board.setCellState(0, 0, true);
+
+		board.setCellState(300, 20, true);
+
+		assertEquals(5, board.getNumColumns());
+		assertEquals(21, board.getNumRows());
+		assertEquals(1, board.getCellState(0, 0));
+		assertEquals(1, board.getCellState(300, 20));
+	}
+
+	@Test
+	public void testElementsAcrossOrigin() {
+		BoardFlat board = new BoardFlat(128, 4);
+		board.setElement(0, 0, 0x1234L);
+		board.setElement(1, 3, -1L);
+
+		board.expandBoard(2, 3, 0, 0);
+
+		// The elements are moved with the origin, and the new elements before it are empty.
+		assertEquals(0x1234L, board.getElement(2, 3));
+		assertEquals(-1L, board.getElement(3, 6));
+		assertEquals(0L, board.getElement(0, 0));
+		assertEquals(0L, board.getElement(1, 2));
+
+		board.setElement(1, 2, 0x55L);
+		board.setElement(2, 2, 0x66L);
+		board.setElement(1, 3, 0x77L);
+
+		assertEquals(0x55L, board.getElement(1, 2));
+		assertEquals(0x66L, board.getElement(2, 2));
+		assertEquals(0x77L, board.getElement(1, 3));
+		assertEquals(0x1234L, board.getElement(2, 3));
+
+		// Positions outside the board are ignored, and read as empty.
+		board.setElement(-1, 0, -1L);
+		board.setElement(0, -1, -1L);
+		board.setElement(4, 0, -1L);
+		assertEquals(0L, board.getElement(-1, 0));
+		assertEquals(0L, board.getElement(0, -1));
+		assertEquals(0L, board.getElement(4, 0));
+		assertEquals(0L, board.getElement(0, 0));
+	}
+
+	@Test
+	public void testTrimAndGrowAgain() {
+		BoardFlat board = new BoardFlat(64 * 8, 40);
+		board.setCellState(200, 20, true);
+
+		board.trimBoard(2, 10, 3, 15);
+
+		assertEquals(3, board.getNumColumns());
+		assertEquals(15, board.getNumRows());
+		assertEquals(1, board.getCellState(200 - 128, 10));
+
+		// The trimmed elements are free space again, and must be empty when the board grows into them.
+		board.expandBoard(2, 10, 3, 15);
+
+		assertEquals(8, board.getNumColumns());
+		assertEquals(40, board.getNumRows());
+		assertEquals(1, board.getCellState(200, 20));
+		for(int y = 0; y < 40; y++) {
+			for(int column = 0; column < 8; column++) {
+				if(y != 20 || column != 3) {
+					assertEquals(0L, board.getElement(column, y));
+				}
+			}
+		}
+	}
+}
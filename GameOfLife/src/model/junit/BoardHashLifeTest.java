@@ -0,0 +1,196 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardHashLife;
+import model.GameBoard;
+import model.GameRules;
+
+public class BoardHashLifeTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	// Steps a plain boolean grid, big enough for the pattern to never reach the edge.
+	private boolean[][] referenceStep(boolean[][] grid) {
+		int size = grid.length;
+		boolean[][] next = new boolean[size][size];
+
+		for(int y = 1; y < size - 1; y++) {
+			for(int x = 1; x < size - 1; x++) {
+				int neighbours = 0;
+
+				for(int j = -1; j <= 1; j++) {
+					for(int i = -1; i <= 1; i++) {
+						if((i != 0 || j != 0) && grid[y + j][x + i]) {
+							neighbours++;
+						}
+					}
+				}
+
+				next[y][x] = gr.checkRules(grid[y][x], neighbours);
+			}
+		}
+
+		return next;
+	}
+
+	@Test
+	public void testGliderPeriod() {
+		gr.setRules("s23/b3");
+		BoardHashLife board = new BoardHashLife();
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+
+		for(int[] c : glider) {
+			board.setCellState(c[0], c[1], true);
+		}
+
+		// A glider moves one cell down and right every fourth generation.
+		board.nextGeneration(10);
+
+		assertEquals(5, board.getPopulation());
+		for(int[] c : glider) {
+			assertEquals(1, board.getCellState(c[0] + 256, c[1] + 256));
+		}
+
+		int[] box = board.getBoundingBox();
+		assertArrayEquals(new int[] {256, 256, 258, 258}, box);
+	}
+
+	@Test
+	public void testRandomSoupMatchesReference() {
+		Random random = new Random(1600);
+		String[] rules = { "s23/b3", "s1357/b1357", "s23/b36" };
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+
+			int size = 160;
+			int offset = size / 2;
+			boolean[][] grid = new boolean[size][size];
+			BoardHashLife board = new BoardHashLife();
+
+			for(int y = -8; y < 8; y++) {
+				for(int x = -8; x < 8; x++) {
+					boolean alive = random.nextBoolean();
+
+					grid[y + offset][x + offset] = alive;
+					board.setCellState(x, y, alive);
+				}
+			}
+
+			// Single steps first, then one step of four generations.
+			for(int gen = 0; gen < 16; gen++) {
+				grid = referenceStep(grid);
+				board.nextGeneration(0);
+			}
+
+			for(int gen = 0; gen < 4; gen++) {
+				grid = referenceStep(grid);
+			}
+			board.nextGeneration(2);
+
+			long population = 0;
+			for(int y = 0; y < size; y++) {
+				for(int x = 0; x < size; x++) {
+					assertEquals(grid[y][x] ? 1 : 0, board.getCellState(x - offset, y - offset));
+					population += grid[y][x] ? 1 : 0;
+				}
+			}
+
+			assertEquals(population, board.getPopulation());
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testMemoryCapEvictsNodes() {
+		gr.setRules("s23/b3");
+		BoardHashLife board = new BoardHashLife();
+		Random random = new Random(42);
+
+		board.setMaxNodes(2000);
+
+		for(int i = 0; i < 400; i++) {
+			board.setCellState(random.nextInt(40), random.nextInt(40), true);
+		}
+
+		for(int i = 0; i < 50; i++) {
+			board.nextGeneration(0);
+			assertTrue(board.getNodeCount() <= 2000);
+		}
+	}
+
+	@Test
+	public void testMixedExponentsMatchReference() {
+		gr.setRules("s23/b3");
+		Random random = new Random(1601);
+		int size = 160;
+		int offset = size / 2;
+		boolean[][] grid = new boolean[size][size];
+		BoardHashLife board = new BoardHashLife();
+
+		for(int y = -8; y < 8; y++) {
+			for(int x = -8; x < 8; x++) {
+				boolean alive = random.nextBoolean();
+
+				grid[y + offset][x + offset] = alive;
+				board.setCellState(x, y, alive);
+			}
+		}
+
+		// The results of one exponent are kept when another exponent is used, and must not be mixed up.
+		int[] exponents = { 0, 2, 1, 0, 3, 1, 2, 0 };
+
+		for(int exponent : exponents) {
+			for(int gen = 0; gen < (1 << exponent); gen++) {
+				grid = referenceStep(grid);
+			}
+			board.nextGeneration(exponent);
+
+			for(int y = 0; y < size; y++) {
+				for(int x = 0; x < size; x++) {
+					assertEquals(grid[y][x] ? 1 : 0, board.getCellState(x - offset, y - offset));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testLargeStepsAreSplit() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(64, 64);
+		board.setBoardType(GameBoard.BoardType.HASHLIFE);
+
+		// A block, which never changes.
+		board.setCellState(10, 10, true);
+		board.setCellState(11, 10, true);
+		board.setCellState(10, 11, true);
+		board.setCellState(11, 11, true);
+
+		board.advanceGenerations(62);
+		assertEquals(1L << 62, board.getGenerationNo());
+
+		board.advanceTo(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, board.getGenerationNo());
+		assertEquals(4, board.getPopulation());
+		assertTrue(board.getCellState(11, 11));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testBirthWithoutNeighboursIsRejected() {
+		gr.setRules("s23/b03");
+		BoardHashLife board = new BoardHashLife();
+		board.setCellState(0, 0, true);
+
+		try {
+			board.nextGeneration(0);
+		} finally {
+			gr.setRules("s23/b3");
+		}
+	}
+}
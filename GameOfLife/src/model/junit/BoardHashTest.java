@@ -0,0 +1,134 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardHash;
+import model.BoardStatic;
+import model.GameBoard;
+import model.GameRules;
+
+public class BoardHashTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testKeys() {
+		BoardStatic board = new BoardStatic(200, 10);
+		long hash = 0;
+
+		board.setCellState(3, 2, true);
+		board.setCellState(70, 2, true);
+		board.setCellState(199, 9, true);
+		hash += BoardHash.key(3, 2) + BoardHash.key(70, 2) + BoardHash.key(199, 9);
+
+		assertEquals(hash, BoardHash.of(board));
+		assertEquals(BoardHash.key(-122, 3) - BoardHash.key(-70, 3),
+				BoardHash.change(-2, 3, 1L << 58, 1L << 6));
+
+		// The cells relative to the corner of the box.
+		assertEquals(BoardHash.key(0, 0) + BoardHash.key(67, 0) + BoardHash.key(196, 7),
+				BoardHash.of(board, new int[] { 3, 2, 199, 9 }));
+		assertEquals(BoardHash.key(0, 0), BoardHash.of(board, new int[] { 199, 9, 199, 9 }));
+
+		// The same cell in the other tiles has another key.
+		assertNotEquals(BoardHash.key(3, 2), BoardHash.key(3 + 64, 2));
+		assertNotEquals(BoardHash.key(3, 2), BoardHash.key(3, 2 + 64));
+		assertNotEquals(BoardHash.key(3, 2), BoardHash.key(3 - 64, 2 - 64));
+	}
+
+	@Test
+	public void testDifferentBoardsWithSameBox() {
+		Random random = new Random(20);
+
+		// Boards with the same population in the same bounding box, with the cells in different places. The
+		// corners are alive so the boxes are the same.
+		for(int test = 0; test < 200; test++) {
+			GameBoard board = new GameBoard(200, 150);
+			GameBoard other = new GameBoard(200, 150);
+			int[][] corners = { {10, 10}, {189, 10}, {10, 139}, {189, 139} };
+
+			for(int[] c : corners) {
+				board.setCellState(c[0], c[1], true);
+				other.setCellState(c[0], c[1], true);
+			}
+
+			for(int i = 0; i < 20; i++) {
+				board.setCellState(11 + random.nextInt(178), 11 + random.nextInt(128), true);
+			}
+
+			while(other.getPopulation() < board.getPopulation()) {
+				other.setCellState(11 + random.nextInt(178), 11 + random.nextInt(128), true);
+			}
+
+			assertArrayEquals(board.getBoundingBox(), other.getBoundingBox());
+			assertNotEquals(board.getHash(), other.getHash());
+			assertNotEquals(board.getHash(true), other.getHash(true));
+		}
+
+		// The corners on the diagonal and the antidiagonal of a square, which have the same population, the
+		// same bounding box and the same number of cells in every row and column.
+		GameBoard diagonal = new GameBoard(200, 200);
+		GameBoard antidiagonal = new GameBoard(200, 200);
+
+		diagonal.setCellState(0, 0, true);
+		diagonal.setCellState(128, 128, true);
+		antidiagonal.setCellState(128, 0, true);
+		antidiagonal.setCellState(0, 128, true);
+
+		assertNotEquals(diagonal.getHash(), antidiagonal.getHash());
+		assertNotEquals(diagonal.getHash(true), antidiagonal.getHash(true));
+	}
+
+	@Test
+	public void testIncrementalHashMatchesCells() {
+		gr.setRules("s23/b3");
+
+		for(GameBoard.StepMode mode : GameBoard.StepMode.values()) {
+			Random random = new Random(3);
+			GameBoard board = new GameBoard(100, 80);
+			GameBoard tiled = new GameBoard(100, 80);
+			board.setStepMode(mode);
+			tiled.setBoardType(GameBoard.BoardType.TILED);
+
+			for(int y = 0; y < 40; y++) {
+				for(int x = 0; x < 40; x++) {
+					boolean alive = random.nextInt(3) == 0;
+					board.setCellState(x, y, alive);
+					tiled.setCellState(x, y, alive);
+				}
+			}
+
+			// The dynamic board grows to the left and up, and the hash still matches the unbounded board.
+			for(int gen = 0; gen < 150; gen++) {
+				board.nextGeneration();
+				tiled.nextGeneration();
+
+				assertEquals(mode + " " + gen, tiled.getHash(), board.getHash());
+				assertEquals(mode + " " + gen, tiled.getHash(true), board.getHash(true));
+			}
+		}
+	}
+
+	@Test
+	public void testTranslationInvariant() {
+		GameBoard board = new GameBoard(50, 50);
+		GameBoard moved = new GameBoard(50, 50);
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+
+		for(int[] c : glider) {
+			board.setCellState(c[0] + 3, c[1] + 4, true);
+			moved.setCellState(c[0] + 30, c[1] + 17, true);
+		}
+
+		assertNotEquals(board.getHash(), moved.getHash());
+		assertEquals(board.getHash(true), moved.getHash(true));
+
+		moved.setCellState(31, 17, false);
+		assertNotEquals(board.getHash(true), moved.getHash(true));
+		assertEquals(0, new GameBoard(10, 10).getHash());
+	}
+}
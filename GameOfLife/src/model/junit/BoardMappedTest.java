@@ -0,0 +1,90 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardMapped;
+import model.GameBoard;
+import model.GameRules;
+
+public class BoardMappedTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testMappedMatchesStatic() throws IOException {
+		gr.setRules("s23/b3");
+		File file = File.createTempFile("board", ".gol");
+		file.deleteOnExit();
+
+		// More rows than a band, and a width which is not a multiple of 64.
+		int width = 150, height = 200;
+		Random random = new Random(13);
+		GameBoard reference = new GameBoard(width, height);
+		reference.setBoardType(GameBoard.BoardType.STATIC);
+		reference.setStepMode(GameBoard.StepMode.SWAR);
+
+		try(BoardMapped mapped = new BoardMapped(file, width, height)) {
+			for(int y = 0; y < height; y++) {
+				for(int x = 0; x < width; x++) {
+					boolean alive = random.nextInt(3) == 0;
+					reference.setCellState(x, y, alive);
+					mapped.setCellState(x, y, alive);
+				}
+			}
+
+			assertEquals(reference.getPopulation(), mapped.getPopulation());
+
+			for(int gen = 0; gen < 30; gen++) {
+				reference.nextGeneration();
+				mapped.nextGeneration(0);
+			}
+
+			assertEquals(reference.getPopulation(), mapped.getPopulation());
+			assertEqualCells(reference, mapped, width, height);
+		}
+
+		// The file resumes from the generation it was closed at.
+		try(BoardMapped resumed = new BoardMapped(file)) {
+			assertEquals(30, resumed.getGenerationNo());
+			assertEquals("S23/B3", resumed.getStoredRule());
+			assertEquals(reference.getPopulation(), resumed.getPopulation());
+			assertEqualCells(reference, resumed, width, height);
+
+			for(int gen = 0; gen < 8; gen++) {
+				reference.nextGeneration();
+			}
+			resumed.nextGeneration(3);
+
+			assertEquals(38, resumed.getGenerationNo());
+			assertEqualCells(reference, resumed, width, height);
+		}
+
+		file.delete();
+	}
+
+	@Test(expected = IOException.class)
+	public void testOpenInvalidFile() throws IOException {
+		File file = File.createTempFile("board", ".gol");
+		file.deleteOnExit();
+
+		try {
+			new BoardMapped(file);
+		} finally {
+			file.delete();
+		}
+	}
+
+	private void assertEqualCells(GameBoard reference, BoardMapped mapped, int width, int height) {
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				assertEquals(reference.getCellState(x, y), mapped.getCellState(x, y) == 1);
+			}
+		}
+	}
+}
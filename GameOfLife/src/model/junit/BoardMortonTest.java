@@ -0,0 +1,104 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardMorton;
+import model.BoardStatic;
+import model.GameBoard;
+import model.GameRules;
+
+public class BoardMortonTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testCellsAndElements() {
+		BoardMorton board = new BoardMorton(130, 3);
+
+		assertEquals(3, board.getNumColumns());
+		assertEquals(8 * 8 * Long.BYTES, board.getMemorySize());
+
+		board.setCellState(0, 0, true);
+		board.setCellState(129, 2, true);
+		board.setCellState(130, 2, true);
+		board.setCellState(-1, 0, true);
+
+		assertEquals(1, board.getCellState(0, 0));
+		assertEquals(1, board.getCellState(129, 2));
+		assertEquals(0, board.getCellState(130, 2));
+		assertEquals(1L, board.getElement(0, 0));
+		assertEquals(2L, board.getElement(2, 2));
+		assertEquals(0L, board.getElement(3, 2));
+
+		board.setElement(1, 1, -1L);
+		assertEquals(1, board.getCellState(100, 1));
+
+		board.clearBoard();
+		assertEquals(0L, board.getElement(1, 1));
+		assertEquals(0, board.getCellState(0, 0));
+	}
+
+	@Test
+	public void testElementsMatchStatic() {
+		Random random = new Random(25);
+
+		// A wide board which is not a whole number of tiles, so the tiles are not a square of a power of two.
+		int width = 64 * 50 + 17;
+		int height = 37;
+		BoardMorton morton = new BoardMorton(width, height);
+		BoardStatic row = new BoardStatic(width, height);
+
+		for(int i = 0; i < 5000; i++) {
+			int column = random.nextInt(51);
+			int y = random.nextInt(height);
+			long data = random.nextLong();
+
+			morton.setElement(column, y, data);
+			row.setElement(column, y, data);
+		}
+
+		for(int y = -1; y <= height; y++) {
+			for(int column = -1; column <= 51; column++) {
+				assertEquals(row.getElement(column, y), morton.getElement(column, y));
+			}
+		}
+	}
+
+	@Test
+	public void testMortonMatchesStatic() {
+		gr.setRules("s23/b3");
+		Random random = new Random(25);
+		GameBoard rowMajor = new GameBoard(300, 200);
+		GameBoard zOrder = new GameBoard(300, 200);
+
+		rowMajor.setBoardType(GameBoard.BoardType.STATIC);
+		zOrder.setBoardType(GameBoard.BoardType.MORTON);
+		rowMajor.setStepMode(GameBoard.StepMode.SWAR);
+		zOrder.setStepMode(GameBoard.StepMode.SWAR);
+
+		for(int y = 0; y < 200; y++) {
+			for(int x = 0; x < 300; x++) {
+				boolean alive = random.nextInt(3) == 0;
+				rowMajor.setCellState(x, y, alive);
+				zOrder.setCellState(x, y, alive);
+			}
+		}
+
+		for(int gen = 0; gen < 50; gen++) {
+			rowMajor.nextGeneration();
+			zOrder.nextGeneration();
+		}
+
+		assertEquals(rowMajor.getPopulation(), zOrder.getPopulation());
+		assertEquals(rowMajor.getHash(), zOrder.getHash());
+		for(int y = 0; y < 200; y++) {
+			for(int x = 0; x < 300; x++) {
+				assertEquals(rowMajor.getCellState(x, y), zOrder.getCellState(x, y));
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardOffHeap;
+import model.GameBoard;
+import model.GameRules;
+
+public class BoardOffHeapTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testCellsAndElements() {
+		BoardOffHeap board = new BoardOffHeap(130, 3);
+
+		assertEquals(3, board.getNumColumns());
+		assertEquals(3 * 3 * Long.BYTES, board.getMemorySize());
+
+		board.setCellState(0, 0, true);
+		board.setCellState(129, 2, true);
+		board.setCellState(130, 2, true);
+		board.setCellState(-1, 0, true);
+
+		assertEquals(1, board.getCellState(0, 0));
+		assertEquals(1, board.getCellState(129, 2));
+		assertEquals(0, board.getCellState(130, 2));
+		assertEquals(1L, board.getElement(0, 0));
+		assertEquals(2L, board.getElement(2, 2));
+		assertEquals(0L, board.getElement(3, 2));
+
+		board.setElement(1, 1, -1L);
+		assertEquals(1, board.getCellState(100, 1));
+
+		board.clearBoard();
+		assertEquals(0L, board.getElement(1, 1));
+		assertEquals(0, board.getCellState(0, 0));
+	}
+
+	@Test
+	public void testRelease() {
+		BoardOffHeap board = new BoardOffHeap(64, 64);
+		board.release();
+		board.release();
+
+		assertTrue(board.isReleased());
+
+		try {
+			board.getElement(0, 0);
+			fail("A released board can not be read.");
+		} catch(IllegalStateException e) {
+		}
+
+		// Positions outside the board never touch the memory.
+		assertEquals(0L, board.getElement(-1, 0));
+	}
+
+	@Test
+	public void testOffHeapMatchesStatic() {
+		gr.setRules("s23/b3");
+		Random random = new Random(12);
+		GameBoard onHeap = new GameBoard(300, 200);
+		GameBoard offHeap = new GameBoard(300, 200);
+
+		onHeap.setBoardType(GameBoard.BoardType.STATIC);
+		offHeap.setBoardType(GameBoard.BoardType.OFFHEAP);
+		onHeap.setStepMode(GameBoard.StepMode.SWAR);
+		offHeap.setStepMode(GameBoard.StepMode.SWAR);
+
+		for(int y = 0; y < 200; y++) {
+			for(int x = 0; x < 300; x++) {
+				boolean alive = random.nextInt(3) == 0;
+				onHeap.setCellState(x, y, alive);
+				offHeap.setCellState(x, y, alive);
+			}
+		}
+
+		for(int gen = 0; gen < 50; gen++) {
+			onHeap.nextGeneration();
+			offHeap.nextGeneration();
+		}
+
+		assertEquals(onHeap.getPopulation(), offHeap.getPopulation());
+		for(int y = 0; y < 200; y++) {
+			for(int x = 0; x < 300; x++) {
+				assertEquals(onHeap.getCellState(x, y), offHeap.getCellState(x, y));
+			}
+		}
+
+		// The cells are kept when the off-heap boards are released.
+		long population = offHeap.getPopulation();
+		offHeap.setBoardType(GameBoard.BoardType.STATIC);
+		assertEquals(population, offHeap.getPopulation());
+	}
+}
@@ -0,0 +1,120 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardSparse;
+import model.BoardTiled;
+import model.GameBoard;
+import model.GameRules;
+
+public class BoardSparseTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testGlidersFarApart() {
+		gr.setRules("s23/b3");
+		BoardSparse board = new BoardSparse();
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+		int far = 1000000000;
+
+		for(int[] c : glider) {
+			board.setCellState(c[0] - far, c[1] - far, true);
+			board.setCellState(c[0] + far, c[1] + far, true);
+		}
+
+		assertArrayEquals(new int[] {-far, -far, far + 2, far + 2}, board.getBoundingBox());
+		board.nextGeneration(10);
+
+		assertEquals(10, board.getPopulation());
+		for(int[] c : glider) {
+			assertEquals(1, board.getCellState(c[0] - far + 256, c[1] - far + 256));
+			assertEquals(1, board.getCellState(c[0] + far + 256, c[1] + far + 256));
+		}
+
+		// A glider crossing the end of the coordinates comes back on the other side.
+		board.clearBoard();
+		for(int[] c : glider) {
+			board.setCellState(c[0] + Integer.MAX_VALUE - 2, c[1], true);
+		}
+
+		board.nextGeneration(2);
+		assertEquals(5, board.getPopulation());
+		assertEquals(1, board.getCellState(Integer.MIN_VALUE, 3));
+		for(int[] c : glider) {
+			assertEquals(1, board.getCellState(c[0] + Integer.MAX_VALUE - 1, c[1] + 1));
+		}
+	}
+
+	@Test
+	public void testRandomSoupMatchesTiled() {
+		String[] rules = { "s23/b3", "s1357/b1357", "s23/b36" };
+		Random random = new Random(22);
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+			BoardSparse sparse = new BoardSparse();
+			BoardTiled tiled = new BoardTiled();
+
+			for(int y = -20; y < 20; y++) {
+				for(int x = -20; x < 20; x++) {
+					boolean alive = random.nextInt(3) == 0;
+					sparse.setCellState(x, y, alive);
+					tiled.setCellState(x, y, alive);
+				}
+			}
+
+			for(int gen = 0; gen < 60; gen++) {
+				sparse.nextGeneration(0);
+				tiled.nextGeneration(0);
+
+				assertEquals(rule + " generation " + gen, tiled.getPopulation(), sparse.getPopulation());
+			}
+
+			assertArrayEquals(rule, tiled.getBoundingBox(), sparse.getBoundingBox());
+
+			int[] box = tiled.getBoundingBox();
+			if(box != null) {
+				for(int y = box[1]; y <= box[3]; y++) {
+					for(int x = box[0]; x <= box[2]; x++) {
+						assertEquals(rule, tiled.getCellState(x, y), sparse.getCellState(x, y));
+					}
+				}
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testGameBoardSparse() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(64, 64);
+		GameBoard reference = new GameBoard(64, 64);
+		board.setBoardType(GameBoard.BoardType.SPARSE);
+		reference.setBoardType(GameBoard.BoardType.TILED);
+
+		// An R-pentomino.
+		int[][] cells = { {31, 30}, {32, 30}, {30, 31}, {31, 31}, {31, 32} };
+		for(int[] c : cells) {
+			board.setCellState(c[0], c[1], true);
+			reference.setCellState(c[0], c[1], true);
+		}
+
+		for(int gen = 0; gen < 50; gen++) {
+			board.nextGeneration();
+			reference.nextGeneration();
+		}
+
+		assertEquals(reference.getPopulation(), board.getPopulation());
+		assertEquals(reference.getHash(), board.getHash());
+		assertEquals(reference.getHash(true), board.getHash(true));
+
+		board.setBoardType(GameBoard.BoardType.TILED);
+		assertEquals(reference.getHash(), board.getHash());
+	}
+}
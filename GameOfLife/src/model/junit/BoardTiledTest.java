@@ -0,0 +1,151 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.BoardHashLife;
+import model.BoardTiled;
+import model.GameRules;
+
+public class BoardTiledTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testGliderLeavesTiles() {
+		gr.setRules("s23/b3");
+		BoardTiled board = new BoardTiled();
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+
+		// Starts up to the left of origin, so the glider crosses into the positive tiles.
+		for(int[] c : glider) {
+			board.setCellState(c[0] - 100, c[1] - 100, true);
+		}
+
+		board.nextGeneration(10);
+
+		assertEquals(5, board.getPopulation());
+		for(int[] c : glider) {
+			assertEquals(1, board.getCellState(c[0] + 156, c[1] + 156));
+		}
+		assertArrayEquals(new int[] {156, 156, 158, 158}, board.getBoundingBox());
+
+		// Only the tiles around the glider is kept.
+		assertTrue(board.getTileCount() <= 4);
+
+		board.setCellState(157, 156, false);
+		board.setCellState(158, 157, false);
+		board.setCellState(156, 158, false);
+		board.setCellState(157, 158, false);
+		board.setCellState(158, 158, false);
+
+		assertEquals(0, board.getPopulation());
+		assertEquals(0, board.getTileCount());
+		assertNull(board.getBoundingBox());
+	}
+
+	@Test
+	public void testRandomSoupMatchesHashLife() {
+		String[] rules = { "s23/b3", "s1357/b1357", "s23/b36" };
+		Random random = new Random(64);
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+			BoardTiled tiled = new BoardTiled();
+			BoardHashLife hashLife = new BoardHashLife();
+
+			// The soup is placed across the corner of four tiles.
+			for(int y = -20; y < 20; y++) {
+				for(int x = -20; x < 20; x++) {
+					boolean alive = random.nextInt(3) == 0;
+					tiled.setCellState(x, y, alive);
+					hashLife.setCellState(x, y, alive);
+				}
+			}
+
+			for(int gen = 0; gen < 60; gen++) {
+				tiled.nextGeneration(0);
+				hashLife.nextGeneration(0);
+
+				assertEquals(rule + " generation " + gen, hashLife.getPopulation(), tiled.getPopulation());
+			}
+
+			assertArrayEquals(rule, hashLife.getBoundingBox(), tiled.getBoundingBox());
+
+			int[] box = tiled.getBoundingBox();
+			if(box != null) {
+				for(int y = box[1]; y <= box[3]; y++) {
+					for(int x = box[0]; x <= box[2]; x++) {
+						assertEquals(rule, hashLife.getCellState(x, y), tiled.getCellState(x, y));
+					}
+				}
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testSleepingTilesMatchHashLife() {
+		gr.setRules("s23/b3");
+		Random random = new Random(6);
+		BoardTiled tiled = new BoardTiled();
+		BoardHashLife hashLife = new BoardHashLife();
+
+		// Soups in several tiles, which burns out to still lifes and blinkers.
+		for(int soup = 0; soup < 6; soup++) {
+			int left = random.nextInt(300) - 150;
+			int top = random.nextInt(300) - 150;
+
+			for(int y = top; y < top + 24; y++) {
+				for(int x = left; x < left + 24; x++) {
+					boolean alive = random.nextInt(3) == 0;
+					tiled.setCellState(x, y, alive);
+					hashLife.setCellState(x, y, alive);
+				}
+			}
+		}
+
+		for(int gen = 0; gen < 1500; gen++) {
+			// Cells set in the middle of the run must wake the tiles.
+			if(gen == 1000 || gen == 1001) {
+				int[] box = hashLife.getBoundingBox();
+				for(int i = 0; i < 20; i++) {
+					int x = box[0] + random.nextInt(box[2] - box[0] + 1);
+					int y = box[1] + random.nextInt(box[3] - box[1] + 1);
+					tiled.setCellState(x, y, true);
+					hashLife.setCellState(x, y, true);
+				}
+			}
+
+			tiled.nextGeneration(0);
+			hashLife.nextGeneration(0);
+
+			assertEquals("generation " + gen, hashLife.getPopulation(), tiled.getPopulation());
+		}
+
+		assertTrue(tiled.getSleepingTileCount() > 0);
+
+		// A new rule must wake all the tiles.
+		gr.setRules("s23/b36");
+		for(int gen = 0; gen < 50; gen++) {
+			tiled.nextGeneration(0);
+			hashLife.nextGeneration(0);
+
+			assertEquals("generation " + gen, hashLife.getPopulation(), tiled.getPopulation());
+		}
+
+		int[] box = hashLife.getBoundingBox();
+		assertArrayEquals(box, tiled.getBoundingBox());
+		for(int y = box[1]; y <= box[3]; y++) {
+			for(int x = box[0]; x <= box[2]; x++) {
+				assertEquals(hashLife.getCellState(x, y), tiled.getCellState(x, y));
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+}
@@ -0,0 +1,161 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import model.BoardWorkerPool;
+import model.GameBoard;
+import model.GameRules;
+
+public class BoardWorkerPoolTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testBandsMatchSerial() {
+		String[] rules = { "s23/b3", "s23/b36", "s1357/b1357" };
+		GameBoard.BoardType[] types = { GameBoard.BoardType.STATIC, GameBoard.BoardType.DYNAMIC };
+
+		for(String rule : rules) {
+			for(GameBoard.BoardType type : types) {
+				gr.setRules(rule);
+				GameBoard serial = board(type, 150, 100, 4, GameBoard.ScheduleMode.SERIAL);
+				GameBoard bands = board(type, 150, 100, 4, GameBoard.ScheduleMode.BANDS);
+
+				BoardFixtures.stepAndCompare(rule + " " + type, serial, bands, 120);
+				bands.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testBoardLowerThanWorkerCount() {
+		gr.setRules("s23/b3");
+
+		// There are more workers than rows, so some of the workers have an empty band.
+		GameBoard serial = board(GameBoard.BoardType.STATIC, 300, 3, 8, GameBoard.ScheduleMode.SERIAL);
+		GameBoard bands = board(GameBoard.BoardType.STATIC, 300, 3, 8, GameBoard.ScheduleMode.BANDS);
+
+		BoardFixtures.stepAndCompare("static", serial, bands, 50);
+		bands.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+
+		// A dynamic board which starts lower than the worker count, and grows past it.
+		serial = board(GameBoard.BoardType.DYNAMIC, 64, 2, 8, GameBoard.ScheduleMode.SERIAL);
+		bands = board(GameBoard.BoardType.DYNAMIC, 64, 2, 8, GameBoard.ScheduleMode.BANDS);
+
+		BoardFixtures.stepAndCompare("dynamic", serial, bands, 100);
+		bands.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+	}
+
+	@Test
+	public void testShutdownStopsWorkers() throws InterruptedException {
+		// The workers of the other tests can still be stopping, so only the new workers are counted.
+		Set<Thread> before = workers();
+		GameBoard board = board(GameBoard.BoardType.STATIC, 100, 50, 4, GameBoard.ScheduleMode.SERIAL);
+
+		// The pool is replaced every time, so the old workers must stop.
+		for(int i = 0; i < 20; i++) {
+			board.setScheduleMode(GameBoard.ScheduleMode.BANDS);
+			board.nextGeneration();
+			board.setThreadCount(2 + i % 3);
+			board.nextGeneration();
+			board.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+		}
+
+		assertEquals(0, awaitWorkers(before));
+
+		BoardWorkerPool pool = new BoardWorkerPool(3);
+		pool.run(new Runnable[] { () -> {}, null });
+		pool.shutdown();
+		pool.shutdown();
+
+		assertEquals(0, awaitWorkers(before));
+
+		try {
+			pool.run(new Runnable[0]);
+			fail("A pool which is shut down can not be used.");
+		} catch(IllegalStateException e) {
+		}
+	}
+
+	@Test
+	public void testJobFailureIsThrown() {
+		BoardWorkerPool pool = new BoardWorkerPool(2);
+		final int[] done = new int[1];
+
+		try {
+			pool.run(new Runnable[] { () -> { throw new IllegalStateException("fail"); }, () -> done[0]++ });
+			fail("The exception of a job must be thrown by run.");
+		} catch(IllegalStateException e) {
+			assertEquals("fail", e.getMessage());
+		}
+
+		// The pool can still be used after a job failed.
+		pool.run(new Runnable[] { () -> done[0]++, () -> done[0]++ });
+		assertEquals(3, done[0]);
+
+		pool.shutdown();
+	}
+
+	// Without the barrier in finally the run waits forever, so the test has a time limit.
+	@Test(timeout = 10000)
+	public void testJobErrorIsThrown() {
+		BoardWorkerPool pool = new BoardWorkerPool(2);
+		final int[] done = new int[1];
+
+		try {
+			pool.run(new Runnable[] { () -> { throw new AssertionError("error"); }, () -> done[0]++ });
+			fail("The error of a job must be thrown by run.");
+		} catch(AssertionError e) {
+			assertEquals("error", e.getMessage());
+		}
+
+		// The worker survives the error, so the next run doesn't wait for it forever.
+		pool.run(new Runnable[] { () -> done[0]++, () -> done[0]++ });
+		assertEquals(3, done[0]);
+
+		pool.shutdown();
+	}
+
+	// Waits a while for the stopped workers to finish, and returns the number of workers still running
+	// which were not running before.
+	private int awaitWorkers(Set<Thread> before) throws InterruptedException {
+		Set<Thread> running = workers();
+		running.removeAll(before);
+
+		for(int i = 0; i < 100 && !running.isEmpty(); i++) {
+			Thread.sleep(20);
+			running = workers();
+			running.removeAll(before);
+		}
+
+		return running.size();
+	}
+
+	private Set<Thread> workers() {
+		Set<Thread> workers = new HashSet<>();
+
+		for(Thread thread : Thread.getAllStackTraces().keySet()) {
+			if(thread.getName().startsWith("BoardWorker-") && thread.isAlive()) {
+				workers.add(thread);
+			}
+		}
+
+		return workers;
+	}
+
+	private GameBoard board(GameBoard.BoardType type, int columns, int rows, int threads, GameBoard.ScheduleMode mode) {
+		GameBoard board = BoardFixtures.soup(type, GameBoard.StepMode.SWAR, columns, rows, 7);
+		board.setCycleDetection(false);
+		board.setThreadCount(threads);
+		board.setScheduleMode(mode);
+
+		return board;
+	}
+}
@@ -0,0 +1,245 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import model.BoardSnapshot;
+import model.BoardStatic;
+import model.GameBoard;
+import model.GameRules;
+
+public class CycleTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testOscillator() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(40, 40);
+
+		// A blinker, which has the period 2, and a block.
+		board.setCellState(10, 10, true);
+		board.setCellState(11, 10, true);
+		board.setCellState(12, 10, true);
+		board.setCellState(30, 30, true);
+		board.setCellState(31, 30, true);
+		board.setCellState(30, 31, true);
+		board.setCellState(31, 31, true);
+
+		assertEquals(0, board.getCyclePeriod());
+		assertEquals(-1, board.getCycleStart());
+
+		for(int gen = 0; gen < 10; gen++) {
+			board.nextGeneration();
+		}
+
+		assertEquals(2, board.getCyclePeriod());
+		assertEquals(1, board.getCycleStart());
+		assertEquals(2, board.getCycleGeneration(1000));
+		assertEquals(1, board.getCycleGeneration(1001));
+
+		board.advanceTo(1000001);
+		assertEquals(1000001, board.getGenerationNo());
+		assertTrue(board.getCellState(11, 9));
+		assertTrue(board.getCellState(11, 11));
+		assertFalse(board.getCellState(10, 10));
+
+		// The cycle is forgotten when a cell is changed.
+		board.setCellState(0, 0, false);
+		assertEquals(0, board.getCyclePeriod());
+	}
+
+	@Test
+	public void testStillLife() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(20, 20);
+
+		board.setCellState(5, 5, true);
+		board.setCellState(6, 5, true);
+		board.setCellState(5, 6, true);
+		board.setCellState(6, 6, true);
+
+		board.nextGeneration();
+		board.nextGeneration();
+		assertEquals(1, board.getCyclePeriod());
+
+		for(int gen = 0; gen < 100; gen++) {
+			board.nextGeneration();
+		}
+
+		assertEquals(102, board.getGenerationNo());
+		assertEquals(4, board.getPopulation());
+		assertEquals(0, board.getBirths());
+		assertTrue(board.getCellState(6, 6));
+	}
+
+	@Test
+	public void testFastForwardMatchesStepping() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(64, 64);
+		GameBoard reference = new GameBoard(64, 64);
+		reference.setCycleDetection(false);
+
+		for(GameBoard soup : new GameBoard[] { board, reference }) {
+			soup.setBoardType(GameBoard.BoardType.STATIC);
+			soup.setStepMode(GameBoard.StepMode.SWAR);
+			BoardFixtures.soup(soup, 11, 16, 16, 47, 47);
+		}
+
+		while(board.getCyclePeriod() == 0 && board.getGenerationNo() < 5000) {
+			board.nextGeneration();
+		}
+
+		assertTrue(board.getCyclePeriod() > 0);
+
+		long target = board.getGenerationNo() + 123457;
+		board.advanceTo(target);
+		reference.advanceTo(board.getCycleGeneration(target));
+
+		assertEquals(target, board.getGenerationNo());
+		assertEquals(reference.getPopulation(), board.getPopulation());
+
+		for(int y = 0; y < 64; y++) {
+			for(int x = 0; x < 64; x++) {
+				assertEquals(reference.getCellState(x, y), board.getCellState(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testCycleIsVerified() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(40, 40);
+
+		board.setCellState(10, 10, true);
+		board.setCellState(11, 10, true);
+		board.setCellState(12, 10, true);
+
+		// The hashes repeat after 4 generations, but the cycle is only used when the cells of generation 4
+		// are found again in generation 6.
+		for(int gen = 0; gen < 5; gen++) {
+			board.nextGeneration();
+		}
+
+		assertEquals(0, board.getCyclePeriod());
+
+		board.nextGeneration();
+		assertEquals(2, board.getCyclePeriod());
+		assertEquals(1, board.getCycleStart());
+	}
+
+	@Test
+	public void testStillLifeIsFoundByCounts() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(20, 20);
+
+		board.setCellState(5, 5, true);
+		board.setCellState(6, 5, true);
+		board.setCellState(5, 6, true);
+		board.setCellState(6, 6, true);
+
+		// No cell is born or dies in the first generation, so the board is known to be still at once.
+		board.nextGeneration();
+		assertEquals(1, board.getCyclePeriod());
+		assertEquals(0, board.getCycleStart());
+
+		// A blinker is added, which changes every generation, so the board is not still.
+		board.setCellState(14, 14, true);
+		board.setCellState(15, 14, true);
+		board.setCellState(16, 14, true);
+		board.nextGeneration();
+		assertEquals(0, board.getCyclePeriod());
+	}
+
+	@Test
+	public void testCycleOnGrowingBoard() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(64, 20);
+		GameBoard reference = new GameBoard(64, 20);
+		reference.setCycleDetection(false);
+
+		// A blinker on the left edge and the top edge, so the board grows to the left and up, and the cells
+		// are moved on the board after the first generation.
+		for(GameBoard b : new GameBoard[] { board, reference }) {
+			b.setCellState(0, 0, true);
+			b.setCellState(0, 1, true);
+			b.setCellState(0, 2, true);
+			b.setCellState(40, 0, true);
+			b.setCellState(41, 0, true);
+			b.setCellState(42, 0, true);
+		}
+
+		for(int gen = 0; gen < 20; gen++) {
+			board.nextGeneration();
+		}
+
+		assertEquals(2, board.getCyclePeriod());
+
+		board.advanceTo(100001);
+		reference.advanceTo(board.getCycleGeneration(100001));
+
+		assertEquals(reference.getPopulation(), board.getPopulation());
+		assertEquals(reference.getHash(), board.getHash());
+		assertArrayEquals(reference.getBoundingBox(), board.getBoundingBox());
+	}
+
+	@Test
+	public void testRuleChangeBetweenAdvances() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(60, 60);
+		GameBoard reference = new GameBoard(60, 60);
+		reference.setCycleDetection(false);
+
+		for(GameBoard b : new GameBoard[] { board, reference }) {
+			b.setCellState(30, 29, true);
+			b.setCellState(30, 30, true);
+			b.setCellState(30, 31, true);
+		}
+
+		board.advanceTo(20);
+		reference.advanceTo(20);
+		assertEquals(2, board.getCyclePeriod());
+
+		// The blinker is not a cycle under another rule, so the periods can not be skipped.
+		gr.setRules("s1357/b1357");
+		board.advanceTo(200);
+		reference.advanceTo(200);
+
+		assertEquals(reference.getPopulation(), board.getPopulation());
+		assertEquals(reference.getHash(), board.getHash());
+		assertArrayEquals(reference.getBoundingBox(), board.getBoundingBox());
+		assertNotEquals(3, board.getPopulation());
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testSnapshot() {
+		BoardStatic board = new BoardStatic(200, 20);
+		board.setCellState(70, 5, true);
+		board.setCellState(130, 9, true);
+
+		int[] box = { 70, 5, 130, 9 };
+		BoardSnapshot snapshot = new BoardSnapshot(board, box, 2, 0, 0);
+
+		assertTrue(snapshot.matches(board, box, 2, 0, 0));
+
+		// The same population and bounding box, but another cell inside the box.
+		BoardStatic other = new BoardStatic(200, 20);
+		other.setCellState(70, 9, true);
+		other.setCellState(130, 5, true);
+		assertFalse(snapshot.matches(other, box, 2, 0, 0));
+
+		// The same cells on a board where they have been moved 64 cells to the right and 3 rows down.
+		BoardStatic moved = new BoardStatic(300, 30);
+		moved.setCellState(70 + 64, 5 + 3, true);
+		moved.setCellState(130 + 64, 9 + 3, true);
+		assertTrue(snapshot.matches(moved, new int[] { 134, 8, 194, 12 }, 2, 64, 3));
+		assertFalse(snapshot.matches(moved, new int[] { 134, 8, 194, 12 }, 2, 0, 0));
+
+		BoardSnapshot empty = new BoardSnapshot(board, null, 0, 0, 0);
+		assertTrue(empty.matches(other, null, 0, 0, 0));
+		assertFalse(empty.matches(board, box, 2, 0, 0));
+	}
+}
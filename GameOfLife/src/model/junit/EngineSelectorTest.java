@@ -0,0 +1,106 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import model.EngineSelector;
+import model.GameBoard;
+import model.GameBoard.BoardType;
+import model.GameRules;
+
+public class EngineSelectorTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testSwitchIsUndoneWhenSlower() {
+		EngineSelector selector = new EngineSelector();
+		StringWriter log = new StringWriter();
+		selector.setLog(new PrintWriter(log));
+
+		// Ten cells spread over a large area.
+		int[] box = { 0, 0, 9999, 9999 };
+
+		assertNull(selector.sample(BoardType.DYNAMIC, 0, 10, box, 0.5, 0, true));
+		assertNull(selector.sample(BoardType.DYNAMIC, 256, 10, box, 0.5, 1000000, true));
+		assertEquals(BoardType.SPARSE, selector.sample(BoardType.DYNAMIC, 512, 10, box, 0.5, 1000000, true));
+		assertTrue(log.toString().startsWith("512 DYNAMIC -> SPARSE"));
+
+		// The sparse board was slower, so the switch is undone and the board keeps its type for a while.
+		assertEquals(BoardType.DYNAMIC, selector.sample(BoardType.SPARSE, 768, 10, box, -1, 1000000000, true));
+		assertTrue(log.toString().contains("768 SPARSE after switch from DYNAMIC"));
+
+		for(int i = 0; i < EngineSelector.HOLD_SAMPLES; i++) {
+			assertNull(selector.sample(BoardType.DYNAMIC, 1024 + i * 256, 10, box, 0.5, 1000000, true));
+		}
+	}
+
+	@Test
+	public void testChoices() {
+		EngineSelector selector = new EngineSelector();
+		int[] box = { 0, 0, 99, 99 };
+
+		// A population which grows faster and faster is given to HashLife.
+		assertNull(selector.sample(BoardType.TILED, 0, 100, box, 0.5, 0, true));
+		assertNull(selector.sample(BoardType.TILED, 256, 200, box, 0.5, 1000000, true));
+		assertNull(selector.sample(BoardType.TILED, 512, 400, box, 0.5, 1000000, true));
+		assertEquals(BoardType.HASHLIFE, selector.sample(BoardType.TILED, 768, 800, box, 0.5, 1000000, true));
+
+		// A dense soup is stepped on a dynamic board, and still ash by a change list.
+		selector = new EngineSelector();
+		assertNull(selector.sample(BoardType.TILED, 0, 3000, box, 0.5, 0, true));
+		assertNull(selector.sample(BoardType.TILED, 256, 3000, box, 0.5, 1000000, true));
+		assertEquals(BoardType.DYNAMIC, selector.sample(BoardType.TILED, 512, 3000, box, 0.5, 1000000, true));
+
+		selector = new EngineSelector();
+		assertNull(selector.sample(BoardType.TILED, 0, 300, box, 0.01, 0, true));
+		assertNull(selector.sample(BoardType.TILED, 256, 300, box, 0.01, 1000000, true));
+		assertEquals(BoardType.CHANGELIST, selector.sample(BoardType.TILED, 512, 300, box, 0.01, 1000000, true));
+	}
+
+	@Test
+	public void testNoHashLifeForBirthOnZero() {
+		EngineSelector selector = new EngineSelector();
+		int[] box = { 0, 0, 99, 99 };
+
+		// HashLife can not step a rule where cells are born with 0 neighbours, so the board keeps its type.
+		assertNull(selector.sample(BoardType.TILED, 0, 100, box, 0.5, 0, false));
+		assertNull(selector.sample(BoardType.TILED, 256, 200, box, 0.5, 1000000, false));
+		assertNull(selector.sample(BoardType.TILED, 512, 400, box, 0.5, 1000000, false));
+		assertNull(selector.sample(BoardType.TILED, 768, 800, box, 0.5, 1000000, false));
+		assertNull(selector.sample(BoardType.TILED, 1024, 1600, box, 0.5, 1000000, false));
+	}
+
+	@Test
+	public void testAdaptiveBoardMatchesFixedBoard() {
+		gr.setRules("s23/b3");
+		GameBoard board = BoardFixtures.soup(new GameBoard(64, 64), 23, 16, 16, 47, 47);
+		GameBoard reference = BoardFixtures.soup(new GameBoard(64, 64), 23, 16, 16, 47, 47);
+		StringWriter log = new StringWriter();
+
+		board.setAdaptiveEngine(true);
+		board.setEngineLog(new PrintWriter(log));
+		reference.setCycleDetection(false);
+
+		for(int gen = 0; gen < 2000; gen++) {
+			board.nextGeneration();
+			reference.nextGeneration();
+
+			if(gen % 100 == 99) {
+				assertEquals(reference.getPopulation(), board.getPopulation());
+				assertEquals(reference.getHash(true), board.getHash(true));
+			}
+		}
+
+		board.advanceTo(5000);
+		reference.advanceTo(5000);
+
+		assertEquals(5000, board.getGenerationNo());
+		assertEquals(reference.getPopulation(), board.getPopulation());
+		assertEquals(reference.getHash(true), board.getHash(true));
+	}
+}
@@ -0,0 +1,136 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+
+public class GameBoardTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testDynamicBoardIsTrimmed() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(300, 300);
+		GameBoard tiled = new GameBoard(300, 300);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+		tiled.setBoardType(GameBoard.BoardType.TILED);
+
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+
+		for(int[] c : glider) {
+			board.setCellState(c[0] + 10, c[1] + 10, true);
+			tiled.setCellState(c[0] + 10, c[1] + 10, true);
+		}
+
+		double cellSize = board.settings().getCellSizeOuter();
+		int size = 0;
+
+		for(int gen = 0; gen < 2000; gen++) {
+			board.nextGeneration();
+			tiled.nextGeneration();
+
+			// The board follows the glider, but never keeps more than the margins around it.
+			int[] box = board.getBoundingBox();
+			assertTrue(box[0] <= 128 + 2 && box[1] <= 128 + 2);
+			assertTrue(board.getWidth() - box[2] <= 128 + 64 && board.getHeight() - box[3] <= 128 + 64);
+
+			// The cells stay in the same place in the view.
+			int[] boxT = tiled.getBoundingBox();
+			assertEquals(boxT[0] * cellSize, box[0] * cellSize - board.settings().getOffsetLeft(), 1e-6);
+			assertEquals(boxT[1] * cellSize, box[1] * cellSize - board.settings().getOffsetTop(), 1e-6);
+
+			size = (int) Math.max(size, board.getWidth() * board.getHeight());
+		}
+
+		assertEquals(5, board.getPopulation());
+		assertTrue(size < 400 * 400);
+	}
+
+	// The cycle detection is turned off in the tests of a block, or the block is not stepped, and the board
+	// is never trimmed.
+	@Test
+	public void testNoTrimInsideHysteresisBand() {
+		gr.setRules("s23/b3");
+
+		// A block with margins of 100 cells on the left and top, and 128 cells on the right and bottom,
+		// which are all inside the band of 128 cells a board is allowed to keep.
+		GameBoard board = new GameBoard(230, 230);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+		board.setCycleDetection(false);
+		block(board, 100, 100);
+
+		double offsetLeft = board.settings().getOffsetLeft();
+		double offsetTop = board.settings().getOffsetTop();
+
+		for(int gen = 0; gen < 20; gen++) {
+			board.nextGeneration();
+
+			assertEquals(230, board.getWidth());
+			assertEquals(230, board.getHeight());
+			assertArrayEquals(new int[] {100, 100, 101, 101}, board.getBoundingBox());
+			assertEquals(offsetLeft, board.settings().getOffsetLeft(), 1e-6);
+			assertEquals(offsetTop, board.settings().getOffsetTop(), 1e-6);
+		}
+	}
+
+	@Test
+	public void testTrimmedBoardIsStable() {
+		gr.setRules("s23/b3");
+
+		// The margins are wider than 128 cells, so they are trimmed down into the band.
+		GameBoard board = new GameBoard(600, 500);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+		board.setCycleDetection(false);
+		block(board, 300, 250);
+
+		board.nextGeneration();
+
+		int[] box = board.getBoundingBox();
+		long width = board.getWidth();
+		long height = board.getHeight();
+
+		assertTrue(box[0] >= 64 && box[0] <= 128);
+		assertTrue(box[1] >= 64 && box[1] <= 128);
+		assertTrue(width - 1 - box[2] >= 64 && width - 1 - box[2] <= 128);
+		assertTrue(height - 1 - box[3] >= 64 && height - 1 - box[3] <= 128);
+		assertTrue(width < 600 && height < 500);
+
+		// A board inside the band is not trimmed again.
+		for(int gen = 0; gen < 20; gen++) {
+			board.nextGeneration();
+
+			assertArrayEquals(box, board.getBoundingBox());
+			assertEquals(width, board.getWidth());
+			assertEquals(height, board.getHeight());
+		}
+	}
+
+	@Test
+	public void testNoTrimWithoutAutoTrim() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(600, 500);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+		board.setAutoTrim(false);
+		board.setCycleDetection(false);
+		block(board, 300, 250);
+
+		for(int gen = 0; gen < 5; gen++) {
+			board.nextGeneration();
+		}
+
+		assertEquals(600, board.getWidth());
+		assertEquals(500, board.getHeight());
+		assertArrayEquals(new int[] {300, 250, 301, 251}, board.getBoundingBox());
+	}
+
+	private void block(GameBoard board, int x, int y) {
+		board.setCellState(x, y, true);
+		board.setCellState(x + 1, y, true);
+		board.setCellState(x, y + 1, true);
+		board.setCellState(x + 1, y + 1, true);
+	}
+}
@@ -0,0 +1,179 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+
+public class GenerationStatsTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testCountsMatchCells() {
+		gr.setRules("s23/b3");
+		GameBoard.BoardType[] types = { GameBoard.BoardType.STATIC, GameBoard.BoardType.DYNAMIC };
+		int width = 150, height = 100;
+
+		for(GameBoard.BoardType type : types) {
+			for(GameBoard.StepMode mode : GameBoard.StepMode.values()) {
+				Random random = new Random(5);
+				GameBoard board = new GameBoard(width, height);
+				board.setBoardType(type);
+				board.setStepMode(mode);
+
+				for(int y = 30; y < 70; y++) {
+					for(int x = 50; x < 100; x++) {
+						board.setCellState(x, y, random.nextInt(3) == 0);
+					}
+				}
+
+				String message = type + " " + mode;
+				boolean[][] before = cells(board);
+				assertEquals(message, count(before), board.getPopulation());
+
+				for(int gen = 0; gen < 25; gen++) {
+					board.nextGeneration();
+
+					// A dynamic board can grow up and to the left, so the cells are compared by their
+					// distance from the bottom right corner.
+					boolean[][] after = cells(board);
+					int dy = after.length - before.length;
+					int dx = after[0].length - before[0].length;
+					long births = 0, deaths = 0;
+
+					for(int y = 0; y < after.length; y++) {
+						for(int x = 0; x < after[0].length; x++) {
+							boolean old = y >= dy && x >= dx && before[y - dy][x - dx];
+							births += (after[y][x] && !old) ? 1 : 0;
+							deaths += (old && !after[y][x]) ? 1 : 0;
+						}
+					}
+
+					assertEquals(message, count(after), board.getPopulation());
+					assertEquals(message, births, board.getBirths());
+					assertEquals(message, deaths, board.getDeaths());
+					assertArrayEquals(message, boundingBox(after), board.getBoundingBox());
+
+					before = after;
+				}
+
+				board.clear();
+				assertEquals(message, 0, board.getPopulation());
+			}
+		}
+	}
+
+	@Test
+	public void testDynamicBoardGrowsRight() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(100, 40);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+
+		// A glider moving down to the right, which would die at the right edge if the board didn't grow.
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+
+		for(int[] c : glider) {
+			board.setCellState(c[0] + 80, c[1] + 10, true);
+		}
+
+		assertArrayEquals(new int[] {80, 10, 82, 12}, board.getBoundingBox());
+
+		for(int gen = 0; gen < 80; gen++) {
+			board.nextGeneration();
+		}
+
+		assertEquals(5, board.getPopulation());
+		assertTrue(board.getWidth() > 100);
+		assertArrayEquals(boundingBox(cells(board)), board.getBoundingBox());
+
+		// Killing a cell on the edge of the box makes the box shrink.
+		int[] box = board.getBoundingBox();
+		for(int y = box[1]; y <= box[3]; y++) {
+			board.setCellState(box[2], y, false);
+		}
+
+		assertArrayEquals(boundingBox(cells(board)), board.getBoundingBox());
+	}
+
+	@Test
+	public void testDynamicBoardMatchesTiledBoard() {
+		gr.setRules("s23/b3");
+		Random random = new Random(3);
+		GameBoard dynamic = new GameBoard(120, 100);
+		GameBoard tiled = new GameBoard(120, 100);
+
+		dynamic.setStepMode(GameBoard.StepMode.SWAR);
+		tiled.setBoardType(GameBoard.BoardType.TILED);
+
+		// The soup fills the whole board, so it grows on all four edges at once.
+		for(int y = 0; y < 100; y++) {
+			for(int x = 0; x < 120; x++) {
+				boolean alive = random.nextInt(3) == 0;
+				dynamic.setCellState(x, y, alive);
+				tiled.setCellState(x, y, alive);
+			}
+		}
+
+		for(int gen = 0; gen < 150; gen++) {
+			dynamic.nextGeneration();
+			tiled.nextGeneration();
+
+			assertEquals(tiled.getPopulation(), dynamic.getPopulation());
+		}
+
+		int[] boxD = dynamic.getBoundingBox();
+		int[] boxT = tiled.getBoundingBox();
+
+		assertEquals(boxT[2] - boxT[0], boxD[2] - boxD[0]);
+		assertEquals(boxT[3] - boxT[1], boxD[3] - boxD[1]);
+	}
+
+	private int[] boundingBox(boolean[][] cells) {
+		int[] box = null;
+
+		for(int y = 0; y < cells.length; y++) {
+			for(int x = 0; x < cells[0].length; x++) {
+				if(cells[y][x]) {
+					if(box == null) {
+						box = new int[] {x, y, x, y};
+					}
+					box[0] = Math.min(box[0], x);
+					box[1] = Math.min(box[1], y);
+					box[2] = Math.max(box[2], x);
+					box[3] = Math.max(box[3], y);
+				}
+			}
+		}
+
+		return box;
+	}
+
+	private boolean[][] cells(GameBoard board) {
+		boolean[][] cells = new boolean[(int) board.getHeight()][(int) board.getWidth()];
+
+		for(int y = 0; y < cells.length; y++) {
+			for(int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = board.getCellState(x, y);
+			}
+		}
+
+		return cells;
+	}
+
+	private long count(boolean[][] cells) {
+		long count = 0;
+
+		for(boolean[] row : cells) {
+			for(boolean cell : row) {
+				count += cell ? 1 : 0;
+			}
+		}
+
+		return count;
+	}
+}
@@ -0,0 +1,81 @@
+package model.junit;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+
+public class KernelBlockedTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testBlocksMatchSingleGenerations() {
+		String[] rules = { "s23/b3", "s1357/b1357", "s23/b36" };
+		int[] depths = { 1, 7, 64 };
+
+		for(String rule : rules) {
+			for(int depth : depths) {
+				gr.setRules(rule);
+
+				// The board is not a whole number of tiles, so the last tiles are cut by the edges.
+				GameBoard board = BoardFixtures.soup(GameBoard.BoardType.STATIC, GameBoard.StepMode.SWAR, 600, 300, 24);
+				GameBoard reference = BoardFixtures.soup(GameBoard.BoardType.STATIC, GameBoard.StepMode.SWAR, 600, 300, 24);
+				board.setTemporalBlocking(depth);
+				reference.setCycleDetection(false);
+
+				board.advanceTo(150);
+				reference.advanceTo(150);
+				BoardFixtures.assertSameCells(rule + " depth " + depth, reference, board);
+
+				// The changed cells of the last generation in a block are used by the next generation.
+				board.nextGeneration();
+				reference.nextGeneration();
+				BoardFixtures.assertSameCells(rule + " depth " + depth, reference, board);
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testParallelBlocks() {
+		gr.setRules("s23/b3");
+		GameBoard reference = BoardFixtures.soup(GameBoard.BoardType.STATIC, GameBoard.StepMode.SWAR, 1000, 700, 24);
+		reference.setCycleDetection(false);
+		reference.advanceTo(96);
+
+		for(GameBoard.ScheduleMode mode : GameBoard.ScheduleMode.values()) {
+			GameBoard board = BoardFixtures.soup(GameBoard.BoardType.STATIC, GameBoard.StepMode.SWAR, 1000, 700, 24);
+			board.setTemporalBlocking(32);
+			board.setScheduleMode(mode);
+			board.advanceTo(96);
+			board.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+
+			BoardFixtures.assertSameCells(mode.toString(), reference, board);
+		}
+	}
+
+	@Test
+	public void testCellsStepAfterBlock() {
+		gr.setRules("s23/b3");
+
+		// The cell by cell mode reads the unchanged cells from the board it writes to, so that board must
+		// hold the last generation of the block.
+		for(int depth : new int[] { 1, 8, 16 }) {
+			GameBoard board = BoardFixtures.soup(GameBoard.BoardType.STATIC, GameBoard.StepMode.CELLS, 128, 128, 24);
+			GameBoard reference = BoardFixtures.soup(GameBoard.BoardType.STATIC, GameBoard.StepMode.CELLS, 128, 128, 24);
+			board.setTemporalBlocking(depth);
+			reference.setCycleDetection(false);
+
+			board.advanceTo(48);
+			reference.advanceTo(48);
+
+			for(int gen = 0; gen < 3; gen++) {
+				board.nextGeneration();
+				reference.nextGeneration();
+				BoardFixtures.assertSameCells("depth " + depth, reference, board);
+			}
+		}
+	}
+}
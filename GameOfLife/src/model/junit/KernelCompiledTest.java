@@ -0,0 +1,77 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+import model.KernelCompiled;
+import model.KernelSwar;
+
+public class KernelCompiledTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testCompiledMatchesCells() {
+		GameBoard.BoardType[] types = { GameBoard.BoardType.STATIC, GameBoard.BoardType.DYNAMIC };
+
+		for(GameBoard.BoardType type : types) {
+			GameBoard cells = board(type, GameBoard.StepMode.CELLS);
+			GameBoard compiled = board(type, GameBoard.StepMode.COMPILED);
+
+			// The rules are switched back and forth, so the call site is bound again to rules used before.
+			String[] rules = { "s23/b3", "s23/b36", "s23/b3", "s1357/b1357", "s/b2", "s23/b36" };
+
+			for(String rule : rules) {
+				gr.setRules(rule);
+				BoardFixtures.stepAndCompare(type + " " + rule, cells, compiled, 15);
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testCompiledInBands() {
+		gr.setRules("s23/b36");
+		GameBoard cells = board(GameBoard.BoardType.STATIC, GameBoard.StepMode.CELLS);
+		GameBoard compiled = board(GameBoard.BoardType.STATIC, GameBoard.StepMode.COMPILED);
+		compiled.setThreadCount(4);
+		compiled.setScheduleMode(GameBoard.ScheduleMode.BANDS);
+
+		BoardFixtures.stepAndCompare("bands", cells, compiled, 40);
+		compiled.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testNextElementUsesBoundRule() {
+		Random random = new Random(10);
+		int[][] rules = { { 1 << 3, (1 << 2) | (1 << 3) }, { (1 << 3) | (1 << 6), (1 << 2) | (1 << 3) }, { 0, 0 } };
+
+		for(int[] rule : rules) {
+			KernelCompiled.bindRule(rule[0], rule[1]);
+
+			for(int i = 0; i < 100; i++) {
+				long[] e = new long[9];
+				for(int j = 0; j < 9; j++) {
+					e[j] = random.nextLong();
+				}
+
+				assertEquals(KernelSwar.nextElement(e[0], e[1], e[2], e[3], e[4], e[5], e[6], e[7], e[8], rule[0], rule[1]),
+						KernelCompiled.nextElement(e[0], e[1], e[2], e[3], e[4], e[5], e[6], e[7], e[8]));
+			}
+		}
+	}
+
+	private GameBoard board(GameBoard.BoardType type, GameBoard.StepMode mode) {
+		GameBoard board = BoardFixtures.soup(type, mode, 200, 120, 10);
+		board.setAutoTrim(false);
+
+		return board;
+	}
+}
@@ -0,0 +1,46 @@
+package model.junit;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+
+public class KernelRowsTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testRowsMatchCells() {
+		GameBoard cells = board(GameBoard.BoardType.STATIC, GameBoard.StepMode.CELLS);
+		GameBoard rows = board(GameBoard.BoardType.STATIC, GameBoard.StepMode.ROWS);
+
+		stepRules(cells, rows);
+	}
+
+	@Test
+	public void testFallbackOnDynamicBoard() {
+		// A dynamic board has no arrays to pass over, so the rows are stepped by KernelSwar.
+		GameBoard cells = board(GameBoard.BoardType.DYNAMIC, GameBoard.StepMode.CELLS);
+		GameBoard rows = board(GameBoard.BoardType.DYNAMIC, GameBoard.StepMode.ROWS);
+
+		stepRules(cells, rows);
+	}
+
+	private void stepRules(GameBoard expected, GameBoard actual) {
+		String[] rules = { "s23/b3", "s23/b36", "s1357/b1357" };
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+			BoardFixtures.stepAndCompare(rule, expected, actual, 20);
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	private GameBoard board(GameBoard.BoardType type, GameBoard.StepMode mode) {
+		GameBoard board = BoardFixtures.soup(type, mode, 200, 150, 3);
+		board.setAutoTrim(false);
+
+		return board;
+	}
+}
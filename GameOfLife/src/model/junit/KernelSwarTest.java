@@ -0,0 +1,103 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+import model.KernelSwar;
+
+public class KernelSwarTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	private long bit(long data, int pos) {
+		if(pos < 0 || pos > 63) {
+			return 0;
+		}
+		return (data >>> pos) & 1L;
+	}
+
+	@Test
+	public void testNextElementMatchesRules() {
+		Random random = new Random(2016);
+		String[] rules = { "s23/b3", "s1357/b1357", "s012345678/b3", "s/b2", "s5678/b35678" };
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+
+			for(int test = 0; test < 200; test++) {
+				// rows[r][0..2] is the west, center and east element of the row above, the row, and the row below.
+				long[][] rows = new long[3][3];
+				for(int r = 0; r < 3; r++) {
+					for(int c = 0; c < 3; c++) {
+						rows[r][c] = random.nextLong() & random.nextLong();
+					}
+				}
+
+				long next = KernelSwar.nextElement(
+						rows[0][0], rows[0][1], rows[0][2],
+						rows[1][0], rows[1][1], rows[1][2],
+						rows[2][0], rows[2][1], rows[2][2],
+						gr.getBirthMask(), gr.getSurviveMask());
+
+				for(int i = 0; i < 64; i++) {
+					int neighbours = 0;
+					for(int r = 0; r < 3; r++) {
+						for(int dx = -1; dx <= 1; dx++) {
+							if(r == 1 && dx == 0) {
+								continue;
+							}
+							int pos = i + dx;
+							if(pos < 0) {
+								neighbours += bit(rows[r][0], 63);
+							} else if(pos > 63) {
+								neighbours += bit(rows[r][2], 0);
+							} else {
+								neighbours += bit(rows[r][1], pos);
+							}
+						}
+					}
+
+					boolean expected = gr.checkRules(bit(rows[1][1], i) == 1, neighbours);
+					assertEquals(rule + " bit " + i, expected ? 1 : 0, bit(next, i));
+				}
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testSwarMatchesCells() {
+		gr.setRules("s23/b3");
+		Random random = new Random(7);
+		GameBoard cells = new GameBoard(256, 256);
+		GameBoard swar = new GameBoard(256, 256);
+
+		swar.setStepMode(GameBoard.StepMode.SWAR);
+
+		for(int y = 112; y < 144; y++) {
+			for(int x = 112; x < 144; x++) {
+				boolean alive = random.nextInt(3) == 0;
+				cells.setCellState(x, y, alive);
+				swar.setCellState(x, y, alive);
+			}
+		}
+
+		for(int gen = 0; gen < 40; gen++) {
+			cells.nextGeneration();
+			swar.nextGeneration();
+		}
+
+		assertEquals(cells.getPopulation(), swar.getPopulation());
+		for(int y = 0; y < 256; y++) {
+			for(int x = 0; x < 256; x++) {
+				assertEquals(cells.getCellState(x, y), swar.getCellState(x, y));
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+import model.KernelTable;
+
+public class KernelTableTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testTableMatchesRules() {
+		String[] rules = { "s23/b3", "s1357/b1357", "s/b2", "s012345678/b3" };
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+			byte[] table = KernelTable.createTable(gr.getBirthMask(), gr.getSurviveMask());
+
+			for(int block = 0; block < table.length; block += 7) {
+				for(int cy = 1; cy <= 2; cy++) {
+					for(int cx = 1; cx <= 2; cx++) {
+						int neighbours = 0;
+						for(int y = cy - 1; y <= cy + 1; y++) {
+							for(int x = cx - 1; x <= cx + 1; x++) {
+								if((x != cx || y != cy) && ((block >> (y * 4 + x)) & 1) == 1) {
+									neighbours++;
+								}
+							}
+						}
+
+						boolean alive = ((block >> (cy * 4 + cx)) & 1) == 1;
+						int expected = gr.checkRules(alive, neighbours) ? 1 : 0;
+
+						assertEquals(rule, expected, (table[block] >> ((cy - 1) * 2 + cx - 1)) & 1);
+					}
+				}
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testTableMatchesCellsAfterRuleChange() {
+		Random random = new Random(9);
+		GameBoard cells = new GameBoard(200, 150);
+		GameBoard table = new GameBoard(200, 150);
+
+		cells.setBoardType(GameBoard.BoardType.STATIC);
+		table.setBoardType(GameBoard.BoardType.STATIC);
+		table.setStepMode(GameBoard.StepMode.TABLE);
+
+		for(int y = 0; y < 150; y++) {
+			for(int x = 0; x < 200; x++) {
+				boolean alive = random.nextInt(3) == 0;
+				cells.setCellState(x, y, alive);
+				table.setCellState(x, y, alive);
+			}
+		}
+
+		// The table must follow the rule when it is changed between the generations.
+		String[] rules = { "s23/b3", "s23/b36", "s1357/b1357" };
+
+		for(String rule : rules) {
+			gr.setRules(rule);
+
+			for(int gen = 0; gen < 20; gen++) {
+				cells.nextGeneration();
+				table.nextGeneration();
+			}
+
+			assertEquals(rule, cells.getPopulation(), table.getPopulation());
+			for(int y = 0; y < 150; y++) {
+				for(int x = 0; x < 200; x++) {
+					assertEquals(rule, cells.getCellState(x, y), table.getCellState(x, y));
+				}
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+}
@@ -0,0 +1,107 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+
+public class MovingFrameTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testMovingFrameFollowsSpaceship() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(60, 40);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+
+		// A LWSS moving to the left, and a block it leaves behind.
+		String[] lwss = { ".O..O", "O....", "O...O", "OOOO." };
+
+		for(int y = 0; y < lwss.length; y++) {
+			for(int x = 0; x < lwss[y].length(); x++) {
+				board.setCellState(x + 20, y + 20, lwss[y].charAt(x) == 'O');
+			}
+		}
+
+		board.setCellState(50, 5, true);
+		board.setCellState(51, 5, true);
+		board.setCellState(50, 6, true);
+		board.setCellState(51, 6, true);
+
+		StringWriter dropped = new StringWriter();
+		board.setMovingFrame(-2, 0, 4);
+		board.setFrameOutput(new PrintWriter(dropped));
+
+		double cellSize = board.settings().getCellSizeOuter();
+		double viewX = board.getBoundingBox()[0] * cellSize - board.settings().getOffsetLeft();
+
+		for(int gen = 0; gen < 1000; gen++) {
+			board.nextGeneration();
+		}
+
+		// The frame has moved 500 cells with the spaceship, which is still on the same place in the view.
+		assertArrayEquals(new int[] { -500, 0, 60, 40 }, board.getFrame());
+		assertEquals(9, board.getPopulation());
+		assertEquals(viewX, board.getBoundingBox()[0] * cellSize - board.settings().getOffsetLeft(), 1e-6);
+		assertTrue(board.getWidth() * board.getHeight() < 300 * 300);
+
+		// The block was dropped when the frame left it.
+		String[] lines = dropped.toString().trim().split("\\R");
+		assertEquals(4, lines.length);
+		assertTrue(lines[0].endsWith(" 50 5"));
+		assertTrue(lines[3].endsWith(" 51 6"));
+	}
+
+	@Test
+	public void testFrameFollowsGlider() {
+		gr.setRules("s23/b3");
+		GameBoard board = new GameBoard(60, 40);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+
+		// A glider moving down and to the right, one cell in both directions every 4 generations.
+		int[][] glider = { {1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2} };
+
+		for(int[] c : glider) {
+			board.setCellState(c[0] + 20, c[1] + 15, true);
+		}
+
+		board.setMovingFrame(1, 1, 4);
+
+		double cellSize = board.settings().getCellSizeOuter();
+		double viewX = board.getBoundingBox()[0] * cellSize - board.settings().getOffsetLeft();
+		double viewY = board.getBoundingBox()[1] * cellSize - board.settings().getOffsetTop();
+		long shape = board.getHash(true);
+
+		for(int period = 1; period <= 50; period++) {
+			for(int gen = 0; gen < 4; gen++) {
+				board.nextGeneration();
+			}
+
+			// The frame has moved one cell for every period, and the glider is on the same place in it.
+			assertArrayEquals(new int[] { period, period, 60, 40 }, board.getFrame());
+			assertEquals(5, board.getPopulation());
+			assertEquals(shape, board.getHash(true));
+			assertEquals(viewX, board.getBoundingBox()[0] * cellSize - board.settings().getOffsetLeft(), 1e-6);
+			assertEquals(viewY, board.getBoundingBox()[1] * cellSize - board.settings().getOffsetTop(), 1e-6);
+		}
+
+		// The board keeps the size of the frame and its margins while it follows the glider.
+		assertTrue(board.getWidth() * board.getHeight() < 300 * 300);
+
+		// A stopped frame stays where it is.
+		board.stopMovingFrame();
+
+		for(int gen = 0; gen < 8; gen++) {
+			board.nextGeneration();
+		}
+
+		assertArrayEquals(new int[] { 50, 50, 60, 40 }, board.getFrame());
+		assertEquals(5, board.getPopulation());
+	}
+}
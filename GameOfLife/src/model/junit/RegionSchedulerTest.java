@@ -0,0 +1,115 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import model.GameBoard;
+import model.GameRules;
+import model.RegionScheduler;
+
+public class RegionSchedulerTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	@Test
+	public void testRegionsMatchSerial() {
+		String[] rules = { "s23/b3", "s23/b36", "s1357/b1357" };
+
+		// The heights are a whole number of regions of 16 rows, one row more, and not a whole number.
+		int[] heights = { 1, 16, 17, 100 };
+
+		for(String rule : rules) {
+			for(int height : heights) {
+				gr.setRules(rule);
+				GameBoard serial = empty(GameBoard.BoardType.STATIC, 150, height, GameBoard.ScheduleMode.SERIAL);
+				GameBoard regions = empty(GameBoard.BoardType.STATIC, 150, height, GameBoard.ScheduleMode.REGIONS);
+				BoardFixtures.soup(serial, 8, 0, 0, 149, height - 1);
+				BoardFixtures.soup(regions, 8, 0, 0, 149, height - 1);
+
+				BoardFixtures.stepAndCompare(rule + " height " + height, serial, regions, 60);
+				regions.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+			}
+		}
+
+		gr.setRules("s23/b3");
+	}
+
+	@Test
+	public void testRegionBoundaries() {
+		gr.setRules("s23/b3");
+		GameBoard serial = empty(GameBoard.BoardType.STATIC, 100, 48, GameBoard.ScheduleMode.SERIAL);
+		GameBoard regions = empty(GameBoard.BoardType.STATIC, 100, 48, GameBoard.ScheduleMode.REGIONS);
+
+		// Blinkers across the boundaries between the regions, at rows 16 and 32, and a glider flying across
+		// them.
+		for(GameBoard board : new GameBoard[] { serial, regions }) {
+			set(board, 10, 15, 10, 16, 10, 17);
+			set(board, 20, 31, 21, 31, 22, 31);
+			set(board, 30, 16, 30, 15, 30, 14);
+			set(board, 51, 10, 52, 11, 50, 12, 51, 12, 52, 12);
+		}
+
+		BoardFixtures.stepAndCompare("boundaries", serial, regions, 80);
+		regions.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+	}
+
+	@Test
+	public void testGrowingBoard() {
+		gr.setRules("s23/b3");
+		GameBoard serial = empty(GameBoard.BoardType.DYNAMIC, 64, 16, GameBoard.ScheduleMode.SERIAL);
+		GameBoard regions = empty(GameBoard.BoardType.DYNAMIC, 64, 16, GameBoard.ScheduleMode.REGIONS);
+
+		// An R-pentomino grows in every direction, so the board gets more regions while it is stepped.
+		for(GameBoard board : new GameBoard[] { serial, regions }) {
+			set(board, 31, 7, 32, 7, 30, 8, 31, 8, 31, 9);
+		}
+
+		long height = regions.getHeight();
+
+		BoardFixtures.stepAndCompare("growing", serial, regions, 400);
+		assertTrue(regions.getHeight() > height + 16);
+		assertEquals(serial.getHeight(), regions.getHeight());
+		assertEquals(serial.getWidth(), regions.getWidth());
+		regions.setScheduleMode(GameBoard.ScheduleMode.SERIAL);
+	}
+
+	@Test
+	public void testCostsAreMeasured() {
+		RegionScheduler scheduler = new RegionScheduler(3);
+		final boolean[] computed = new boolean[40];
+		long[] cost = new long[41];
+
+		scheduler.run(40, cost, region -> computed[region] = true);
+
+		for(int i = 0; i < 40; i++) {
+			assertTrue(computed[i]);
+			assertTrue(cost[i] > 0);
+		}
+		assertEquals(0, cost[40]);
+
+		try {
+			scheduler.run(42, cost, region -> {});
+			fail("There must be a cost for every region.");
+		} catch(IllegalArgumentException e) {
+		}
+
+		scheduler.shutdown();
+	}
+
+	private void set(GameBoard board, int... cells) {
+		for(int i = 0; i < cells.length; i += 2) {
+			board.setCellState(cells[i], cells[i + 1], true);
+		}
+	}
+
+	private GameBoard empty(GameBoard.BoardType type, int columns, int rows, GameBoard.ScheduleMode mode) {
+		GameBoard board = new GameBoard(columns, rows);
+		board.setBoardType(type);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+		board.setCycleDetection(false);
+		board.setScheduleMode(mode);
+
+		return board;
+	}
+}
@@ -0,0 +1,52 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.KernelSwar;
+import model.RuleCompiler;
+
+public class RuleCompilerTest {
+
+	@Test
+	public void testCompiledRulesMatchApplyRule() throws Throwable {
+		Random random = new Random(10);
+
+		for(int test = 0; test < 300; test++) {
+			int birthMask = random.nextInt(1 << 9);
+			int surviveMask = random.nextInt(1 << 9);
+			MethodHandle rule = RuleCompiler.compile(birthMask, surviveMask);
+
+			for(int i = 0; i < 20; i++) {
+				// The planes of real neighbour counts, from 0 to 8.
+				long ones = 0, twos = 0, fours = 0, eights = 0;
+				for(int bit = 0; bit < 64; bit++) {
+					int count = random.nextInt(9);
+					ones |= (long) (count & 1) << bit;
+					twos |= (long) ((count >> 1) & 1) << bit;
+					fours |= (long) ((count >> 2) & 1) << bit;
+					eights |= (long) ((count >> 3) & 1) << bit;
+				}
+				long alive = random.nextLong();
+
+				long expected = KernelSwar.applyRule(ones, twos, fours, eights, alive, birthMask, surviveMask);
+				long actual = (long) rule.invokeExact(ones, twos, fours, eights, alive);
+
+				assertEquals(RuleCompiler.ruleString(birthMask, surviveMask), expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testRulesAreCached() {
+		MethodHandle life = RuleCompiler.getRule(1 << 3, (1 << 2) | (1 << 3));
+
+		assertSame(life, RuleCompiler.getRule(1 << 3, (1 << 2) | (1 << 3)));
+		assertNotSame(life, RuleCompiler.getRule((1 << 3) | (1 << 6), (1 << 2) | (1 << 3)));
+		assertEquals("S23/B3", RuleCompiler.ruleString(1 << 3, (1 << 2) | (1 << 3)));
+	}
+}
@@ -0,0 +1,152 @@
+package model.junit;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import model.Escapee;
+import model.GameBoard;
+import model.GameRules;
+import model.Spaceship;
+
+public class SpaceshipTest {
+
+	private GameRules gr = GameRules.getInstance();
+
+	private static final String[] GOSPER_GUN = {
+			"........................O...........",
+			"......................O.O...........",
+			"............OO......OO............OO",
+			"...........O...O....OO............OO",
+			"OO........O.....O...OO..............",
+			"OO........O...O.OO....O.O...........",
+			"..........O.....O.......O...........",
+			"...........O...O....................",
+			"............OO......................" };
+
+	@Test
+	public void testMatch() {
+		// A glider moving down and to the right.
+		long glider = shape(".O.", "..O", "OOO");
+		Escapee escapee = Spaceship.match(glider, 10, 20, 5);
+
+		assertSame(Spaceship.GLIDER, escapee.getSpaceship());
+		assertEquals(1, escapee.getDx());
+		assertEquals(1, escapee.getDy());
+		assertEquals(10, escapee.getX(5));
+		assertEquals(13, escapee.getX(17));
+		assertEquals(23, escapee.getY(17));
+
+		// The same glider reflected, moving up and to the right.
+		escapee = Spaceship.match(shape("OOO", "..O", ".O."), 0, 0, 0);
+		assertEquals(1, escapee.getDx());
+		assertEquals(-1, escapee.getDy());
+
+		escapee = Spaceship.match(shape(".O..O", "O....", "O...O", "OOOO."), 0, 0, 0);
+		assertSame(Spaceship.LWSS, escapee.getSpaceship());
+		assertEquals(-2, escapee.getDx());
+		assertEquals(0, escapee.getDy());
+
+		// A block is not a spaceship.
+		assertNull(Spaceship.match(shape("OO", "OO"), 0, 0, 0));
+	}
+
+	@Test
+	public void testGunIsBounded() {
+		gr.setRules("s23/b3");
+		GameBoard board = gun(GameBoard.BoundaryPolicy.ABSORB);
+		long maxSize = 0;
+
+		for(int gen = 0; gen < 1500; gen++) {
+			board.nextGeneration();
+			maxSize = Math.max(maxSize, board.getWidth() * board.getHeight());
+		}
+
+		long population = board.getPopulation();
+
+		for(int gen = 0; gen < 30; gen++) {
+			board.nextGeneration();
+		}
+
+		// The gun makes a glider every 30 generations, and the gliders far away are deleted.
+		assertEquals(population, board.getPopulation());
+		assertTrue(board.getAbsorbedCount() > 40);
+		assertTrue(board.getEscapees().isEmpty());
+		assertTrue(maxSize < 300 * 300);
+	}
+
+	@Test
+	public void testEscapeesMatchTiledBoard() {
+		gr.setRules("s23/b3");
+		GameBoard board = gun(GameBoard.BoundaryPolicy.ESCAPEES);
+		GameBoard tiled = gun(GameBoard.BoundaryPolicy.GROW);
+		tiled.setBoardType(GameBoard.BoardType.TILED);
+
+		for(int gen = 0; gen < 600; gen++) {
+			board.nextGeneration();
+			tiled.nextGeneration();
+		}
+
+		int checked = 0;
+
+		for(Escapee escapee : board.getEscapees()) {
+			assertSame(Spaceship.GLIDER, escapee.getSpaceship());
+
+			// The tiled board grows for ever, and still has the glider where the escapee says it is, in the
+			// generations where the glider has the shape it escaped with.
+			if((600 - escapee.getGenerationNo()) % Spaceship.GLIDER.getPeriod() == 0) {
+				int x = (int) escapee.getX(600);
+				int y = (int) escapee.getY(600);
+
+				assertEquals(5, count(tiled, x, y, x + 2, y + 2));
+				assertEquals(5, count(tiled, x - 1, y - 1, x + 3, y + 3));
+				checked++;
+			}
+		}
+
+		assertTrue(checked > 0);
+	}
+
+	private GameBoard gun(GameBoard.BoundaryPolicy policy) {
+		GameBoard board = new GameBoard(100, 60);
+		board.setStepMode(GameBoard.StepMode.SWAR);
+		board.setBoundaryPolicy(policy);
+		board.setBoundaryMargin(16);
+
+		for(int y = 0; y < GOSPER_GUN.length; y++) {
+			for(int x = 0; x < GOSPER_GUN[y].length(); x++) {
+				board.setCellState(x + 10, y + 10, GOSPER_GUN[y].charAt(x) == 'O');
+			}
+		}
+
+		return board;
+	}
+
+	private int count(GameBoard board, int minX, int minY, int maxX, int maxY) {
+		int count = 0;
+
+		for(int y = minY; y <= maxY; y++) {
+			for(int x = minX; x <= maxX; x++) {
+				if(board.getCellState(x, y)) {
+					count++;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	private long shape(String... rows) {
+		long shape = 0;
+
+		for(int y = 0; y < rows.length; y++) {
+			for(int x = 0; x < rows[y].length(); x++) {
+				if(rows[y].charAt(x) == 'O') {
+					shape |= 1L << (y * Spaceship.MAX_SIZE + x);
+				}
+			}
+		}
+
+		return shape;
+	}
+}